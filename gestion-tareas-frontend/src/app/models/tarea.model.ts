@@ -15,10 +15,23 @@ export interface Tarea {
   
   // ✅ AÑADIR: Campos que vienen del DTO del backend
   categoriaNombre?: string;    // Este viene del TareaDTO del backend
+
+  // ✅ NUEVO: Versión para el bloqueo optimista; al enviarla en PUT, una edición sobre datos antiguos da 409
+  version?: number;
 }
 
 export enum Prioridad {
   ALTA = 'ALTA',
   MEDIA = 'MEDIA', 
   BAJA = 'BAJA'
-}
\ No newline at end of file
+}
+
+// ✅ NUEVO: Respuesta de GET /api/tareas/estadisticas
+export interface EstadisticasTareas {
+  total: number;
+  pendientes: number;
+  completadas: number;
+  proximasAVencer: number;
+  porPrioridad: { [prioridad in Prioridad]?: number };
+  porCategoria: { categoriaId: number | null; categoriaNombre: string | null; total: number }[];
+}
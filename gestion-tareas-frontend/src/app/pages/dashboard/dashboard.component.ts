@@ -1,7 +1,8 @@
 import { Component, OnInit } from '@angular/core';
 import { TareaService } from '../../services/tarea.service';
 import { AuthService } from '../../services/auth.service';
-import { Tarea } from '../../models/tarea.model';
+import { forkJoin } from 'rxjs';
+import { Tarea, EstadisticasTareas } from '../../models/tarea.model';
 import { Categoria } from '../../models/categoria.model';
 
 @Component({
@@ -68,40 +69,20 @@ export class DashboardComponent implements OnInit {
     const usuarioId = this.getUsuarioId();
     console.log('🔄 Cargando dashboard para usuario ID:', usuarioId);
 
-    // Cargar tareas primero para ver la estructura real
-    this.tareaService.obtenerTareasPorUsuario(usuarioId).subscribe({
-      next: (response: any) => {
-        console.log('📦 Respuesta del dashboard:', response);
-        
-        let tareas: Tarea[] = [];
-        
-        if (Array.isArray(response)) {
-          tareas = response;
-        } else if (response && Array.isArray(response.content)) {
-          tareas = response.content;
-        } else {
-          console.error('❌ Formato de respuesta inesperado:', response);
-          tareas = [];
-        }
+    // ✅ MODIFICADO: Los contadores se calculan en el servidor y solo se piden las 5 tareas más recientes
+    forkJoin({
+      estadisticas: this.tareaService.obtenerEstadisticas(),
+      recientes: this.tareaService.obtenerTareas(0, 5, 'fechaCreacion', 'desc')
+    }).subscribe({
+      next: ({ estadisticas, recientes }) => {
+        console.log('📦 Estadísticas del dashboard:', estadisticas);
+
+        this.procesarEstadisticas(estadisticas);
+        this.tareasRecientes = recientes && Array.isArray(recientes.content) ? recientes.content : [];
 
-        console.log('✅ Tareas recibidas en dashboard:', tareas.length);
-        
-        // ✅ DEBUG CRÍTICO: Ver la estructura REAL de los datos
-        if (tareas.length > 0) {
-          console.log('🔍 ESTRUCTURA REAL DE LA PRIMERA TAREA:', tareas[0]);
-          console.log('📋 PROPIEDADES DISPONIBLES:', Object.keys(tareas[0]));
-          console.log('🏷️  CATEGORÍA INFO:', {
-            categoriaId: tareas[0].categoriaId,
-            categoriaNombre: tareas[0].categoriaNombre,
-            categoria: tareas[0].categoria
-          });
-        }
-        
-        this.procesarTareas(tareas);
-        
         // Ahora cargar categorías para tener información completa
         this.cargarCategorias();
-        
+
         this.isLoading = false;
       },
       error: (error) => {
@@ -125,66 +106,16 @@ export class DashboardComponent implements OnInit {
     });
   }
 
-  private procesarTareas(tareas: Tarea[]): void {
-    console.log('🔄 Procesando tareas para estadísticas...');
-    
-    const usuarioId = this.getUsuarioId();
-    const tareasDelUsuario = tareas.filter(tarea => {
-      const perteneceAlUsuario = tarea.usuarioId === usuarioId;
-      return perteneceAlUsuario;
-    });
-
-    this.totalTareas = tareasDelUsuario.length;
-    this.tareasPendientes = tareasDelUsuario.filter(t => !t.completada).length;
-    this.tareasCompletadas = tareasDelUsuario.filter(t => t.completada).length;
+  private procesarEstadisticas(estadisticas: EstadisticasTareas): void {
+    this.totalTareas = estadisticas.total;
+    this.tareasPendientes = estadisticas.pendientes;
+    this.tareasCompletadas = estadisticas.completadas;
+    this.tareasProximas = estadisticas.proximasAVencer;
 
-    // Tareas próximas a vencer
-    const hoy = new Date();
-    hoy.setHours(0, 0, 0, 0);
-    
-    const en3Dias = new Date();
-    en3Dias.setDate(hoy.getDate() + 3);
-    en3Dias.setHours(23, 59, 59, 999);
-    
-    this.tareasProximas = tareasDelUsuario.filter(t => {
-      if (t.completada || !t.fechaVencimiento) return false;
-      
-      try {
-        const fechaVencimiento = new Date(t.fechaVencimiento);
-        fechaVencimiento.setHours(0, 0, 0, 0);
-        
-        return fechaVencimiento >= hoy && fechaVencimiento <= en3Dias;
-      } catch (error) {
-        console.warn('⚠️ Fecha de vencimiento inválida:', t.fechaVencimiento);
-        return false;
-      }
-    }).length;
-
-    // Tareas más recientes (últimas 5)
-    this.tareasRecientes = tareasDelUsuario
-      .sort((a, b) => {
-        try {
-          const fechaA = new Date(a.fechaCreacion).getTime();
-          const fechaB = new Date(b.fechaCreacion).getTime();
-          return fechaB - fechaA;
-        } catch (error) {
-          console.warn('⚠️ Error ordenando por fecha:', error);
-          return 0;
-        }
-      })
-      .slice(0, 5);
-
-    console.log('🆕 Tareas recientes procesadas:', this.tareasRecientes.length);
-    
-    // ✅ DEBUG: Ver información de categorías en tareas recientes
-    this.tareasRecientes.forEach((tarea, index) => {
-      console.log(`📝 Tarea Reciente ${index + 1}:`, {
-        titulo: tarea.titulo,
-        categoriaId: tarea.categoriaId,
-        categoriaNombre: tarea.categoriaNombre,
-        categoriaEncontrada: this.getNombreCategoria(tarea)
-      });
-    });
+    this.statsData = {
+      pendientes: estadisticas.pendientes,
+      completadas: estadisticas.completadas
+    };
   }
 
   getPorcentajeCompletadas(): number {
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams, HttpHeaders } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { Tarea, Prioridad } from '../models/tarea.model';
+import { Tarea, Prioridad, EstadisticasTareas } from '../models/tarea.model';
 import { Categoria } from '../models/categoria.model';
 import { Usuario, LoginRequest } from '../models/usuario.model';
 import { AuthService } from './auth.service';
@@ -17,20 +17,11 @@ export class TareaService {
     private authService: AuthService
   ) { }
 
-  // ✅ NUEVO: Método para obtener headers con el usuario ID
+  // ✅ MODIFICADO: El backend obtiene el usuario del JWT; ya no se envía X-Usuario-Id
   private getHeaders(): HttpHeaders {
-    const usuarioId = this.authService.getCurrentUserId();
-    if (!usuarioId) {
-      console.warn('⚠️ No hay usuario logueado, usando ID por defecto 1');
-      // En un caso real, redirigirías al login
-    }
-    
-    const headers = new HttpHeaders({
-      'Content-Type': 'application/json',
-      'X-Usuario-Id': usuarioId ? usuarioId.toString() : '1' // Temporal: usar 1 si no hay usuario
+    return new HttpHeaders({
+      'Content-Type': 'application/json'
     });
-    
-    return headers;
   }
 
   // ========== USUARIOS ==========
@@ -52,11 +43,12 @@ export class TareaService {
   }
 
   // ========== TAREAS CON PAGINACIÓN ==========
-  obtenerTareas(page: number = 0, size: number = 10, sort: string = 'id'): Observable<any> {
+  obtenerTareas(page: number = 0, size: number = 10, sort: string = 'id', direction: 'asc' | 'desc' = 'asc'): Observable<any> {
     let params = new HttpParams()
       .set('page', page.toString())
       .set('size', size.toString())
-      .set('sort', sort);
+      .set('sort', sort)
+      .set('direction', direction);
 
     return this.http.get<any>(`${this.apiUrl}/tareas`, { 
       params, 
@@ -64,6 +56,25 @@ export class TareaService {
     });
   }
 
+  // ✅ NUEVO: Estadísticas del dashboard calculadas en el servidor
+  obtenerEstadisticas(): Observable<EstadisticasTareas> {
+    return this.http.get<EstadisticasTareas>(`${this.apiUrl}/tareas/estadisticas`, {
+      headers: this.getHeaders()
+    });
+  }
+
+  // ✅ NUEVO: Búsqueda combinable (estado, prioridad, categoriaId, venceDesde, venceHasta, conVencimiento, texto)
+  buscarTareas(filtros: { [clave: string]: string | number | boolean | undefined }, page: number = 0, size: number = 20): Observable<any> {
+    let params = new HttpParams()
+      .set('page', page.toString())
+      .set('size', size.toString());
+    Object.entries(filtros)
+      .filter(([, valor]) => valor !== undefined && valor !== '')
+      .forEach(([clave, valor]) => params = params.set(clave, String(valor)));
+
+    return this.http.get<any>(`${this.apiUrl}/tareas/buscar`, { params, headers: this.getHeaders() });
+  }
+
   obtenerTareasPorUsuario(usuarioId: number, page: number = 0, size: number = 10): Observable<any> {
     let params = new HttpParams()
       .set('page', page.toString())
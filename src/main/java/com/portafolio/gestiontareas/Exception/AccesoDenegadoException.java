@@ -0,0 +1,8 @@
+package com.portafolio.gestiontareas.Exception;
+
+// El recurso existe pero pertenece a otro usuario (se responde 403)
+public class AccesoDenegadoException extends RuntimeException {
+    public AccesoDenegadoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.portafolio.gestiontareas.Exception;
+
+// El servicio rechaza trabajo en lugar de encolarlo sin límite (se responde 503 con Retry-After)
+public class ServicioSaturadoException extends RuntimeException {
+    public ServicioSaturadoException(String message) {
+        super(message);
+    }
+}
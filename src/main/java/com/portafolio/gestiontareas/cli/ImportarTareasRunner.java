@@ -0,0 +1,55 @@
+package com.portafolio.gestiontareas.cli;
+
+import com.portafolio.gestiontareas.dto.ResultadoImportacionDTO;
+import com.portafolio.gestiontareas.service.FormatoExportacion;
+import com.portafolio.gestiontareas.service.ImportadorTareas;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Importación desde línea de comandos (sin levantar el servidor web):
+//   java -jar gestiontareas.jar --spring.main.web-application-type=none \
+//        --importar.archivo=/ruta/tareas.csv --importar.usuario-id=1
+// El formato se deduce de la extensión (.csv o .ndjson)
+@Component
+@ConditionalOnProperty("importar.archivo")
+public class ImportarTareasRunner implements ApplicationRunner {
+
+    @Autowired
+    private ImportadorTareas importadorTareas;
+
+    @Value("${importar.archivo}")
+    private Path archivo;
+
+    @Value("${importar.usuario-id}")
+    private Long usuarioId;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String nombre = archivo.getFileName().toString();
+        FormatoExportacion formato = FormatoExportacion.desde(nombre.substring(nombre.lastIndexOf('.') + 1));
+
+        ResultadoImportacionDTO resultado;
+        try (InputStream entrada = Files.newInputStream(archivo)) {
+            resultado = importadorTareas.importar(usuarioId, formato, entrada, parcial ->
+                    System.out.printf("... %d filas leídas, %d importadas, %d con error%n",
+                            parcial.getLeidas(), parcial.getImportadas(), parcial.getFallidas()));
+        }
+
+        System.out.printf("Importadas %d de %d filas en %d ms (%.0f filas/s)%n", resultado.getImportadas(),
+                resultado.getLeidas(), resultado.getDuracionMs(), resultado.getFilasPorSegundo());
+        for (ResultadoImportacionDTO.ErrorFila error : resultado.getErrores()) {
+            System.out.printf("  fila %d: %s%n", error.getFila(), error.getError());
+        }
+        if (resultado.getErroresOmitidos() > 0) {
+            System.out.printf("  ... y %d errores más%n", resultado.getErroresOmitidos());
+        }
+    }
+}
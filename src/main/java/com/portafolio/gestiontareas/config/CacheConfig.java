@@ -0,0 +1,78 @@
+package com.portafolio.gestiontareas.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+// Caché de segundo nivel de Hibernate (JCache sobre Caffeine) para los datos de referencia: categorías y usuarios
+// cambian poco y se leen en casi todas las peticiones de tareas. Cada región tiene tamaño máximo y TTL; las
+// actualizaciones y borrados hechos a través de Hibernate invalidan las entradas y las consultas cacheadas
+@Configuration
+public class CacheConfig {
+
+    public static final String REGION_CATEGORIAS = "categorias";
+    public static final String REGION_USUARIOS = "usuarios";
+    public static final String REGION_CONSULTAS_CATEGORIAS = "consultas-categorias";
+
+    // Regiones internas de Hibernate para la caché de consultas
+    private static final String REGION_CONSULTAS_POR_DEFECTO = "default-query-results-region";
+    private static final String REGION_TIMESTAMPS = "default-update-timestamps-region";
+
+    @Value("${cache.categorias.tamano-maximo:1000}")
+    private long tamanoMaximoCategorias;
+
+    @Value("${cache.usuarios.tamano-maximo:10000}")
+    private long tamanoMaximoUsuarios;
+
+    @Value("${cache.ttl:10m}")
+    private Duration ttl;
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, crearCacheManager());
+            // Todas las regiones se crean aquí: si falta alguna es un error de configuración, no una caché sin límites
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+            // Aciertos/fallos por región (GET /api/cache/estadisticas)
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private CacheManager crearCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        crearRegion(cacheManager, REGION_CATEGORIAS, tamanoMaximoCategorias, ttl);
+        crearRegion(cacheManager, REGION_USUARIOS, tamanoMaximoUsuarios, ttl);
+        crearRegion(cacheManager, REGION_CONSULTAS_CATEGORIAS, tamanoMaximoCategorias, ttl);
+        crearRegion(cacheManager, REGION_CONSULTAS_POR_DEFECTO, tamanoMaximoCategorias, ttl);
+        // Hibernate compara estas marcas con los resultados cacheados: no deben caducar antes que ellos (una entrada por tabla)
+        crearRegion(cacheManager, REGION_TIMESTAMPS, 1000, null);
+        return cacheManager;
+    }
+
+    private void crearRegion(CacheManager cacheManager, String nombre, long tamanoMaximo, Duration ttl) {
+        if (cacheManager.getCache(nombre) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>();
+        configuracion.setMaximumSize(OptionalLong.of(tamanoMaximo));
+        if (ttl != null) {
+            configuracion.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        configuracion.setStatisticsEnabled(true);
+        cacheManager.createCache(nombre, configuracion);
+    }
+}
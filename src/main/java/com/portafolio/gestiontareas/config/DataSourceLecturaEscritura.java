@@ -0,0 +1,70 @@
+package com.portafolio.gestiontareas.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portafolio.gestiontareas.security.UsuarioAutenticado;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+// ✅ NUEVO: Elige la base de datos de cada conexión. Las transacciones readOnly van a la réplica y el resto
+// (escrituras y accesos sin transacción) a la primaria. Para leer lo que se acaba de escribir, tras el commit
+// de un cambio en las tareas de un usuario sus lecturas siguen en la primaria durante la ventana (el retraso de
+// replicación aceptado), y tras un cambio de categorías, las de todos. Las ventanas las abre VersionesDatos en el
+// mismo momento en que cambia el ETag, escriba quien escriba (la petición del usuario, la importación, la purga
+// de cuentas u otro usuario): así una respuesta leída de la réplica nunca se guarda con la versión nueva.
+// La ventana es por nodo. Va detrás de LazyConnectionDataSourceProxy (ver ReplicaLecturaConfig): la conexión
+// real se pide en la primera sentencia, con la transacción ya marcada
+public class DataSourceLecturaEscritura extends AbstractRoutingDataSource {
+
+    public enum Destino { PRIMARIA, REPLICA }
+
+    // Usuarios con escrituras dentro de la ventana; la entrada caduca sola
+    private final Cache<Long, Boolean> escriturasRecientes;
+
+    private final long ventanaNanos;
+
+    // Fin (System.nanoTime) de la ventana abierta por el último cambio de categorías
+    private volatile long categoriasHasta;
+
+    public DataSourceLecturaEscritura(Duration ventanaLecturaPropia) {
+        this.escriturasRecientes = Caffeine.newBuilder()
+                .expireAfterWrite(ventanaLecturaPropia)
+                .build();
+        this.ventanaNanos = ventanaLecturaPropia.toNanos();
+        this.categoriasHasta = System.nanoTime();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Destino.PRIMARIA;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || System.nanoTime() - categoriasHasta < 0) {
+            return Destino.PRIMARIA;
+        }
+        Long usuarioId = usuarioActual();
+        boolean escrituraReciente = usuarioId != null && escriturasRecientes.getIfPresent(usuarioId) != null;
+        return escrituraReciente ? Destino.PRIMARIA : Destino.REPLICA;
+    }
+
+    // Tras el commit que cambia las tareas del usuario (ver VersionesDatos.tareasModificadas)
+    public void registrarEscritura(Long usuarioId) {
+        escriturasRecientes.put(usuarioId, Boolean.TRUE);
+    }
+
+    // Las categorías son globales (y las tareas llevan su nombre): la ventana vale para todos los usuarios
+    public void registrarEscrituraCategorias() {
+        categoriasHasta = System.nanoTime() + ventanaNanos;
+    }
+
+    private Long usuarioActual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UsuarioAutenticado usuario
+                ? usuario.getId() : null;
+    }
+}
@@ -0,0 +1,135 @@
+package com.portafolio.gestiontareas.config;
+
+import com.portafolio.gestiontareas.monitoring.ContadorSentenciasSql;
+import com.portafolio.gestiontareas.security.UsuarioAutenticado;
+import com.portafolio.gestiontareas.service.CacheRespuestas;
+import com.portafolio.gestiontareas.service.VersionesDatos;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// GET condicionales para /api/tareas y /api/categorias. El ETag sale de VersionesDatos, no del cuerpo:
+// con If-None-Match vigente se responde 304 antes de llegar al controlador (sin consultas), y si la respuesta
+// de esa versión ya está en CacheRespuestas se envía tal cual. Va después de la cadena de seguridad
+// (necesita el usuario autenticado) y dentro de PresupuestoSqlFilter (guarda las sentencias de cada respuesta)
+@Component
+@Order(0)
+public class EtagVersionadoFilter extends OncePerRequestFilter {
+
+    // Endpoints antiguos que reciben el usuario en la ruta (solo el del token, ver TareaController)
+    private static final Pattern RUTA_USUARIO = Pattern.compile("^/api/tareas/usuario/(\\d+)(/.*)?$");
+
+    // Respuestas en streaming: no se guardan en memoria
+    private static final String RUTA_EXPORTAR = "/api/tareas/exportar";
+    private static final String RUTA_EVENTOS = "/api/tareas/eventos";
+
+    @Autowired
+    private VersionesDatos versionesDatos;
+
+    @Autowired
+    private CacheRespuestas cacheRespuestas;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String ruta = request.getRequestURI();
+        return !"GET".equals(request.getMethod())
+                || ruta.startsWith(RUTA_EXPORTAR)
+                || ruta.startsWith(RUTA_EVENTOS)
+                || !(ruta.startsWith("/api/tareas") || ruta.startsWith("/api/categorias"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        UsuarioAutenticado usuario = usuarioAutenticado();
+        if (usuario == null) {
+            // Sin usuario autenticado: la cadena de seguridad rechazará la petición
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String ruta = request.getRequestURI();
+        String etag;
+        String ambito;
+        if (ruta.startsWith("/api/categorias")) {
+            etag = versionesDatos.etagCategorias();
+            ambito = "categorias";
+        } else {
+            // Con el id de otro usuario en la ruta no se responde desde la caché: el controlador devuelve 403
+            Matcher usuarioEnRuta = RUTA_USUARIO.matcher(ruta);
+            if (usuarioEnRuta.matches() && !usuarioEnRuta.group(1).equals(usuario.getId().toString())) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            etag = versionesDatos.etagTareas(usuario.getId());
+            ambito = "tareas:" + usuario.getId();
+        }
+        String clave = etag + "|" + ambito + "|" + ruta + "?" + parametros(request);
+        CacheRespuestas.Respuesta guardada = cacheRespuestas.obtener(clave);
+
+        // Revalidar siempre, pero permitir que el navegador guarde la respuesta (tiene prioridad sobre
+        // el "no-store" que añade Spring Security)
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            cacheRespuestas.registrarNoModificada(guardada);
+            return;
+        }
+        if (guardada != null && guardada.cuerpo() != null) {
+            cacheRespuestas.registrarServidaDesdeCache(guardada);
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(guardada.contentType());
+            response.setContentLength(guardada.cuerpo().length);
+            response.getOutputStream().write(guardada.cuerpo());
+            return;
+        }
+
+        ContentCachingResponseWrapper respuesta = new ContentCachingResponseWrapper(response);
+        int sentenciasPrevias = ContadorSentenciasSql.total();
+        try {
+            filterChain.doFilter(request, respuesta);
+            if (respuesta.getStatus() == HttpServletResponse.SC_OK && !request.isAsyncStarted()) {
+                cacheRespuestas.guardar(clave, respuesta.getContentAsByteArray(), respuesta.getContentType(),
+                        ContadorSentenciasSql.total() - sentenciasPrevias);
+            }
+        } finally {
+            respuesta.copyBodyToResponse();
+        }
+    }
+
+    // Parámetros ordenados: la misma consulta con otro orden en la URL comparte entrada
+    private String parametros(HttpServletRequest request) {
+        StringBuilder parametros = new StringBuilder();
+        new TreeMap<>(request.getParameterMap()).forEach((nombre, valores) -> {
+            for (String valor : valores) {
+                parametros.append(URLEncoder.encode(nombre, StandardCharsets.UTF_8)).append('=')
+                        .append(URLEncoder.encode(valor, StandardCharsets.UTF_8)).append('&');
+            }
+        });
+        return parametros.toString();
+    }
+
+    private UsuarioAutenticado usuarioAutenticado() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UsuarioAutenticado usuario
+                ? usuario : null;
+    }
+}
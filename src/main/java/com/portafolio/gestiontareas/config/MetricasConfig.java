@@ -0,0 +1,66 @@
+package com.portafolio.gestiontareas.config;
+
+import com.portafolio.gestiontareas.monitoring.ConsultasLentasSql;
+import com.portafolio.gestiontareas.service.CacheRespuestas;
+import com.portafolio.gestiontareas.service.EventosTareas;
+import com.portafolio.gestiontareas.service.RecordatoriosTareas;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// ✅ NUEVO: Métricas propias. Las de Spring Boot cubren el resto: http.server.requests (cada ruta de los
+// controladores, etiquetada por plantilla de URI), hikaricp.connections.* (pool), hibernate.* (estadísticas de
+// Hibernate) y jvm.*. Todo se publica en /actuator/prometheus
+@Configuration
+public class MetricasConfig {
+
+    // Sentencias SQL lentas (ver ConsultasLentasSql)
+    @Bean
+    public HibernatePropertiesCustomizer consultasLentasSqlCustomizer(
+            MeterRegistry registry,
+            @Value("${sql.lenta.umbral:200ms}") Duration umbral,
+            @Value("${sql.lenta.intervalo-log:10s}") Duration intervaloLog) {
+        ConsultasLentasSql.configurar(registry, umbral, intervaloLog);
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                ConsultasLentasSql.class.getName());
+    }
+
+    // Contadores que ya llevan los servicios (SSE, recordatorios, caché de respuestas por ETag)
+    @Bean
+    public MeterBinder metricasAplicacion(EventosTareas eventosTareas,
+                                          RecordatoriosTareas recordatoriosTareas,
+                                          CacheRespuestas cacheRespuestas) {
+        return registry -> {
+            Gauge.builder("eventos.suscriptores", eventosTareas, EventosTareas::getSuscriptoresActivos)
+                    .description("Conexiones SSE abiertas").register(registry);
+            FunctionCounter.builder("eventos.enviados", eventosTareas, EventosTareas::getEventosEnviados)
+                    .register(registry);
+            FunctionCounter.builder("eventos.expulsados", eventosTareas, EventosTareas::getSuscriptoresExpulsados)
+                    .description("Clientes SSE desconectados por lentos").register(registry);
+            FunctionCounter.builder("eventos.atascados", eventosTareas, EventosTareas::getEnviosAtascados)
+                    .description("Envíos SSE bloqueados más de eventos.tiempo-maximo-envio").register(registry);
+
+            Gauge.builder("recordatorios.programados", recordatoriosTareas, RecordatoriosTareas::getProgramados)
+                    .register(registry);
+            FunctionCounter.builder("recordatorios.enviados", recordatoriosTareas, RecordatoriosTareas::getEnviados)
+                    .register(registry);
+
+            FunctionCounter.builder("etag.respuestas", cacheRespuestas,
+                    c -> c.estadisticas().getRespuestasNoModificadas()).tag("resultado", "no-modificada").register(registry);
+            FunctionCounter.builder("etag.respuestas", cacheRespuestas,
+                    c -> c.estadisticas().getRespuestasDesdeCache()).tag("resultado", "desde-cache").register(registry);
+            FunctionCounter.builder("etag.respuestas", cacheRespuestas,
+                    c -> c.estadisticas().getRespuestasGeneradas()).tag("resultado", "generada").register(registry);
+            FunctionCounter.builder("etag.bytes.ahorrados", cacheRespuestas,
+                    c -> c.estadisticas().getBytesAhorrados()).register(registry);
+        };
+    }
+}
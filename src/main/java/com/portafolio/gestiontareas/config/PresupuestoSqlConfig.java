@@ -0,0 +1,25 @@
+package com.portafolio.gestiontareas.config;
+
+import com.portafolio.gestiontareas.monitoring.ContadorSentenciasSql;
+import com.portafolio.gestiontareas.monitoring.PresupuestoSqlInterceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class PresupuestoSqlConfig implements WebMvcConfigurer {
+
+    // Registra el contador de sentencias en Hibernate
+    @Bean
+    public HibernatePropertiesCustomizer contadorSentenciasSqlCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new ContadorSentenciasSql());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new PresupuestoSqlInterceptor());
+    }
+}
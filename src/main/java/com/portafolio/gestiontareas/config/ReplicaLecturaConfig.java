@@ -0,0 +1,76 @@
+package com.portafolio.gestiontareas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+// ✅ NUEVO: Réplica de lectura. Solo se activa con datasource.replica.jdbc-url; sin ella, Spring Boot crea el
+// DataSource único de siempre. Hay dos pools Hikari, "primaria" (spring.datasource.*) y "replica"
+// (datasource.replica.*, propiedades de Hikari). El DataSource que usan JPA, Flyway y JdbcTemplate los reparte
+// con DataSourceLecturaEscritura
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "jdbc-url")
+public class ReplicaLecturaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaria(DataSourceProperties propiedades) {
+        HikariDataSource dataSource = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primaria");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public HikariDataSource dataSourceReplica() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    // Bean propio para que VersionesDatos abra las ventanas de lectura propia tras cada commit
+    @Bean
+    public DataSourceLecturaEscritura dataSourceLecturaEscritura(
+            @Qualifier("dataSourcePrimaria") DataSource primaria,
+            @Qualifier("dataSourceReplica") DataSource replica,
+            @Value("${datasource.replica.ventana-lectura-propia:5s}") Duration ventana) {
+        DataSourceLecturaEscritura rutas = new DataSourceLecturaEscritura(ventana);
+        rutas.setTargetDataSources(Map.of(
+                DataSourceLecturaEscritura.Destino.PRIMARIA, primaria,
+                DataSourceLecturaEscritura.Destino.REPLICA, replica));
+        rutas.setDefaultTargetDataSource(primaria);
+        return rutas;
+    }
+
+    // El proxy retrasa la elección de pool hasta la primera sentencia: al empezar la transacción
+    // JpaTransactionManager pide la conexión antes de marcarla como readOnly
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceLecturaEscritura rutas) {
+        return new LazyConnectionDataSourceProxy(rutas);
+    }
+
+    // Con open-in-view la sesión de Hibernate dura toda la petición y, por defecto, conserva la primera conexión
+    // que obtiene: una petición que lee y luego escribe escribiría en la réplica. Se devuelve al acabar cada
+    // transacción para que la siguiente vuelva a elegir pool
+    @Bean
+    public HibernatePropertiesCustomizer conexionPorTransaccionCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
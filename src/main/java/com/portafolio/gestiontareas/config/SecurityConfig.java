@@ -1,19 +1,27 @@
 package com.portafolio.gestiontareas.config;
 
 import com.portafolio.gestiontareas.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -22,6 +30,9 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private Environment environment;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -29,7 +40,14 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authz -> authz
+                        // La petición original ya se autorizó: el despacho ASYNC (respuestas en streaming) no lleva contexto
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/usuarios/login", "/api/usuarios/registro").permitAll()
+                        // ✅ MODIFICADO: Comprobación de vida y métricas para Prometheus (ver MetricasConfig). Sin JWT solo
+                        // en el puerto de gestión (management.server.port), que no se publica; sin puerto propio
+                        // /actuator/prometheus exige un JWT como el resto
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers(puertoGestion()).permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -37,12 +55,26 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // local.management.port lo publica Spring Boot al arrancar el servidor de gestión; no existe si comparte puerto
+    private RequestMatcher puertoGestion() {
+        return request -> String.valueOf(request.getLocalPort()).equals(environment.getProperty("local.management.port"));
+    }
+
+    // ✅ NUEVO: Hashes con prefijo de algoritmo ("{bcrypt}..."): permite cambiar de algoritmo o de coste
+    // y rehashear en el siguiente login (ver HashContrasenas y V4__hash_contrasenas)
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${seguridad.hash.coste:10}") int coste) {
+        return new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(coste)));
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:4200"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        // ✅ NUEVO: GET condicionales (If-None-Match / ETag, ver EtagVersionadoFilter)
+        configuration.setExposedHeaders(Arrays.asList("ETag"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
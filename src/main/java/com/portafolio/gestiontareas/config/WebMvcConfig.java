@@ -0,0 +1,17 @@
+package com.portafolio.gestiontareas.config;
+
+import com.portafolio.gestiontareas.security.UsuarioAutenticadoArgumentResolver;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new UsuarioAutenticadoArgumentResolver());
+    }
+}
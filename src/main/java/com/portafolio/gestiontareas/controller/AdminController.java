@@ -0,0 +1,93 @@
+package com.portafolio.gestiontareas.controller;
+
+import com.portafolio.gestiontareas.dto.GrabacionJfrDTO;
+import com.portafolio.gestiontareas.monitoring.GrabacionesJfr;
+import com.portafolio.gestiontareas.security.UsuarioAutenticado;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+// ✅ NUEVO: Perfilado de un nodo en marcha con JDK Flight Recorder, sin reiniciarlo. Solo para los usuarios
+// de admin.usuarios (vacío = nadie): POST inicia una grabación acotada, GET descarga el .jfr (se abre con
+// JDK Mission Control o "jfr print") y DELETE la detiene antes de tiempo
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "http://localhost:4200")
+public class AdminController {
+
+    @Autowired
+    private GrabacionesJfr grabacionesJfr;
+
+    @Value("${admin.usuarios:}")
+    private List<String> administradores;
+
+    @PostMapping("/jfr")
+    public ResponseEntity<GrabacionJfrDTO> iniciarGrabacion(UsuarioAutenticado usuario,
+                                                           @RequestParam(defaultValue = "60s") String duracion)
+            throws Exception {
+        if (!esAdministrador(usuario)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        // Acepta "90s", "5m" o ISO-8601 como las propiedades de Spring Boot
+        return grabacionesJfr.iniciar(DurationStyle.detectAndParse(duracion))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).body(grabacionesJfr.estado().orElse(null)));
+    }
+
+    @GetMapping("/jfr/estado")
+    public ResponseEntity<GrabacionJfrDTO> estadoGrabacion(UsuarioAutenticado usuario) {
+        if (!esAdministrador(usuario)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.of(grabacionesJfr.estado());
+    }
+
+    // El volcado va a un fichero temporal que se borra después de enviarlo
+    @GetMapping("/jfr")
+    public ResponseEntity<StreamingResponseBody> descargarGrabacion(UsuarioAutenticado usuario) throws Exception {
+        if (!esAdministrador(usuario)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Optional<Path> volcado = grabacionesJfr.volcar();
+        if (volcado.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Path fichero = volcado.get();
+        StreamingResponseBody cuerpo = salida -> {
+            try {
+                Files.copy(fichero, salida);
+            } finally {
+                Files.deleteIfExists(fichero);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(fichero))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"gestiontareas.jfr\"")
+                .body(cuerpo);
+    }
+
+    @DeleteMapping("/jfr")
+    public ResponseEntity<GrabacionJfrDTO> detenerGrabacion(UsuarioAutenticado usuario) {
+        if (!esAdministrador(usuario)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        grabacionesJfr.detener();
+        return ResponseEntity.of(grabacionesJfr.estado());
+    }
+
+    private boolean esAdministrador(UsuarioAutenticado usuario) {
+        return administradores.contains(usuario.getUsername());
+    }
+}
@@ -0,0 +1,41 @@
+package com.portafolio.gestiontareas.controller;
+
+import com.portafolio.gestiontareas.dto.EstadisticasCacheDTO;
+import com.portafolio.gestiontareas.service.CacheRespuestas;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "http://localhost:4200")
+public class CacheController {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheRespuestas cacheRespuestas;
+
+    // ✅ NUEVO: Aciertos y fallos de cada región de la caché de segundo nivel, y lo ahorrado con los ETag
+    @GetMapping("/estadisticas")
+    public ResponseEntity<EstadisticasCacheDTO> obtenerEstadisticas() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        EstadisticasCacheDTO dto = new EstadisticasCacheDTO();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(region -> {
+            CacheRegionStatistics contadores = statistics.getCacheRegionStatistics(region);
+            if (contadores != null) {
+                dto.getRegiones().add(new EstadisticasCacheDTO.RegionCache(
+                        region, contadores.getHitCount(), contadores.getMissCount(), contadores.getPutCount()));
+            }
+        });
+        dto.setEtag(cacheRespuestas.estadisticas());
+        return ResponseEntity.ok(dto);
+    }
+}
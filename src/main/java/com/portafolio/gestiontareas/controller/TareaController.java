@@ -1,44 +1,66 @@
 package com.portafolio.gestiontareas.controller;
 
+import com.portafolio.gestiontareas.Exception.AccesoDenegadoException;
 import com.portafolio.gestiontareas.Exception.EntityNotFoundException;
+import com.portafolio.gestiontareas.dto.CambiosTareasDTO;
+import com.portafolio.gestiontareas.dto.CursorPageDTO;
+import com.portafolio.gestiontareas.dto.EstadisticasTareasDTO;
+import com.portafolio.gestiontareas.dto.FiltroTareasDTO;
+import com.portafolio.gestiontareas.dto.LoteTareasDTO;
+import com.portafolio.gestiontareas.dto.ResultadoImportacionDTO;
+import com.portafolio.gestiontareas.dto.ResultadoLoteDTO;
 import com.portafolio.gestiontareas.dto.TareaDTO;
 import com.portafolio.gestiontareas.entity.Tarea;
-import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.monitoring.EventosJfr;
+import com.portafolio.gestiontareas.monitoring.PresupuestoSql;
+import com.portafolio.gestiontareas.security.UsuarioAutenticado;
+import com.portafolio.gestiontareas.service.EventosTareas;
+import com.portafolio.gestiontareas.service.FormatoExportacion;
+import com.portafolio.gestiontareas.service.ImportadorTareas;
 import com.portafolio.gestiontareas.service.TareaService;
-import com.portafolio.gestiontareas.service.UsuarioService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/tareas")
 @CrossOrigin(origins = "http://localhost:4200")
 public class TareaController {
 
+    private static final int TAMANO_MAXIMO_CURSOR = 100;
+
+    private static final int TAMANO_MAXIMO_CAMBIOS = 1000;
+
+    private static final int TAMANO_MAXIMO_BUSQUEDA = 100;
+
     @Autowired
     private TareaService tareaService;
 
     @Autowired
-    private UsuarioService usuarioService;
+    private ImportadorTareas importadorTareas;
+
+    @Autowired
+    private EventosTareas eventosTareas;
 
-    // ✅ CORREGIDO: Crear nueva tarea
+    // ✅ MODIFICADO: Crear nueva tarea. El usuario sale del JWT y se asigna como referencia, sin consultarlo
     @PostMapping
-    public ResponseEntity<TareaDTO> crearTarea(@RequestBody Tarea tarea,
-                                               @RequestHeader("X-Usuario-Id") Long usuarioId) {
+    @PresupuestoSql(2)
+    public ResponseEntity<TareaDTO> crearTarea(@RequestBody Tarea tarea, UsuarioAutenticado usuario) {
         try {
-            // Obtener el usuario y asignarlo a la tarea
-            Usuario usuario = usuarioService.obtenerUsuarioPorId(usuarioId)
-                    .orElseThrow(() -> new EntityNotFoundException("Usuario", usuarioId));
-            tarea.setUsuario(usuario);
-
-            Tarea tareaCreada = tareaService.crearTarea(tarea);
+            Tarea tareaCreada = tareaService.crearTarea(tarea, usuario.getId());
             TareaDTO tareaDTO = convertirATareaDTO(tareaCreada);
             return ResponseEntity.ok(tareaDTO);
         } catch (Exception e) {
@@ -46,34 +68,129 @@ public class TareaController {
         }
     }
 
+    // ✅ NUEVO: Crear, actualizar, completar y eliminar tareas en lote (una transacción, resultado por operación)
+    @PostMapping("/lote")
+    public ResponseEntity<ResultadoLoteDTO> procesarLote(@RequestBody LoteTareasDTO lote,
+                                                         UsuarioAutenticado usuario) {
+        return ResponseEntity.ok(tareaService.procesarLote(usuario.getId(), lote.getOperaciones()));
+    }
+
     // ✅ CORREGIDO: Obtener todas las tareas DEL USUARIO con paginación
     @GetMapping
+    @PresupuestoSql(2)
     public ResponseEntity<Page<TareaDTO>> obtenerTareasDelUsuario(
-            @RequestHeader("X-Usuario-Id") Long usuarioId,
+            UsuarioAutenticado usuario,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id") String sort) {
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean resumen) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
-        Page<Tarea> tareasPage = tareaService.obtenerTodasTareasPorUsuario(usuarioId, pageable);
-        Page<TareaDTO> tareasDTOPage = tareasPage.map(this::convertirATareaDTO);
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(direction), sort));
+        Page<TareaDTO> tareasDTOPage = tareaService.obtenerTareasDTOPorUsuario(usuario.getId(), pageable, !resumen);
         return ResponseEntity.ok(tareasDTOPage);
     }
 
-    // ✅ MANTENIDO: Obtener tareas por usuario (endpoint específico)
+    // ✅ NUEVO: Modo cursor de GET /api/tareas (se activa al enviar el parámetro "cursor", vacío en la primera página)
+    @GetMapping(params = "cursor")
+    @PresupuestoSql(2)
+    public ResponseEntity<CursorPageDTO<TareaDTO>> obtenerTareasDelUsuarioPorCursor(
+            UsuarioAutenticado usuario,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "false") boolean incluirTotal,
+            @RequestParam(defaultValue = "false") boolean resumen) {
+
+        if (size < 1 || size > TAMANO_MAXIMO_CURSOR) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + TAMANO_MAXIMO_CURSOR);
+        }
+        return ResponseEntity.ok(tareaService.obtenerTareasPorCursor(usuario.getId(), cursor, size, sort, incluirTotal, !resumen));
+    }
+
+    // ✅ NUEVO: Sincronización incremental: solo lo creado, modificado o eliminado después de "desde"
+    // (vacío en la primera sincronización)
+    @GetMapping("/cambios")
+    @PresupuestoSql(2)
+    public ResponseEntity<CambiosTareasDTO> obtenerCambios(UsuarioAutenticado usuario,
+                                                           @RequestParam(required = false) String desde,
+                                                           @RequestParam(defaultValue = "500") int limite) {
+        if (limite < 1 || limite > TAMANO_MAXIMO_CAMBIOS) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + TAMANO_MAXIMO_CAMBIOS);
+        }
+        return ResponseEntity.ok(tareaService.obtenerCambios(usuario.getId(), desde, limite));
+    }
+
+    // ✅ NUEVO: Eventos de las tareas del usuario en tiempo real (Server-Sent Events). La conexión queda
+    // abierta sin ocupar un hilo; tras reconectar, lo perdido se recupera con /cambios
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PresupuestoSql(0)
+    public ResponseEntity<SseEmitter> suscribirEventos(UsuarioAutenticado usuario) {
+        return ResponseEntity.ok(eventosTareas.suscribir(usuario.getId()));
+    }
+
+    // ✅ NUEVO: Estadísticas para el dashboard (tamaño constante, calculadas con una sola consulta)
+    @GetMapping("/estadisticas")
+    @PresupuestoSql(1)
+    public ResponseEntity<EstadisticasTareasDTO> obtenerEstadisticas(UsuarioAutenticado usuario) {
+        return ResponseEntity.ok(tareaService.obtenerEstadisticas(usuario.getId()));
+    }
+
+    // ✅ NUEVO: Exportar todas las tareas del usuario (ndjson o csv). La respuesta se escribe en streaming
+    // desde un cursor de base de datos, sin cargar el historial completo en memoria
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarTareas(UsuarioAutenticado usuario,
+                                                                @RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoExportacion formatoExportacion = FormatoExportacion.desde(formato);
+        StreamingResponseBody cuerpo = salida -> tareaService.exportarTareas(usuario.getId(), formatoExportacion, salida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoExportacion.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tareas." + formatoExportacion.getExtension() + "\"")
+                .body(cuerpo);
+    }
+
+    // ✅ NUEVO: Importación masiva. El cuerpo de la petición es el archivo (Content-Type text/csv o
+    // application/x-ndjson) y se procesa mientras se recibe, sin guardarlo en memoria ni en disco
+    @PostMapping(value = "/importar", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ResultadoImportacionDTO> importarTareas(UsuarioAutenticado usuario,
+                                                                  HttpServletRequest request) throws IOException {
+        FormatoExportacion formato = FormatoExportacion.desdeContentType(request.getContentType());
+        return ResponseEntity.ok(importadorTareas.importar(usuario.getId(), formato, request.getInputStream(), null));
+    }
+
+    // ✅ NUEVO: Búsqueda combinable: estado, prioridad, categoriaId, venceDesde/venceHasta, conVencimiento y texto
+    // (todos opcionales) en una sola consulta paginada. El orden lo fija el filtro (ver TareaService.buscarTareas)
+    @GetMapping("/buscar")
+    @PresupuestoSql(2)
+    public ResponseEntity<Page<TareaDTO>> buscarTareas(FiltroTareasDTO filtro,
+                                                       UsuarioAutenticado usuario,
+                                                       @RequestParam(defaultValue = "0") int page,
+                                                       @RequestParam(defaultValue = "20") int size,
+                                                       @RequestParam(defaultValue = "false") boolean resumen) {
+        validarPagina(page, size);
+        return ResponseEntity.ok(tareaService.buscarTareas(usuario.getId(), filtro, page, size, !resumen));
+    }
+
+    // ✅ MODIFICADO: Los listados /usuario/{usuarioId}/... son atajos de la búsqueda. Devuelven una lista de
+    // hasta TAMANO_MAXIMO_BUSQUEDA tareas; las siguientes con ?page=1, 2... El id de la ruta debe ser el del
+    // token (403 si no): se mantiene solo por compatibilidad con los clientes antiguos
     @GetMapping("/usuario/{usuarioId}")
-    public List<TareaDTO> obtenerTareasPorUsuario(@PathVariable Long usuarioId) {
-        return tareaService.obtenerTareasPorUsuario(usuarioId).stream()
-                .map(this::convertirATareaDTO)
-                .collect(Collectors.toList());
+    @PresupuestoSql(1)
+    public List<TareaDTO> obtenerTareasPorUsuario(@PathVariable Long usuarioId,
+                                                  UsuarioAutenticado usuario,
+                                                  @RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(defaultValue = "false") boolean resumen) {
+        return listar(usuarioId, usuario, new FiltroTareasDTO(), page, resumen);
     }
 
     // ✅ CORREGIDO: Obtener tarea por ID con verificación de usuario
     @GetMapping("/{id}")
+    @PresupuestoSql(2)
     public ResponseEntity<TareaDTO> obtenerTareaPorId(@PathVariable Long id,
-                                                      @RequestHeader("X-Usuario-Id") Long usuarioId) {
+                                                      UsuarioAutenticado usuario) {
         try {
-            Tarea tarea = tareaService.obtenerTareaPorIdYUsuario(id, usuarioId)
+            Tarea tarea = tareaService.obtenerTareaPorIdYUsuario(id, usuario.getId())
                     .orElseThrow(() -> new EntityNotFoundException("Tarea", id));
             TareaDTO tareaDTO = convertirATareaDTO(tarea);
             return ResponseEntity.ok(tareaDTO);
@@ -84,11 +201,12 @@ public class TareaController {
 
     // ✅ CORREGIDO: Actualizar tarea con verificación de usuario
     @PutMapping("/{id}")
+    @PresupuestoSql(3)
     public ResponseEntity<TareaDTO> actualizarTarea(@PathVariable Long id,
                                                     @RequestBody Tarea tarea,
-                                                    @RequestHeader("X-Usuario-Id") Long usuarioId) {
+                                                    UsuarioAutenticado usuario) {
         try {
-            Tarea tareaActualizada = tareaService.actualizarTarea(id, tarea, usuarioId);
+            Tarea tareaActualizada = tareaService.actualizarTarea(id, tarea, usuario.getId());
             TareaDTO tareaDTO = convertirATareaDTO(tareaActualizada);
             return ResponseEntity.ok(tareaDTO);
         } catch (EntityNotFoundException e) {
@@ -98,12 +216,11 @@ public class TareaController {
 
     // ✅ CORREGIDO: Marcar tarea como completada con verificación de usuario
     @PatchMapping("/{id}/completar")
+    @PresupuestoSql(2)
     public ResponseEntity<TareaDTO> marcarComoCompletada(@PathVariable Long id,
-                                                         @RequestHeader("X-Usuario-Id") Long usuarioId) {
+                                                         UsuarioAutenticado usuario) {
         try {
-            Tarea tarea = tareaService.marcarComoCompletada(id, usuarioId);
-            TareaDTO tareaDTO = convertirATareaDTO(tarea);
-            return ResponseEntity.ok(tareaDTO);
+            return ResponseEntity.ok(tareaService.marcarComoCompletada(id, usuario.getId()));
         } catch (EntityNotFoundException e) {
             throw e;
         }
@@ -111,91 +228,130 @@ public class TareaController {
 
     // ✅ CORREGIDO: Marcar tarea como pendiente con verificación de usuario
     @PatchMapping("/{id}/pendiente")
+    @PresupuestoSql(2)
     public ResponseEntity<TareaDTO> marcarComoPendiente(@PathVariable Long id,
-                                                        @RequestHeader("X-Usuario-Id") Long usuarioId) {
+                                                        UsuarioAutenticado usuario) {
         try {
-            Tarea tarea = tareaService.marcarComoPendiente(id, usuarioId);
-            TareaDTO tareaDTO = convertirATareaDTO(tarea);
-            return ResponseEntity.ok(tareaDTO);
+            return ResponseEntity.ok(tareaService.marcarComoPendiente(id, usuario.getId()));
         } catch (EntityNotFoundException e) {
             throw e;
         }
     }
 
+    // ✅ NUEVO: Cambiar la prioridad (un UPDATE, no pisa cambios concurrentes en otros campos)
+    @PatchMapping("/{id}/prioridad/{prioridad}")
+    @PresupuestoSql(2)
+    public ResponseEntity<TareaDTO> cambiarPrioridad(@PathVariable Long id,
+                                                     @PathVariable Tarea.Prioridad prioridad,
+                                                     UsuarioAutenticado usuario) {
+        return ResponseEntity.ok(tareaService.cambiarPrioridad(id, usuario.getId(), prioridad));
+    }
+
     // ✅ CORREGIDO: Eliminar tarea con verificación de usuario
     @DeleteMapping("/{id}")
+    @PresupuestoSql(3)
     public ResponseEntity<?> eliminarTarea(@PathVariable Long id,
-                                           @RequestHeader("X-Usuario-Id") Long usuarioId) {
+                                           UsuarioAutenticado usuario) {
         try {
-            tareaService.eliminarTarea(id, usuarioId);
+            tareaService.eliminarTarea(id, usuario.getId());
             return ResponseEntity.ok().body("{\"message\": \"Tarea eliminada correctamente\"}");
         } catch (EntityNotFoundException e) {
             throw e;
         }
     }
 
-    // ✅ MANTENIDO: Obtener tareas pendientes por usuario
+    // ✅ MODIFICADO: Obtener tareas pendientes por usuario
     @GetMapping("/usuario/{usuarioId}/pendientes")
-    public List<TareaDTO> obtenerTareasPendientesPorUsuario(@PathVariable Long usuarioId) {
-        return tareaService.obtenerTareasPendientesPorUsuario(usuarioId).stream()
-                .map(this::convertirATareaDTO)
-                .collect(Collectors.toList());
+    @PresupuestoSql(1)
+    public List<TareaDTO> obtenerTareasPendientesPorUsuario(@PathVariable Long usuarioId,
+                                                            UsuarioAutenticado usuario,
+                                                            @RequestParam(defaultValue = "0") int page,
+                                                            @RequestParam(defaultValue = "false") boolean resumen) {
+        FiltroTareasDTO filtro = new FiltroTareasDTO();
+        filtro.setEstado(FiltroTareasDTO.Estado.PENDIENTE);
+        return listar(usuarioId, usuario, filtro, page, resumen);
     }
 
-    // ✅ MANTENIDO: Obtener tareas completadas por usuario
+    // ✅ MODIFICADO: Obtener tareas completadas por usuario
     @GetMapping("/usuario/{usuarioId}/completadas")
-    public List<TareaDTO> obtenerTareasCompletadasPorUsuario(@PathVariable Long usuarioId) {
-        return tareaService.obtenerTareasCompletadasPorUsuario(usuarioId).stream()
-                .map(this::convertirATareaDTO)
-                .collect(Collectors.toList());
+    @PresupuestoSql(1)
+    public List<TareaDTO> obtenerTareasCompletadasPorUsuario(@PathVariable Long usuarioId,
+                                                             UsuarioAutenticado usuario,
+                                                             @RequestParam(defaultValue = "0") int page,
+                                                             @RequestParam(defaultValue = "false") boolean resumen) {
+        FiltroTareasDTO filtro = new FiltroTareasDTO();
+        filtro.setEstado(FiltroTareasDTO.Estado.COMPLETADA);
+        return listar(usuarioId, usuario, filtro, page, resumen);
     }
 
-    // ✅ NUEVO: Obtener tareas por prioridad y usuario
+    // ✅ MODIFICADO: Obtener tareas por prioridad y usuario
     @GetMapping("/usuario/{usuarioId}/prioridad/{prioridad}")
+    @PresupuestoSql(1)
     public List<TareaDTO> obtenerTareasPorPrioridadYUsuario(@PathVariable Long usuarioId,
-                                                            @PathVariable Tarea.Prioridad prioridad) {
-        return tareaService.obtenerTareasPorPrioridadYUsuario(usuarioId, prioridad).stream()
-                .map(this::convertirATareaDTO)
-                .collect(Collectors.toList());
+                                                            UsuarioAutenticado usuario,
+                                                            @PathVariable Tarea.Prioridad prioridad,
+                                                            @RequestParam(defaultValue = "0") int page,
+                                                            @RequestParam(defaultValue = "false") boolean resumen) {
+        FiltroTareasDTO filtro = new FiltroTareasDTO();
+        filtro.setPrioridad(prioridad);
+        return listar(usuarioId, usuario, filtro, page, resumen);
     }
 
-    // ✅ NUEVO: Buscar tareas por título y usuario
+    // ✅ MODIFICADO: Buscar tareas por título y usuario
     @GetMapping("/usuario/{usuarioId}/buscar")
+    @PresupuestoSql(1)
     public List<TareaDTO> buscarTareasPorTitulo(@PathVariable Long usuarioId,
-                                                @RequestParam String titulo) {
-        return tareaService.buscarTareasPorTituloYUsuario(usuarioId, titulo).stream()
-                .map(this::convertirATareaDTO)
-                .collect(Collectors.toList());
+                                                UsuarioAutenticado usuario,
+                                                @RequestParam String titulo,
+                                                @RequestParam(defaultValue = "0") int page,
+                                                @RequestParam(defaultValue = "false") boolean resumen) {
+        FiltroTareasDTO filtro = new FiltroTareasDTO();
+        filtro.setTexto(titulo);
+        return listar(usuarioId, usuario, filtro, page, resumen);
     }
 
-    // ✅ NUEVO: Obtener tareas próximas a vencer por usuario
+    // ✅ MODIFICADO: Obtener tareas próximas a vencer por usuario (pendientes con fecha, por vencimiento)
     @GetMapping("/usuario/{usuarioId}/proximas-vencer")
-    public List<TareaDTO> obtenerTareasProximasAVencer(@PathVariable Long usuarioId) {
-        return tareaService.obtenerTareasProximasAVencer(usuarioId).stream()
-                .map(this::convertirATareaDTO)
-                .collect(Collectors.toList());
+    @PresupuestoSql(1)
+    public List<TareaDTO> obtenerTareasProximasAVencer(@PathVariable Long usuarioId,
+                                                       UsuarioAutenticado usuario,
+                                                       @RequestParam(defaultValue = "0") int page,
+                                                       @RequestParam(defaultValue = "false") boolean resumen) {
+        FiltroTareasDTO filtro = new FiltroTareasDTO();
+        filtro.setEstado(FiltroTareasDTO.Estado.PENDIENTE);
+        filtro.setConVencimiento(true);
+        return listar(usuarioId, usuario, filtro, page, resumen);
     }
 
-    // ✅ CORREGIDO: Método auxiliar para convertir Tarea a TareaDTO
-    private TareaDTO convertirATareaDTO(Tarea tarea) {
-        TareaDTO dto = new TareaDTO();
-        dto.setId(tarea.getId());
-        dto.setTitulo(tarea.getTitulo());
-        dto.setDescripcion(tarea.getDescripcion());
-        dto.setCompletada(tarea.isCompletada());
-        dto.setFechaCreacion(tarea.getFechaCreacion());
-        dto.setFechaVencimiento(tarea.getFechaVencimiento());
-        dto.setPrioridad(tarea.getPrioridad());
-        dto.setUsuarioId(tarea.getUsuarioId()); // ✅ Usa el método helper
-
-        if (tarea.getCategoria() != null) {
-            dto.setCategoriaId(tarea.getCategoria().getId());
-            dto.setCategoriaNombre(tarea.getCategoria().getNombre());
-        } else {
-            dto.setCategoriaId(null);
-            dto.setCategoriaNombre(null);
+    private List<TareaDTO> listar(Long usuarioId, UsuarioAutenticado usuario, FiltroTareasDTO filtro, int page,
+                                  boolean resumen) {
+        if (!usuarioId.equals(usuario.getId())) {
+            throw new AccesoDenegadoException("No puedes consultar las tareas de otro usuario");
+        }
+        validarPagina(page, TAMANO_MAXIMO_BUSQUEDA);
+        return tareaService.listarTareas(usuarioId, filtro, page, TAMANO_MAXIMO_BUSQUEDA, !resumen);
+    }
+
+    private static void validarPagina(int page, int size) {
+        if (page < 0 || size < 1 || size > TAMANO_MAXIMO_BUSQUEDA) {
+            throw new IllegalArgumentException("La página no puede ser negativa y el tamaño debe estar entre 1 y " + TAMANO_MAXIMO_BUSQUEDA);
         }
+    }
 
+    // Respuestas de una sola tarea: la conversión se mide con un evento JFR (ver EventosJfr)
+    private TareaDTO convertirATareaDTO(Tarea tarea) {
+        EventosJfr.ConversionDto evento = new EventosJfr.ConversionDto();
+        if (!evento.isEnabled()) {
+            return TareaDTO.desde(tarea);
+        }
+        evento.begin();
+        TareaDTO dto = TareaDTO.desde(tarea);
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.tareaId = tarea.getId() != null ? tarea.getId() : 0;
+            evento.usuarioId = dto.getUsuarioId() != null ? dto.getUsuarioId() : 0;
+            evento.commit();
+        }
         return dto;
     }
 }
\ No newline at end of file
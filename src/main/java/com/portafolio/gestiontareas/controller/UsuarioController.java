@@ -1,11 +1,13 @@
 package com.portafolio.gestiontareas.controller;
 
+import com.portafolio.gestiontareas.dto.EliminacionUsuarioDTO;
 import com.portafolio.gestiontareas.dto.LoginRequest;
 import com.portafolio.gestiontareas.dto.UsuarioDTO;
 import com.portafolio.gestiontareas.entity.Usuario;
 import com.portafolio.gestiontareas.security.JwtUtil;
 import com.portafolio.gestiontareas.service.UsuarioService;
 import com.portafolio.gestiontareas.Exception.EntityNotFoundException;
+import com.portafolio.gestiontareas.Exception.ServicioSaturadoException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -14,9 +16,10 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/usuarios")
@@ -29,39 +32,31 @@ public class UsuarioController {
     @Autowired
     private JwtUtil jwtUtil;
 
-    // ✅ CORREGIDO: Login de usuario que devuelve token + datos del usuario
+    // ✅ MODIFICADO: Login con una sola consulta; BCrypt se calcula en el pool de HashContrasenas y el hilo
+    // de Tomcat queda libre mientras tanto (503 si el pool está saturado)
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
-        boolean credencialesValidas = usuarioService.verificarCredenciales(
-                loginRequest.getUsername(),
-                loginRequest.getPassword()
-        );
-
-        if (credencialesValidas) {
-            // ✅ OBTENER EL USUARIO COMPLETO
-            Optional<Usuario> usuarioOpt = usuarioService.obtenerUsuarioPorUsername(loginRequest.getUsername());
-
-            if (usuarioOpt.isPresent()) {
-                Usuario usuario = usuarioOpt.get();
-                String token = jwtUtil.generateToken(loginRequest.getUsername());
-
-                // ✅ CREAR RESPUESTA CON TOKEN Y DATOS DEL USUARIO
-                Map<String, Object> response = new HashMap<>();
-                response.put("token", token);
-                response.put("message", "Login exitoso");
-                response.put("usuario", new UsuarioDTO(
-                        usuario.getId(),
-                        usuario.getUsername(),
-                        usuario.getEmail()
-                ));
-
-                return ResponseEntity.ok(response);
-            } else {
-                return ResponseEntity.badRequest().body("{\"error\": \"Usuario no encontrado\"}");
-            }
-        } else {
-            return ResponseEntity.badRequest().body("{\"error\": \"Credenciales inválidas\"}");
-        }
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest loginRequest) {
+        return usuarioService.autenticar(loginRequest.getUsername(), loginRequest.getPassword())
+                .thenApply(usuarioOpt -> {
+                    if (usuarioOpt.isEmpty()) {
+                        return ResponseEntity.badRequest().body("{\"error\": \"Credenciales inválidas\"}");
+                    }
+
+                    Usuario usuario = usuarioOpt.get();
+                    String token = jwtUtil.generateToken(usuario);
+
+                    // ✅ CREAR RESPUESTA CON TOKEN Y DATOS DEL USUARIO
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("token", token);
+                    response.put("message", "Login exitoso");
+                    response.put("usuario", new UsuarioDTO(
+                            usuario.getId(),
+                            usuario.getUsername(),
+                            usuario.getEmail()
+                    ));
+
+                    return ResponseEntity.ok(response);
+                });
     }
 
     // Registrar nuevo usuario
@@ -75,6 +70,8 @@ public class UsuarioController {
                     usuarioCreado.getEmail()
             );
             return ResponseEntity.ok(usuarioDTO);
+        } catch (ServicioSaturadoException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
         }
@@ -124,13 +121,27 @@ public class UsuarioController {
     }
 
     // Eliminar usuario
+    // ✅ MODIFICADO: Las cuentas grandes se borran en segundo plano: 202 con la URL del progreso
     @DeleteMapping("/{id}")
     public ResponseEntity<?> eliminarUsuario(@PathVariable Long id) {
         try {
-            usuarioService.eliminarUsuario(id);
-            return ResponseEntity.ok().body("{\"message\": \"Usuario eliminado correctamente\"}");
+            EliminacionUsuarioDTO eliminacion = usuarioService.eliminarUsuario(id);
+            if (eliminacion.getEstado() == EliminacionUsuarioDTO.Estado.COMPLETADA) {
+                return ResponseEntity.ok().body("{\"message\": \"Usuario eliminado correctamente\"}");
+            }
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/usuarios/" + id + "/eliminacion"))
+                    .body(eliminacion);
         } catch (EntityNotFoundException e) {
             throw e;
         }
     }
+
+    // ✅ NUEVO: Progreso del borrado de una cuenta (se conserva una hora tras terminar)
+    @GetMapping("/{id}/eliminacion")
+    public ResponseEntity<EliminacionUsuarioDTO> obtenerEliminacion(@PathVariable Long id) {
+        return usuarioService.obtenerEliminacion(id)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new EntityNotFoundException("No hay eliminación reciente del usuario con ID " + id));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.portafolio.gestiontareas.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Respuesta de GET /api/tareas/cambios: tareas creadas o modificadas e ids eliminados desde el cursor.
+// El cliente guarda "siguiente" y lo envía como "desde" en la próxima sincronización; si "hayMas" es true
+// debe pedir la siguiente página enseguida. Aplicar un cambio dos veces es inocuo (upsert / borrado por id)
+public class CambiosTareasDTO {
+    private List<TareaDTO> actualizadas = new ArrayList<>();
+    private List<Long> eliminadas = new ArrayList<>();
+    private String siguiente;
+    private boolean hayMas;
+
+    public CambiosTareasDTO() {}
+
+    public CambiosTareasDTO(List<TareaDTO> actualizadas, List<Long> eliminadas, String siguiente, boolean hayMas) {
+        this.actualizadas = actualizadas;
+        this.eliminadas = eliminadas;
+        this.siguiente = siguiente;
+        this.hayMas = hayMas;
+    }
+
+    // Getters y Setters
+    public List<TareaDTO> getActualizadas() { return actualizadas; }
+    public void setActualizadas(List<TareaDTO> actualizadas) { this.actualizadas = actualizadas; }
+    public List<Long> getEliminadas() { return eliminadas; }
+    public void setEliminadas(List<Long> eliminadas) { this.eliminadas = eliminadas; }
+    public String getSiguiente() { return siguiente; }
+    public void setSiguiente(String siguiente) { this.siguiente = siguiente; }
+    public boolean isHayMas() { return hayMas; }
+    public void setHayMas(boolean hayMas) { this.hayMas = hayMas; }
+}
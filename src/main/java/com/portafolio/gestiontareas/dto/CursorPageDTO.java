@@ -0,0 +1,42 @@
+package com.portafolio.gestiontareas.dto;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private String nextCursor;   // null cuando no hay más resultados
+    private boolean hasNext;
+    private int size;
+    private Long totalElements;  // solo se calcula si el cliente lo pide (evita el COUNT)
+
+    // Constructores
+    public CursorPageDTO() {}
+
+    public CursorPageDTO(List<T> content, String nextCursor, boolean hasNext, int size, Long totalElements) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+        this.size = size;
+        this.totalElements = totalElements;
+    }
+
+    // Convierte el contenido conservando los datos del cursor
+    public <R> CursorPageDTO<R> map(Function<? super T, ? extends R> converter) {
+        List<R> convertido = content.stream().map(converter).collect(Collectors.toList());
+        return new CursorPageDTO<>(convertido, nextCursor, hasNext, size, totalElements);
+    }
+
+    // Getters y Setters
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    public Long getTotalElements() { return totalElements; }
+    public void setTotalElements(Long totalElements) { this.totalElements = totalElements; }
+}
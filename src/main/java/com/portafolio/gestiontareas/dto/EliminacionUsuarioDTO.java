@@ -0,0 +1,46 @@
+package com.portafolio.gestiontareas.dto;
+
+import java.time.Instant;
+
+// Progreso del borrado de una cuenta (ver PurgaUsuarios)
+public class EliminacionUsuarioDTO {
+
+    public enum Estado { EN_CURSO, COMPLETADA, ERROR }
+
+    private Long usuarioId;
+    private Estado estado;
+    private long tareasTotales;
+    private long tareasEliminadas;
+    private Instant inicio;
+    private Instant fin;
+    private String error;
+
+    public EliminacionUsuarioDTO() {}
+
+    public EliminacionUsuarioDTO(Long usuarioId, Estado estado, long tareasTotales, long tareasEliminadas,
+                                 Instant inicio, Instant fin, String error) {
+        this.usuarioId = usuarioId;
+        this.estado = estado;
+        this.tareasTotales = tareasTotales;
+        this.tareasEliminadas = tareasEliminadas;
+        this.inicio = inicio;
+        this.fin = fin;
+        this.error = error;
+    }
+
+    // Getters y Setters
+    public Long getUsuarioId() { return usuarioId; }
+    public void setUsuarioId(Long usuarioId) { this.usuarioId = usuarioId; }
+    public Estado getEstado() { return estado; }
+    public void setEstado(Estado estado) { this.estado = estado; }
+    public long getTareasTotales() { return tareasTotales; }
+    public void setTareasTotales(long tareasTotales) { this.tareasTotales = tareasTotales; }
+    public long getTareasEliminadas() { return tareasEliminadas; }
+    public void setTareasEliminadas(long tareasEliminadas) { this.tareasEliminadas = tareasEliminadas; }
+    public Instant getInicio() { return inicio; }
+    public void setInicio(Instant inicio) { this.inicio = inicio; }
+    public Instant getFin() { return fin; }
+    public void setFin(Instant fin) { this.fin = fin; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
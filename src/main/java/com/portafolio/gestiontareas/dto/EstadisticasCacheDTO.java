@@ -0,0 +1,46 @@
+package com.portafolio.gestiontareas.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EstadisticasCacheDTO {
+    private List<RegionCache> regiones = new ArrayList<>();
+    // ✅ NUEVO: GET condicionales (304) y respuestas servidas desde CacheRespuestas
+    private EstadisticasEtagDTO etag;
+
+    // Contadores de una región desde el arranque
+    public static class RegionCache {
+        private String region;
+        private long aciertos;
+        private long fallos;
+        private long escrituras;
+        private double ratioAciertos;
+
+        public RegionCache() {}
+
+        public RegionCache(String region, long aciertos, long fallos, long escrituras) {
+            this.region = region;
+            this.aciertos = aciertos;
+            this.fallos = fallos;
+            this.escrituras = escrituras;
+            this.ratioAciertos = aciertos + fallos == 0 ? 0 : (double) aciertos / (aciertos + fallos);
+        }
+
+        public String getRegion() { return region; }
+        public void setRegion(String region) { this.region = region; }
+        public long getAciertos() { return aciertos; }
+        public void setAciertos(long aciertos) { this.aciertos = aciertos; }
+        public long getFallos() { return fallos; }
+        public void setFallos(long fallos) { this.fallos = fallos; }
+        public long getEscrituras() { return escrituras; }
+        public void setEscrituras(long escrituras) { this.escrituras = escrituras; }
+        public double getRatioAciertos() { return ratioAciertos; }
+        public void setRatioAciertos(double ratioAciertos) { this.ratioAciertos = ratioAciertos; }
+    }
+
+    // Getters y Setters
+    public List<RegionCache> getRegiones() { return regiones; }
+    public void setRegiones(List<RegionCache> regiones) { this.regiones = regiones; }
+    public EstadisticasEtagDTO getEtag() { return etag; }
+    public void setEtag(EstadisticasEtagDTO etag) { this.etag = etag; }
+}
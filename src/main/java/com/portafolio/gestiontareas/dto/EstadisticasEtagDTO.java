@@ -0,0 +1,37 @@
+package com.portafolio.gestiontareas.dto;
+
+// Contadores de las respuestas condicionales (ETag) desde el arranque
+public class EstadisticasEtagDTO {
+    private long respuestasNoModificadas;
+    private long respuestasDesdeCache;
+    private long respuestasGeneradas;
+    private long bytesAhorrados;
+    private long consultasAhorradas;
+    private long respuestasEnCache;
+
+    public EstadisticasEtagDTO() {}
+
+    public EstadisticasEtagDTO(long respuestasNoModificadas, long respuestasDesdeCache, long respuestasGeneradas,
+                               long bytesAhorrados, long consultasAhorradas, long respuestasEnCache) {
+        this.respuestasNoModificadas = respuestasNoModificadas;
+        this.respuestasDesdeCache = respuestasDesdeCache;
+        this.respuestasGeneradas = respuestasGeneradas;
+        this.bytesAhorrados = bytesAhorrados;
+        this.consultasAhorradas = consultasAhorradas;
+        this.respuestasEnCache = respuestasEnCache;
+    }
+
+    // Getters y Setters
+    public long getRespuestasNoModificadas() { return respuestasNoModificadas; }
+    public void setRespuestasNoModificadas(long respuestasNoModificadas) { this.respuestasNoModificadas = respuestasNoModificadas; }
+    public long getRespuestasDesdeCache() { return respuestasDesdeCache; }
+    public void setRespuestasDesdeCache(long respuestasDesdeCache) { this.respuestasDesdeCache = respuestasDesdeCache; }
+    public long getRespuestasGeneradas() { return respuestasGeneradas; }
+    public void setRespuestasGeneradas(long respuestasGeneradas) { this.respuestasGeneradas = respuestasGeneradas; }
+    public long getBytesAhorrados() { return bytesAhorrados; }
+    public void setBytesAhorrados(long bytesAhorrados) { this.bytesAhorrados = bytesAhorrados; }
+    public long getConsultasAhorradas() { return consultasAhorradas; }
+    public void setConsultasAhorradas(long consultasAhorradas) { this.consultasAhorradas = consultasAhorradas; }
+    public long getRespuestasEnCache() { return respuestasEnCache; }
+    public void setRespuestasEnCache(long respuestasEnCache) { this.respuestasEnCache = respuestasEnCache; }
+}
@@ -0,0 +1,60 @@
+package com.portafolio.gestiontareas.dto;
+
+import com.portafolio.gestiontareas.entity.Tarea;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class EstadisticasTareasDTO {
+    private long total;
+    private long pendientes;
+    private long completadas;
+    private long proximasAVencer;
+    private Map<Tarea.Prioridad, Long> porPrioridad = new EnumMap<>(Tarea.Prioridad.class);
+    private List<CategoriaConteo> porCategoria = new ArrayList<>();
+
+    // Conteo de tareas de una categoría (categoriaId null = sin categoría)
+    public static class CategoriaConteo {
+        private Long categoriaId;
+        private String categoriaNombre;
+        private long total;
+
+        public CategoriaConteo() {}
+
+        public CategoriaConteo(Long categoriaId, String categoriaNombre, long total) {
+            this.categoriaId = categoriaId;
+            this.categoriaNombre = categoriaNombre;
+            this.total = total;
+        }
+
+        public Long getCategoriaId() { return categoriaId; }
+        public void setCategoriaId(Long categoriaId) { this.categoriaId = categoriaId; }
+        public String getCategoriaNombre() { return categoriaNombre; }
+        public void setCategoriaNombre(String categoriaNombre) { this.categoriaNombre = categoriaNombre; }
+        public long getTotal() { return total; }
+        public void setTotal(long total) { this.total = total; }
+    }
+
+    // Constructores
+    public EstadisticasTareasDTO() {
+        for (Tarea.Prioridad prioridad : Tarea.Prioridad.values()) {
+            porPrioridad.put(prioridad, 0L);
+        }
+    }
+
+    // Getters y Setters
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+    public long getPendientes() { return pendientes; }
+    public void setPendientes(long pendientes) { this.pendientes = pendientes; }
+    public long getCompletadas() { return completadas; }
+    public void setCompletadas(long completadas) { this.completadas = completadas; }
+    public long getProximasAVencer() { return proximasAVencer; }
+    public void setProximasAVencer(long proximasAVencer) { this.proximasAVencer = proximasAVencer; }
+    public Map<Tarea.Prioridad, Long> getPorPrioridad() { return porPrioridad; }
+    public void setPorPrioridad(Map<Tarea.Prioridad, Long> porPrioridad) { this.porPrioridad = porPrioridad; }
+    public List<CategoriaConteo> getPorCategoria() { return porCategoria; }
+    public void setPorCategoria(List<CategoriaConteo> porCategoria) { this.porCategoria = porCategoria; }
+}
@@ -0,0 +1,33 @@
+package com.portafolio.gestiontareas.dto;
+
+// Evento de GET /api/tareas/eventos. "cambio" es el número de cambio de la tarea (el mismo que ordena
+// /api/tareas/cambios). SINCRONIZAR no trae tarea: avisa de cambios masivos (lotes, importaciones, borrado
+// de una categoría) que el cliente recoge con /api/tareas/cambios
+public class EventoTareaDTO {
+
+    public enum Tipo { CREADA, ACTUALIZADA, COMPLETADA, PENDIENTE, ELIMINADA, SINCRONIZAR }
+
+    private Tipo tipo;
+    private Long tareaId;
+    private Long cambio;
+    private TareaDTO tarea;
+
+    public EventoTareaDTO() {}
+
+    public EventoTareaDTO(Tipo tipo, Long tareaId, Long cambio, TareaDTO tarea) {
+        this.tipo = tipo;
+        this.tareaId = tareaId;
+        this.cambio = cambio;
+        this.tarea = tarea;
+    }
+
+    // Getters y Setters
+    public Tipo getTipo() { return tipo; }
+    public void setTipo(Tipo tipo) { this.tipo = tipo; }
+    public Long getTareaId() { return tareaId; }
+    public void setTareaId(Long tareaId) { this.tareaId = tareaId; }
+    public Long getCambio() { return cambio; }
+    public void setCambio(Long cambio) { this.cambio = cambio; }
+    public TareaDTO getTarea() { return tarea; }
+    public void setTarea(TareaDTO tarea) { this.tarea = tarea; }
+}
@@ -0,0 +1,46 @@
+package com.portafolio.gestiontareas.dto;
+
+import com.portafolio.gestiontareas.entity.Tarea;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Filtros de GET /api/tareas/buscar, leídos de los parámetros de la URL. Todos son opcionales y se combinan con AND.
+// "conVencimiento" deja solo las tareas con fecha de vencimiento (implícito si se da un rango de fechas)
+public class FiltroTareasDTO {
+
+    public enum Estado { PENDIENTE, COMPLETADA }
+
+    private Estado estado;
+    private Tarea.Prioridad prioridad;
+    private Long categoriaId;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate venceDesde;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate venceHasta;
+    private boolean conVencimiento;
+    private String texto;
+
+    public FiltroTareasDTO() {}
+
+    // Filtra u ordena por fecha de vencimiento
+    public boolean porVencimiento() {
+        return conVencimiento || venceDesde != null || venceHasta != null;
+    }
+
+    // Getters y Setters
+    public Estado getEstado() { return estado; }
+    public void setEstado(Estado estado) { this.estado = estado; }
+    public Tarea.Prioridad getPrioridad() { return prioridad; }
+    public void setPrioridad(Tarea.Prioridad prioridad) { this.prioridad = prioridad; }
+    public Long getCategoriaId() { return categoriaId; }
+    public void setCategoriaId(Long categoriaId) { this.categoriaId = categoriaId; }
+    public LocalDate getVenceDesde() { return venceDesde; }
+    public void setVenceDesde(LocalDate venceDesde) { this.venceDesde = venceDesde; }
+    public LocalDate getVenceHasta() { return venceHasta; }
+    public void setVenceHasta(LocalDate venceHasta) { this.venceHasta = venceHasta; }
+    public boolean isConVencimiento() { return conVencimiento; }
+    public void setConVencimiento(boolean conVencimiento) { this.conVencimiento = conVencimiento; }
+    public String getTexto() { return texto; }
+    public void setTexto(String texto) { this.texto = texto; }
+}
@@ -0,0 +1,31 @@
+package com.portafolio.gestiontareas.dto;
+
+import java.time.Instant;
+
+// Estado de la grabación JFR bajo demanda (ver GrabacionesJfr)
+public class GrabacionJfrDTO {
+
+    private String estado;
+    private Instant inicio;
+    private long duracionSegundos;
+    private long tamanoMaximoBytes;
+
+    public GrabacionJfrDTO() {}
+
+    public GrabacionJfrDTO(String estado, Instant inicio, long duracionSegundos, long tamanoMaximoBytes) {
+        this.estado = estado;
+        this.inicio = inicio;
+        this.duracionSegundos = duracionSegundos;
+        this.tamanoMaximoBytes = tamanoMaximoBytes;
+    }
+
+    // Getters y Setters
+    public String getEstado() { return estado; }
+    public void setEstado(String estado) { this.estado = estado; }
+    public Instant getInicio() { return inicio; }
+    public void setInicio(Instant inicio) { this.inicio = inicio; }
+    public long getDuracionSegundos() { return duracionSegundos; }
+    public void setDuracionSegundos(long duracionSegundos) { this.duracionSegundos = duracionSegundos; }
+    public long getTamanoMaximoBytes() { return tamanoMaximoBytes; }
+    public void setTamanoMaximoBytes(long tamanoMaximoBytes) { this.tamanoMaximoBytes = tamanoMaximoBytes; }
+}
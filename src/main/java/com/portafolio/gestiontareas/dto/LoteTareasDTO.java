@@ -0,0 +1,19 @@
+package com.portafolio.gestiontareas.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LoteTareasDTO {
+    private List<OperacionTareaDTO> operaciones = new ArrayList<>();
+
+    // Constructores
+    public LoteTareasDTO() {}
+
+    public LoteTareasDTO(List<OperacionTareaDTO> operaciones) {
+        this.operaciones = operaciones;
+    }
+
+    // Getters y Setters
+    public List<OperacionTareaDTO> getOperaciones() { return operaciones; }
+    public void setOperaciones(List<OperacionTareaDTO> operaciones) { this.operaciones = operaciones; }
+}
@@ -0,0 +1,29 @@
+package com.portafolio.gestiontareas.dto;
+
+public class OperacionTareaDTO {
+
+    public enum Tipo {
+        CREAR, ACTUALIZAR, COMPLETAR, ELIMINAR
+    }
+
+    private Tipo tipo;
+    private Long id;          // requerido para ACTUALIZAR, COMPLETAR y ELIMINAR
+    private TareaDTO tarea;   // requerido para CREAR y ACTUALIZAR
+
+    // Constructores
+    public OperacionTareaDTO() {}
+
+    public OperacionTareaDTO(Tipo tipo, Long id, TareaDTO tarea) {
+        this.tipo = tipo;
+        this.id = id;
+        this.tarea = tarea;
+    }
+
+    // Getters y Setters
+    public Tipo getTipo() { return tipo; }
+    public void setTipo(Tipo tipo) { this.tipo = tipo; }
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public TareaDTO getTarea() { return tarea; }
+    public void setTarea(TareaDTO tarea) { this.tarea = tarea; }
+}
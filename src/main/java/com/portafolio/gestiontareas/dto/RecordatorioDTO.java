@@ -0,0 +1,30 @@
+package com.portafolio.gestiontareas.dto;
+
+import java.time.LocalDate;
+
+// Recordatorio de vencimiento que reciben los NotificadorRecordatorios
+public class RecordatorioDTO {
+    private Long tareaId;
+    private Long usuarioId;
+    private String titulo;
+    private LocalDate fechaVencimiento;
+
+    public RecordatorioDTO() {}
+
+    public RecordatorioDTO(Long tareaId, Long usuarioId, String titulo, LocalDate fechaVencimiento) {
+        this.tareaId = tareaId;
+        this.usuarioId = usuarioId;
+        this.titulo = titulo;
+        this.fechaVencimiento = fechaVencimiento;
+    }
+
+    // Getters y Setters
+    public Long getTareaId() { return tareaId; }
+    public void setTareaId(Long tareaId) { this.tareaId = tareaId; }
+    public Long getUsuarioId() { return usuarioId; }
+    public void setUsuarioId(Long usuarioId) { this.usuarioId = usuarioId; }
+    public String getTitulo() { return titulo; }
+    public void setTitulo(String titulo) { this.titulo = titulo; }
+    public LocalDate getFechaVencimiento() { return fechaVencimiento; }
+    public void setFechaVencimiento(LocalDate fechaVencimiento) { this.fechaVencimiento = fechaVencimiento; }
+}
@@ -0,0 +1,48 @@
+package com.portafolio.gestiontareas.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResultadoImportacionDTO {
+    private long leidas;
+    private long importadas;
+    private long fallidas;
+    private long duracionMs;
+    private double filasPorSegundo;
+    private List<ErrorFila> errores = new ArrayList<>();
+    private long erroresOmitidos;
+
+    // Error de una fila del archivo (número de línea en la que empieza el registro)
+    public static class ErrorFila {
+        private long fila;
+        private String error;
+
+        public ErrorFila() {}
+
+        public ErrorFila(long fila, String error) {
+            this.fila = fila;
+            this.error = error;
+        }
+
+        public long getFila() { return fila; }
+        public void setFila(long fila) { this.fila = fila; }
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+
+    // Getters y Setters
+    public long getLeidas() { return leidas; }
+    public void setLeidas(long leidas) { this.leidas = leidas; }
+    public long getImportadas() { return importadas; }
+    public void setImportadas(long importadas) { this.importadas = importadas; }
+    public long getFallidas() { return fallidas; }
+    public void setFallidas(long fallidas) { this.fallidas = fallidas; }
+    public long getDuracionMs() { return duracionMs; }
+    public void setDuracionMs(long duracionMs) { this.duracionMs = duracionMs; }
+    public double getFilasPorSegundo() { return filasPorSegundo; }
+    public void setFilasPorSegundo(double filasPorSegundo) { this.filasPorSegundo = filasPorSegundo; }
+    public List<ErrorFila> getErrores() { return errores; }
+    public void setErrores(List<ErrorFila> errores) { this.errores = errores; }
+    public long getErroresOmitidos() { return erroresOmitidos; }
+    public void setErroresOmitidos(long erroresOmitidos) { this.erroresOmitidos = erroresOmitidos; }
+}
@@ -0,0 +1,62 @@
+package com.portafolio.gestiontareas.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResultadoLoteDTO {
+    private int exitosas;
+    private int fallidas;
+    private List<ResultadoOperacion> resultados = new ArrayList<>();
+
+    // Resultado de una operación, en el mismo orden que la petición
+    public static class ResultadoOperacion {
+        private int indice;
+        private OperacionTareaDTO.Tipo tipo;
+        private Long id;
+        private boolean exito;
+        private String error;
+
+        public ResultadoOperacion() {}
+
+        public ResultadoOperacion(int indice, OperacionTareaDTO.Tipo tipo, Long id, boolean exito, String error) {
+            this.indice = indice;
+            this.tipo = tipo;
+            this.id = id;
+            this.exito = exito;
+            this.error = error;
+        }
+
+        public int getIndice() { return indice; }
+        public void setIndice(int indice) { this.indice = indice; }
+        public OperacionTareaDTO.Tipo getTipo() { return tipo; }
+        public void setTipo(OperacionTareaDTO.Tipo tipo) { this.tipo = tipo; }
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public boolean isExito() { return exito; }
+        public void setExito(boolean exito) { this.exito = exito; }
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+
+    // Constructores
+    public ResultadoLoteDTO() {}
+
+    public ResultadoLoteDTO(List<ResultadoOperacion> resultados) {
+        this.resultados = resultados;
+        for (ResultadoOperacion resultado : resultados) {
+            if (resultado.isExito()) {
+                exitosas++;
+            } else {
+                fallidas++;
+            }
+        }
+    }
+
+    // Getters y Setters
+    public int getExitosas() { return exitosas; }
+    public void setExitosas(int exitosas) { this.exitosas = exitosas; }
+    public int getFallidas() { return fallidas; }
+    public void setFallidas(int fallidas) { this.fallidas = fallidas; }
+    public List<ResultadoOperacion> getResultados() { return resultados; }
+    public void setResultados(List<ResultadoOperacion> resultados) { this.resultados = resultados; }
+}
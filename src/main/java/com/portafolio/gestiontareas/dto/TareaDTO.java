@@ -1,5 +1,6 @@
 package com.portafolio.gestiontareas.dto;
 
+import com.portafolio.gestiontareas.entity.Categoria;
 import com.portafolio.gestiontareas.entity.Tarea;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -15,6 +16,7 @@ public class TareaDTO {
     private Long usuarioId;
     private Long categoriaId;
     private String categoriaNombre; // ✅ IMPORTANTE: Este campo debe existir
+    private Long version; // ✅ NUEVO: Se devuelve en PUT /api/tareas/{id} para detectar ediciones concurrentes
 
     // Constructores
     public TareaDTO() {}
@@ -33,6 +35,33 @@ public class TareaDTO {
         this.categoriaId = categoriaId;
     }
 
+    // ✅ NUEVO: Constructor usado por las proyecciones JPQL de TareaRepository
+    public TareaDTO(Long id, String titulo, String descripcion, boolean completada,
+                    LocalDateTime fechaCreacion, LocalDate fechaVencimiento,
+                    Tarea.Prioridad prioridad, Long usuarioId, Long categoriaId, String categoriaNombre) {
+        this(id, titulo, descripcion, completada, fechaCreacion, fechaVencimiento, prioridad, usuarioId, categoriaId);
+        this.categoriaNombre = categoriaNombre;
+    }
+
+    // ✅ NUEVO: Proyecciones con la versión (bloqueo optimista)
+    public TareaDTO(Long id, String titulo, String descripcion, boolean completada,
+                    LocalDateTime fechaCreacion, LocalDate fechaVencimiento,
+                    Tarea.Prioridad prioridad, Long usuarioId, Long categoriaId, String categoriaNombre,
+                    Long version) {
+        this(id, titulo, descripcion, completada, fechaCreacion, fechaVencimiento, prioridad, usuarioId,
+                categoriaId, categoriaNombre);
+        this.version = version;
+    }
+
+    // ✅ NUEVO: Única conversión desde la entidad (respuestas del controlador, exportación y eventos SSE)
+    public static TareaDTO desde(Tarea tarea) {
+        Categoria categoria = tarea.getCategoria();
+        return new TareaDTO(tarea.getId(), tarea.getTitulo(), tarea.getDescripcion(), tarea.isCompletada(),
+                tarea.getFechaCreacion(), tarea.getFechaVencimiento(), tarea.getPrioridad(), tarea.getUsuarioId(),
+                categoria != null ? categoria.getId() : null, categoria != null ? categoria.getNombre() : null,
+                tarea.getVersion());
+    }
+
     // Getters y Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -54,4 +83,6 @@ public class TareaDTO {
     public void setCategoriaId(Long categoriaId) { this.categoriaId = categoriaId; }
     public String getCategoriaNombre() { return categoriaNombre; }
     public void setCategoriaNombre(String categoriaNombre) { this.categoriaNombre = categoriaNombre; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
@@ -1,10 +1,16 @@
 package com.portafolio.gestiontareas.entity;
 
+import com.portafolio.gestiontareas.config.CacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.util.List;
 
 @Entity
 @Table(name = "categorias")
+// ✅ NUEVO: Caché de segundo nivel (ver CacheConfig)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.REGION_CATEGORIAS)
 public class Categoria {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -14,7 +20,8 @@ public class Categoria {
     private String color;
 
     // ✅ CORREGIDO: Relación correcta con mappedBy
-    @OneToMany(mappedBy = "categoria", cascade = CascadeType.ALL)
+    // ✅ MODIFICADO: Sin cascada: CategoriaService borra las tareas con DELETE por lotes, sin cargarlas
+    @OneToMany(mappedBy = "categoria")
     private List<Tarea> tareas;
 
     // Constructores
@@ -0,0 +1,24 @@
+package com.portafolio.gestiontareas.entity;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Marca de cambio de tareas y lápidas: microsegundos desde epoch, estrictamente creciente en este proceso
+// (dos cambios en el mismo microsegundo reciben valores distintos). Al ser un instante sigue creciendo tras
+// un reinicio y permite razonar en tiempo ("cambios de hace más de 5 s")
+public final class RelojCambios {
+
+    private static final AtomicLong ultimo = new AtomicLong();
+
+    private RelojCambios() {}
+
+    public static long siguiente() {
+        long ahora = ahora();
+        return ultimo.updateAndGet(anterior -> Math.max(anterior + 1, ahora));
+    }
+
+    public static long ahora() {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    }
+}
@@ -6,10 +6,12 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tareas")
+@Table(name = "tareas") // Índices definidos en db/migration/V2__indices_tareas.sql
 public class Tarea {
+    // ✅ MODIFICADO: Secuencia con bloques de 50 (ver V3__secuencia_tareas) para permitir INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tareas_seq")
+    @SequenceGenerator(name = "tareas_seq", sequenceName = "tareas_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "El título es obligatorio")
@@ -38,6 +40,24 @@ public class Tarea {
     @JoinColumn(name = "categoria_id")
     private Categoria categoria;
 
+    // ✅ NUEVO: Columna FK de solo lectura para filtrar por categoría sin pasar por el JOIN (usa el índice)
+    @Column(name = "categoria_id", insertable = false, updatable = false)
+    private Long categoriaFk;
+
+    // ✅ NUEVO: Instante del último cambio (µs, ver RelojCambios); cursor de GET /api/tareas/cambios
+    @Column(nullable = false)
+    private long cambio;
+
+    // ✅ NUEVO: Vencimiento para el que ya se envió el recordatorio. Solo lectura: lo escribe
+    // RecordatoriosTareas con un UPDATE propio, y así un save() de la tarea nunca lo pisa
+    @Column(name = "recordatorio_enviado", insertable = false, updatable = false)
+    private LocalDate recordatorioEnviado;
+
+    // ✅ NUEVO: Bloqueo optimista (V7__version_tareas). Una edición con una versión distinta de la guardada, o
+    // que pierde la carrera con otra escritura, falla con 409 en lugar de pisarla
+    @Version
+    private Long version;
+
     public enum Prioridad {
         BAJA, MEDIA, ALTA
     }
@@ -47,6 +67,13 @@ public class Tarea {
         this.fechaCreacion = LocalDateTime.now();
     }
 
+    // Hibernate vuelve a comprobar los cambios después de @PreUpdate, así que "cambio" entra en el mismo UPDATE
+    @PrePersist
+    @PreUpdate
+    void registrarCambio() {
+        this.cambio = RelojCambios.siguiente();
+    }
+
     // Getters y Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -66,6 +93,10 @@ public class Tarea {
     public void setUsuario(Usuario usuario) { this.usuario = usuario; }
     public Categoria getCategoria() { return categoria; }
     public void setCategoria(Categoria categoria) { this.categoria = categoria; }
+    public long getCambio() { return cambio; }
+    public LocalDate getRecordatorioEnviado() { return recordatorioEnviado; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 
     // ✅ NUEVO: Método helper para obtener el ID del usuario
     public Long getUsuarioId() {
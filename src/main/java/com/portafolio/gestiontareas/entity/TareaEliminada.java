@@ -0,0 +1,50 @@
+package com.portafolio.gestiontareas.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+// ✅ NUEVO: Lápida de una tarea eliminada (ver V5__sincronizacion_tareas). Solo se insertan: isNew() siempre
+// es true para que save() haga el INSERT directamente (sin el SELECT de merge) y se pueda agrupar en lotes
+@Entity
+@Table(name = "tareas_eliminadas")
+public class TareaEliminada implements Persistable<Long> {
+
+    @Id
+    @Column(name = "tarea_id")
+    private Long tareaId;
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Column(nullable = false)
+    private long cambio;
+
+    public TareaEliminada() {}
+
+    public TareaEliminada(Tarea tarea) {
+        this.tareaId = tarea.getId();
+        this.usuarioId = tarea.getUsuarioId();
+        this.cambio = RelojCambios.siguiente();
+    }
+
+    // ✅ NUEVO: Para los borrados por lotes, que no cargan la tarea
+    public TareaEliminada(Long tareaId, Long usuarioId) {
+        this.tareaId = tareaId;
+        this.usuarioId = usuarioId;
+        this.cambio = RelojCambios.siguiente();
+    }
+
+    @Override
+    public Long getId() { return tareaId; }
+
+    @Override
+    public boolean isNew() { return true; }
+
+    // Getters y Setters
+    public Long getTareaId() { return tareaId; }
+    public void setTareaId(Long tareaId) { this.tareaId = tareaId; }
+    public Long getUsuarioId() { return usuarioId; }
+    public void setUsuarioId(Long usuarioId) { this.usuarioId = usuarioId; }
+    public long getCambio() { return cambio; }
+    public void setCambio(long cambio) { this.cambio = cambio; }
+}
@@ -1,14 +1,20 @@
 package com.portafolio.gestiontareas.entity;
 
+import com.portafolio.gestiontareas.config.CacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "usuarios")
+// ✅ NUEVO: Caché de segundo nivel (ver CacheConfig)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.REGION_USUARIOS)
 public class Usuario {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,7 +38,8 @@ public class Usuario {
     private LocalDateTime fechaCreacion;
 
     // ✅ CORREGIDO: Relación correcta con Tarea - mappedBy debe ser "usuario"
-    @OneToMany(mappedBy = "usuario", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    // ✅ MODIFICADO: Sin cascada: las tareas se borran con DELETE por lotes (ver PurgaUsuarios), no una a una
+    @OneToMany(mappedBy = "usuario", fetch = FetchType.LAZY)
     private List<Tarea> tareas = new ArrayList<>();
 
     // Constructores
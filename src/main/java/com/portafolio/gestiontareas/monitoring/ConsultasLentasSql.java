@@ -0,0 +1,93 @@
+package com.portafolio.gestiontareas.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// ✅ NUEVO: Sustituye a spring.jpa.show-sql. Hibernate crea un listener por sesión (hibernate.session.events.auto)
+// que mide cada sentencia JDBC en el timer "sql.sentencias"; las que superan el umbral cuentan en "sql.lentas" y
+// se escriben en el log con su SQL (la última preparada en el hilo, ver ContadorSentenciasSql), como mucho una
+// por intervalo: el resto solo se cuenta y aparece como "omitidas" en la siguiente línea
+public class ConsultasLentasSql implements SessionEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsultasLentasSql.class);
+
+    // Hibernate instancia el listener por nombre de clase: la configuración es estática (ver MetricasConfig)
+    private static volatile Configuracion configuracion;
+
+    private long inicio;
+
+    public static void configurar(MeterRegistry registry, Duration umbral, Duration intervaloLog) {
+        configuracion = new Configuracion(
+                Timer.builder("sql.sentencias").description("Ejecución de sentencias JDBC").register(registry),
+                Counter.builder("sql.lentas").description("Sentencias por encima de sql.lenta.umbral").register(registry),
+                umbral.toNanos(), intervaloLog.toNanos());
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        registrar(System.nanoTime() - inicio);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        registrar(System.nanoTime() - inicio);
+    }
+
+    private static void registrar(long nanos) {
+        Configuracion actual = configuracion;
+        if (actual == null) {
+            return;
+        }
+        actual.sentencias.record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos >= actual.umbralNanos) {
+            actual.lentas.increment();
+            actual.muestrear(nanos, ContadorSentenciasSql.ultimaSentencia());
+        }
+    }
+
+    private static final class Configuracion {
+        private final Timer sentencias;
+        private final Counter lentas;
+        private final long umbralNanos;
+        private final long intervaloNanos;
+        private final AtomicLong proximoLog = new AtomicLong(System.nanoTime());
+        private final LongAdder omitidas = new LongAdder();
+
+        private Configuracion(Timer sentencias, Counter lentas, long umbralNanos, long intervaloNanos) {
+            this.sentencias = sentencias;
+            this.lentas = lentas;
+            this.umbralNanos = umbralNanos;
+            this.intervaloNanos = intervaloNanos;
+        }
+
+        private void muestrear(long nanos, String sql) {
+            long ahora = System.nanoTime();
+            long proximo = proximoLog.get();
+            if (ahora - proximo < 0 || !proximoLog.compareAndSet(proximo, ahora + intervaloNanos)) {
+                omitidas.increment();
+                return;
+            }
+            log.warn("Sentencia SQL lenta ({} ms, {} omitidas desde el último aviso): {}",
+                    TimeUnit.NANOSECONDS.toMillis(nanos), omitidas.sumThenReset(), sql);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.portafolio.gestiontareas.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Cuenta las sentencias que Hibernate prepara en el hilo actual (una petición HTTP = un hilo)
+public class ContadorSentenciasSql implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CONTADOR = ThreadLocal.withInitial(() -> new int[1]);
+    private static final ThreadLocal<String> ULTIMA_SENTENCIA = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        CONTADOR.get()[0]++;
+        ULTIMA_SENTENCIA.set(sql);
+        return sql;
+    }
+
+    public static void reiniciar() {
+        CONTADOR.get()[0] = 0;
+        ULTIMA_SENTENCIA.remove();
+    }
+
+    public static int total() {
+        return CONTADOR.get()[0];
+    }
+
+    // Última sentencia preparada: en un N+1 suele ser la que se repite
+    public static String ultimaSentencia() {
+        return ULTIMA_SENTENCIA.get();
+    }
+
+    public static void limpiar() {
+        CONTADOR.remove();
+        ULTIMA_SENTENCIA.remove();
+    }
+}
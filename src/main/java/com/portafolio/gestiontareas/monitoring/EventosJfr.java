@@ -0,0 +1,70 @@
+package com.portafolio.gestiontareas.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// ✅ NUEVO: Eventos de JDK Flight Recorder para repartir la latencia de una petición entre JWT, servicio,
+// base de datos y conversión a DTO. Sin una grabación activa, crear un evento y comprobar isEnabled() es casi
+// gratis. Se graban con GET/POST /api/admin/jfr (ver GrabacionesJfr) o con -XX:StartFlightRecording
+public final class EventosJfr {
+
+    private static final String CATEGORIA = "Gestión de tareas";
+
+    private EventosJfr() {}
+
+    @Name("gestiontareas.Autenticacion")
+    @Label("Autenticación JWT")
+    @Category({CATEGORIA, "Seguridad"})
+    public static class Autenticacion extends Event {
+        @Label("Resultado")
+        @Description("valido, invalido o sin-token")
+        public String resultado;
+
+        @Label("Usuario")
+        public long usuarioId;
+    }
+
+    @Name("gestiontareas.Servicio")
+    @Label("Método de servicio")
+    @Category({CATEGORIA, "Servicios"})
+    public static class Servicio extends Event {
+        @Label("Método")
+        public String metodo;
+
+        @Label("Usuario")
+        public long usuarioId;
+
+        @Label("Filas")
+        @Description("Elementos devueltos o filas afectadas; -1 si no se conoce (streams)")
+        public long filas;
+    }
+
+    @Name("gestiontareas.Repositorio")
+    @Label("Llamada a repositorio")
+    @Category({CATEGORIA, "Base de datos"})
+    public static class Repositorio extends Event {
+        @Label("Método")
+        public String metodo;
+
+        @Label("Usuario")
+        public long usuarioId;
+
+        @Label("Filas")
+        @Description("Elementos devueltos o filas afectadas; -1 si no se conoce (streams)")
+        public long filas;
+    }
+
+    @Name("gestiontareas.ConversionDTO")
+    @Label("Conversión a TareaDTO")
+    @Category({CATEGORIA, "Controladores"})
+    public static class ConversionDto extends Event {
+        @Label("Tarea")
+        public long tareaId;
+
+        @Label("Usuario")
+        public long usuarioId;
+    }
+}
@@ -0,0 +1,87 @@
+package com.portafolio.gestiontareas.monitoring;
+
+import com.portafolio.gestiontareas.dto.GrabacionJfrDTO;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Optional;
+
+// ✅ NUEVO: Una grabación JFR a la vez, con la configuración "profile" (muestreo de CPU, asignaciones, bloqueos)
+// más los eventos de EventosJfr. Está acotada en tiempo (se detiene sola) y en disco (buffer circular de
+// tamano-maximo). Se puede volcar mientras graba o después de detenerse, hasta que se inicia otra
+@Component
+public class GrabacionesJfr {
+
+    @Value("${jfr.grabacion.duracion-maxima:10m}")
+    private Duration duracionMaxima;
+
+    @Value("${jfr.grabacion.tamano-maximo:100MB}")
+    private DataSize tamanoMaximo;
+
+    private Recording grabacion;
+
+    // Devuelve vacío si ya hay una grabación en curso
+    public synchronized Optional<GrabacionJfrDTO> iniciar(Duration duracion) throws IOException, ParseException {
+        if (duracion.isNegative() || duracion.isZero() || duracion.compareTo(duracionMaxima) > 0) {
+            throw new IllegalArgumentException("La duración debe estar entre 1s y " + duracionMaxima.toSeconds() + "s");
+        }
+        if (grabacion != null && grabacion.getState() == RecordingState.RUNNING) {
+            return Optional.empty();
+        }
+        cerrar();
+        Recording nueva = new Recording(Configuration.getConfiguration("profile"));
+        nueva.setName("gestiontareas");
+        nueva.setToDisk(true);
+        nueva.setMaxSize(tamanoMaximo.toBytes());
+        nueva.setDuration(duracion);
+        nueva.start();
+        grabacion = nueva;
+        return Optional.of(estado(grabacion));
+    }
+
+    public synchronized Optional<GrabacionJfrDTO> estado() {
+        return Optional.ofNullable(grabacion).map(this::estado);
+    }
+
+    // Copia lo grabado hasta ahora a un fichero temporal que el llamante debe borrar
+    public synchronized Optional<Path> volcar() throws IOException {
+        if (grabacion == null) {
+            return Optional.empty();
+        }
+        Path fichero = Files.createTempFile("gestiontareas-", ".jfr");
+        grabacion.dump(fichero);
+        return Optional.of(fichero);
+    }
+
+    public synchronized boolean detener() {
+        if (grabacion == null || grabacion.getState() != RecordingState.RUNNING) {
+            return false;
+        }
+        grabacion.stop();
+        return true;
+    }
+
+    @PreDestroy
+    public synchronized void cerrar() {
+        if (grabacion != null) {
+            grabacion.close();
+            grabacion = null;
+        }
+    }
+
+    private GrabacionJfrDTO estado(Recording recording) {
+        Duration duracion = recording.getDuration();
+        return new GrabacionJfrDTO(recording.getState().name(), recording.getStartTime(),
+                duracion != null ? duracion.toSeconds() : 0, recording.getMaxSize());
+    }
+}
@@ -0,0 +1,133 @@
+package com.portafolio.gestiontareas.monitoring;
+
+import com.portafolio.gestiontareas.dto.CursorPageDTO;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+
+// ✅ NUEVO: Eventos JFR alrededor de cada método público de TareaService y de cada llamada a un repositorio.
+// El usuario sale del parámetro "usuarioId" si el método lo tiene. Va por fuera de la transacción: el evento
+// de servicio incluye el commit
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "jfr.eventos.habilitados", havingValue = "true", matchIfMissing = true)
+public class PerfiladoJfrAspect {
+
+    private static final int SIN_USUARIO = -1;
+
+    // Posición del parámetro usuarioId de cada método (o SIN_USUARIO)
+    private final Map<Method, Integer> posicionUsuario = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.portafolio.gestiontareas.service.TareaService.*(..))")
+    public Object servicio(ProceedingJoinPoint llamada) throws Throwable {
+        EventosJfr.Servicio evento = new EventosJfr.Servicio();
+        if (!evento.isEnabled()) {
+            return llamada.proceed();
+        }
+        evento.begin();
+        Object resultado = null;
+        try {
+            resultado = llamada.proceed();
+            return resultado;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.metodo = nombre(llamada);
+                evento.usuarioId = usuarioId(llamada);
+                evento.filas = filas(resultado);
+                evento.commit();
+            }
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object repositorio(ProceedingJoinPoint llamada) throws Throwable {
+        EventosJfr.Repositorio evento = new EventosJfr.Repositorio();
+        if (!evento.isEnabled()) {
+            return llamada.proceed();
+        }
+        evento.begin();
+        Object resultado = null;
+        try {
+            resultado = llamada.proceed();
+            return resultado;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.metodo = nombre(llamada);
+                evento.usuarioId = usuarioId(llamada);
+                evento.filas = filas(resultado);
+                evento.commit();
+            }
+        }
+    }
+
+    private static String nombre(ProceedingJoinPoint llamada) {
+        MethodSignature firma = (MethodSignature) llamada.getSignature();
+        Class<?>[] interfaces = llamada.getThis().getClass().getInterfaces();
+        // Repositorios: el proxy implementa la interfaz del repositorio (TareaRepository), no SimpleJpaRepository
+        String tipo = interfaces.length > 0 && firma.getDeclaringType().isInterface()
+                ? interfaces[0].getSimpleName() : firma.getDeclaringType().getSimpleName();
+        return tipo + "." + firma.getName();
+    }
+
+    private long usuarioId(ProceedingJoinPoint llamada) {
+        Method metodo = ((MethodSignature) llamada.getSignature()).getMethod();
+        int posicion = posicionUsuario.computeIfAbsent(metodo, PerfiladoJfrAspect::buscarUsuarioId);
+        if (posicion == SIN_USUARIO) {
+            return 0;
+        }
+        Object valor = llamada.getArgs()[posicion];
+        return valor instanceof Long id ? id : 0;
+    }
+
+    private static int buscarUsuarioId(Method metodo) {
+        Parameter[] parametros = metodo.getParameters();
+        for (int i = 0; i < parametros.length; i++) {
+            if (parametros[i].getName().equals("usuarioId") && parametros[i].getType() == Long.class) {
+                return i;
+            }
+        }
+        return SIN_USUARIO;
+    }
+
+    static long filas(Object resultado) {
+        if (resultado == null) {
+            return 0;
+        }
+        if (resultado instanceof Collection<?> coleccion) {
+            return coleccion.size();
+        }
+        if (resultado instanceof Slice<?> pagina) {
+            return pagina.getNumberOfElements();
+        }
+        if (resultado instanceof CursorPageDTO<?> pagina) {
+            return pagina.getContent().size();
+        }
+        if (resultado instanceof Optional<?> opcional) {
+            return opcional.isPresent() ? 1 : 0;
+        }
+        if (resultado instanceof Integer || resultado instanceof Long) {
+            return ((Number) resultado).longValue();
+        }
+        if (resultado instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+}
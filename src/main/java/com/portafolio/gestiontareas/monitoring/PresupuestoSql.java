@@ -0,0 +1,13 @@
+package com.portafolio.gestiontareas.monitoring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Número máximo de sentencias SQL que puede ejecutar una petición atendida por este endpoint
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PresupuestoSql {
+    int value();
+}
@@ -0,0 +1,7 @@
+package com.portafolio.gestiontareas.monitoring;
+
+public class PresupuestoSqlExcedidoException extends RuntimeException {
+    public PresupuestoSqlExcedidoException(String ruta, int sentencias, int presupuesto) {
+        super(String.format("%s ejecutó %d sentencias SQL (presupuesto: %d)", ruta, sentencias, presupuesto));
+    }
+}
@@ -0,0 +1,66 @@
+package com.portafolio.gestiontareas.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Detector de N+1: cuenta las sentencias SQL de cada petición, avisa de las que superan el umbral
+// y, en modo estricto (tests), hace fallar las que superan su @PresupuestoSql
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PresupuestoSqlFilter extends OncePerRequestFilter {
+
+    public static final String ATRIBUTO_PRESUPUESTO = PresupuestoSqlFilter.class.getName() + ".presupuesto";
+    public static final String ATRIBUTO_SENTENCIAS = PresupuestoSqlFilter.class.getName() + ".sentencias";
+
+    private static final Logger log = LoggerFactory.getLogger(PresupuestoSqlFilter.class);
+
+    @Value("${sql.monitor.umbral-aviso:10}")
+    private int umbralAviso;
+
+    @Value("${sql.monitor.estricto:false}")
+    private boolean estricto;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        ContadorSentenciasSql.reiniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int sentencias = ContadorSentenciasSql.total();
+            String ultimaSentencia = ContadorSentenciasSql.ultimaSentencia();
+            ContadorSentenciasSql.limpiar();
+            request.setAttribute(ATRIBUTO_SENTENCIAS, sentencias);
+            comprobar(request, sentencias, ultimaSentencia);
+        }
+    }
+
+    private void comprobar(HttpServletRequest request, int sentencias, String ultimaSentencia) {
+        String ruta = request.getMethod() + " " + request.getRequestURI();
+        Integer presupuesto = (Integer) request.getAttribute(ATRIBUTO_PRESUPUESTO);
+
+        if (presupuesto != null && sentencias > presupuesto) {
+            log.warn("Presupuesto SQL excedido: {} ejecutó {} sentencias (presupuesto {})", ruta, sentencias, presupuesto);
+            if (estricto) {
+                throw new PresupuestoSqlExcedidoException(ruta, sentencias, presupuesto);
+            }
+        } else if (sentencias > umbralAviso) {
+            log.warn("Posible N+1: {} ejecutó {} sentencias SQL (umbral {}). Última: {}",
+                    ruta, sentencias, umbralAviso, ultimaSentencia);
+        }
+    }
+}
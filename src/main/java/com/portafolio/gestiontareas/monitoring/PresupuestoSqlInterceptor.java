@@ -0,0 +1,21 @@
+package com.portafolio.gestiontareas.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Copia el presupuesto declarado con @PresupuestoSql en la petición para que lo compruebe el filtro
+public class PresupuestoSqlInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            PresupuestoSql presupuesto = handlerMethod.getMethodAnnotation(PresupuestoSql.class);
+            if (presupuesto != null) {
+                request.setAttribute(PresupuestoSqlFilter.ATRIBUTO_PRESUPUESTO, presupuesto.value());
+            }
+        }
+        return true;
+    }
+}
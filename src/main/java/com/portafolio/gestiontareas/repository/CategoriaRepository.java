@@ -1,12 +1,22 @@
 package com.portafolio.gestiontareas.repository;
 
+import com.portafolio.gestiontareas.config.CacheConfig;
 import com.portafolio.gestiontareas.entity.Categoria;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
+
+    // ✅ MODIFICADO: Resultado en la caché de consultas (se invalida al modificar la tabla categorias)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.REGION_CONSULTAS_CATEGORIAS)
+    })
     List<Categoria> findByNombreContainingIgnoreCase(String nombre);
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package com.portafolio.gestiontareas.repository;
+
+import com.portafolio.gestiontareas.entity.TareaEliminada;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TareaEliminadaRepository extends JpaRepository<TareaEliminada, Long> {
+
+    // Lápidas posteriores al cursor (índice usuario_id, cambio)
+    @Query("SELECT e FROM TareaEliminada e WHERE e.usuarioId = :usuarioId AND e.cambio > :desde ORDER BY e.cambio ASC")
+    List<TareaEliminada> findCambiosDesde(@Param("usuarioId") Long usuarioId,
+                                          @Param("desde") long desde,
+                                          Pageable limite);
+}
@@ -1,18 +1,32 @@
 package com.portafolio.gestiontareas.repository;
 
+import com.portafolio.gestiontareas.dto.RecordatorioDTO;
+import com.portafolio.gestiontareas.dto.TareaDTO;
 import com.portafolio.gestiontareas.entity.Tarea;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TareaRepository extends JpaRepository<Tarea, Long> {
+// ✅ MODIFICADO: Los listados filtrados (estado, prioridad, categoría, vencimiento, texto) pasan por la búsqueda
+// combinable: TareaSpecifications + TareaRepositoryBusqueda, contadas con JpaSpecificationExecutor
+public interface TareaRepository extends JpaRepository<Tarea, Long>, JpaSpecificationExecutor<Tarea>,
+        TareaRepositoryBusqueda {
 
     // ✅ TODOS LOS MÉTODOS CORREGIDOS: Usan "usuario.id" en lugar de "usuarioId"
 
@@ -20,35 +34,178 @@ public interface TareaRepository extends JpaRepository<Tarea, Long> {
     @Query("SELECT t FROM Tarea t WHERE t.usuario.id = :usuarioId")
     Page<Tarea> findByUsuarioId(@Param("usuarioId") Long usuarioId, Pageable pageable);
 
-    // Buscar tareas por usuario
+    // ✅ NUEVO: Proyección directa a TareaDTO (categoría unida en la misma consulta, sin hidratar entidades).
+    // Con conDescripcion = false la base de datos no envía la descripción (listados)
+    String SELECT_TAREA_DTO = "SELECT new com.portafolio.gestiontareas.dto.TareaDTO(" +
+            "t.id, t.titulo, CASE WHEN :conDescripcion = true THEN t.descripcion ELSE NULL END, " +
+            "t.completada, t.fechaCreacion, t.fechaVencimiento, t.prioridad, t.usuario.id, c.id, c.nombre, t.version) " +
+            "FROM Tarea t LEFT JOIN t.categoria c ";
+
+    // Buscar tareas por usuario con paginación (proyección)
+    @Query(value = SELECT_TAREA_DTO + "WHERE t.usuario.id = :usuarioId",
+            countQuery = "SELECT COUNT(t) FROM Tarea t WHERE t.usuario.id = :usuarioId")
+    Page<TareaDTO> findDTOByUsuarioId(@Param("usuarioId") Long usuarioId,
+                                      @Param("conDescripcion") boolean conDescripcion,
+                                      Pageable pageable);
+
+    // ✅ NUEVO: Paginación por keyset (sin COUNT ni OFFSET) ordenada por id
+    @Query(SELECT_TAREA_DTO + "WHERE t.usuario.id = :usuarioId ORDER BY t.id ASC")
+    List<TareaDTO> findPrimerosPorId(@Param("usuarioId") Long usuarioId,
+                                     @Param("conDescripcion") boolean conDescripcion,
+                                     Pageable limite);
+
+    @Query(SELECT_TAREA_DTO + "WHERE t.usuario.id = :usuarioId AND t.id > :ultimoId ORDER BY t.id ASC")
+    List<TareaDTO> findSiguientesPorId(@Param("usuarioId") Long usuarioId,
+                                       @Param("ultimoId") Long ultimoId,
+                                       @Param("conDescripcion") boolean conDescripcion,
+                                       Pageable limite);
+
+    // ✅ NUEVO: Paginación por keyset ordenada por (fechaCreacion, id). Las fechas NULL van primero, que es el
+    // orden ascendente por defecto en MariaDB: el índice sigue sirviendo para el ORDER BY
+    @Query(SELECT_TAREA_DTO + "WHERE t.usuario.id = :usuarioId ORDER BY t.fechaCreacion ASC NULLS FIRST, t.id ASC")
+    List<TareaDTO> findPrimerosPorFechaCreacion(@Param("usuarioId") Long usuarioId,
+                                                @Param("conDescripcion") boolean conDescripcion,
+                                                Pageable limite);
+
+    // El ">=" inicial permite recorrer el índice (usuario_id, fecha_creacion, id) por rango. Descarta las fechas
+    // NULL, que ya se devolvieron antes
+    @Query(SELECT_TAREA_DTO + "WHERE t.usuario.id = :usuarioId AND t.fechaCreacion >= :ultimaFecha " +
+            "AND (t.fechaCreacion > :ultimaFecha OR t.id > :ultimoId) " +
+            "ORDER BY t.fechaCreacion ASC, t.id ASC")
+    List<TareaDTO> findSiguientesPorFechaCreacion(@Param("usuarioId") Long usuarioId,
+                                                  @Param("ultimaFecha") LocalDateTime ultimaFecha,
+                                                  @Param("ultimoId") Long ultimoId,
+                                                  @Param("conDescripcion") boolean conDescripcion,
+                                                  Pageable limite);
+
+    // Cursor dentro del bloque de fechas NULL: el resto de ese bloque y después todas las fechadas
+    @Query(SELECT_TAREA_DTO + "WHERE t.usuario.id = :usuarioId " +
+            "AND (t.fechaCreacion IS NOT NULL OR t.id > :ultimoId) " +
+            "ORDER BY t.fechaCreacion ASC NULLS FIRST, t.id ASC")
+    List<TareaDTO> findSiguientesSinFechaCreacion(@Param("usuarioId") Long usuarioId,
+                                                  @Param("ultimoId") Long ultimoId,
+                                                  @Param("conDescripcion") boolean conDescripcion,
+                                                  Pageable limite);
+
+    // ✅ NUEVO: Sincronización incremental: tareas creadas o modificadas después del cursor, con su marca
+    // de cambio ([TareaDTO, Long]). Recorre el índice (usuario_id, cambio) por rango
+    @Query("SELECT new com.portafolio.gestiontareas.dto.TareaDTO(" +
+            "t.id, t.titulo, t.descripcion, t.completada, t.fechaCreacion, t.fechaVencimiento, t.prioridad, " +
+            "t.usuario.id, c.id, c.nombre, t.version), t.cambio " +
+            "FROM Tarea t LEFT JOIN t.categoria c WHERE t.usuario.id = :usuarioId AND t.cambio > :desde ORDER BY t.cambio ASC")
+    List<Object[]> findCambiosDesde(@Param("usuarioId") Long usuarioId,
+                                    @Param("desde") long desde,
+                                    Pageable limite);
+
+    // Contar tareas por usuario (solo si el cliente de cursor pide el total)
+    @Query("SELECT COUNT(t) FROM Tarea t WHERE t.usuario.id = :usuarioId")
+    long countByUsuarioId(@Param("usuarioId") Long usuarioId);
+
+    // Buscar tareas por usuario (entidades, solo para uso interno)
     @Query("SELECT t FROM Tarea t WHERE t.usuario.id = :usuarioId")
     List<Tarea> findByUsuarioId(@Param("usuarioId") Long usuarioId);
 
-    // Buscar tareas por usuario y estado
-    @Query("SELECT t FROM Tarea t WHERE t.usuario.id = :usuarioId AND t.completada = :completada")
-    List<Tarea> findByUsuarioIdAndCompletada(@Param("usuarioId") Long usuarioId, @Param("completada") boolean completada);
-
     // Contar tareas pendientes por usuario
     @Query("SELECT COUNT(t) FROM Tarea t WHERE t.usuario.id = :usuarioId AND t.completada = false")
     long countByUsuarioIdAndCompletadaFalse(@Param("usuarioId") Long usuarioId);
 
-    // Buscar por prioridad y usuario
-    @Query("SELECT t FROM Tarea t WHERE t.usuario.id = :usuarioId AND t.prioridad = :prioridad")
-    List<Tarea> findByUsuarioIdAndPrioridad(@Param("usuarioId") Long usuarioId, @Param("prioridad") Tarea.Prioridad prioridad);
-
     // Buscar tarea por ID y usuario (para seguridad)
     @Query("SELECT t FROM Tarea t WHERE t.id = :id AND t.usuario.id = :usuarioId")
     Optional<Tarea> findByIdAndUsuarioId(@Param("id") Long id, @Param("usuarioId") Long usuarioId);
 
-    // Buscar tareas por usuario y categoría
-    @Query("SELECT t FROM Tarea t WHERE t.usuario.id = :usuarioId AND t.categoria.id = :categoriaId")
-    List<Tarea> findByUsuarioIdAndCategoriaId(@Param("usuarioId") Long usuarioId, @Param("categoriaId") Long categoriaId);
+    // ✅ NUEVO: Transiciones de estado y prioridad en una sola sentencia, sin leer antes la entidad: dos
+    // peticiones concurrentes no pueden pisarse. Fijan "cambio" (sincronización) e incrementan la versión como
+    // haría Hibernate al guardar la entidad. Devuelven 0 si la tarea no existe o es de otro usuario
+    @Modifying
+    @Query("UPDATE Tarea t SET t.completada = :completada, t.cambio = :cambio, t.version = t.version + 1 " +
+            "WHERE t.id = :id AND t.usuario.id = :usuarioId")
+    int actualizarCompletada(@Param("id") Long id, @Param("usuarioId") Long usuarioId,
+                             @Param("completada") boolean completada, @Param("cambio") long cambio);
+
+    @Modifying
+    @Query("UPDATE Tarea t SET t.prioridad = :prioridad, t.cambio = :cambio, t.version = t.version + 1 " +
+            "WHERE t.id = :id AND t.usuario.id = :usuarioId")
+    int actualizarPrioridad(@Param("id") Long id, @Param("usuarioId") Long usuarioId,
+                            @Param("prioridad") Tarea.Prioridad prioridad, @Param("cambio") long cambio);
+
+    // La fila tras la transición ([TareaDTO, recordatorioEnviado]), en la misma transacción que el UPDATE
+    @Query("SELECT new com.portafolio.gestiontareas.dto.TareaDTO(" +
+            "t.id, t.titulo, t.descripcion, t.completada, t.fechaCreacion, t.fechaVencimiento, t.prioridad, " +
+            "t.usuario.id, c.id, c.nombre, t.version), t.recordatorioEnviado " +
+            "FROM Tarea t LEFT JOIN t.categoria c WHERE t.id = :id AND t.usuario.id = :usuarioId")
+    List<Object[]> findTransicion(@Param("id") Long id, @Param("usuarioId") Long usuarioId);
+
+    // ✅ NUEVO: Borrados por lotes (categorías y cuentas, ver CategoriaService y PurgaUsuarios). Se leen solo los
+    // ids del siguiente lote y se borran con un DELETE; al repetir la consulta sale el lote siguiente
+    @Query("SELECT t.id, t.usuario.id FROM Tarea t WHERE t.categoriaFk = :categoriaId ORDER BY t.id")
+    List<Object[]> findIdsYUsuarioByCategoriaId(@Param("categoriaId") Long categoriaId, Pageable limite);
+
+    @Query("SELECT t.id FROM Tarea t WHERE t.usuario.id = :usuarioId ORDER BY t.id")
+    List<Long> findIdsByUsuarioId(@Param("usuarioId") Long usuarioId, Pageable limite);
+
+    @Modifying
+    @Query("DELETE FROM Tarea t WHERE t.id IN :ids")
+    int eliminarPorIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Tarea t WHERE t.usuario.id = :usuarioId")
+    int eliminarPorUsuario(@Param("usuarioId") Long usuarioId);
+
+    // ✅ NUEVO: Cargar en una consulta las tareas afectadas por un lote (con su categoría para evitar N+1)
+    @Query("SELECT t FROM Tarea t LEFT JOIN FETCH t.categoria WHERE t.id IN :ids AND t.usuario.id = :usuarioId")
+    List<Tarea> findAllByIdInAndUsuarioId(@Param("ids") Collection<Long> ids, @Param("usuarioId") Long usuarioId);
+
+    // ✅ NUEVO: Exportación en streaming. El cursor JDBC trae las filas de FETCH_SIZE_EXPORTACION en
+    // FETCH_SIZE_EXPORTACION y las entidades se cargan en solo lectura (sin copia para dirty checking)
+    int FETCH_SIZE_EXPORTACION = 500;
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + FETCH_SIZE_EXPORTACION),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Tarea t LEFT JOIN FETCH t.categoria WHERE t.usuario.id = :usuarioId ORDER BY t.id")
+    Stream<Tarea> streamByUsuarioId(@Param("usuarioId") Long usuarioId);
+
+    // ✅ NUEVO: Recordatorios (ver RecordatoriosTareas). Al arrancar se cargan los vencimientos abiertos desde hoy
+    // cuyo recordatorio no se ha enviado; solo id y fecha, leídos en streaming
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + FETCH_SIZE_EXPORTACION))
+    @Query("SELECT t.id AS id, t.fechaVencimiento AS fechaVencimiento FROM Tarea t " +
+            "WHERE t.completada = false AND t.fechaVencimiento >= :desde " +
+            "AND (t.recordatorioEnviado IS NULL OR t.recordatorioEnviado <> t.fechaVencimiento)")
+    Stream<VencimientoPendiente> streamVencimientosPendientes(@Param("desde") LocalDate desde);
+
+    interface VencimientoPendiente {
+        Long getId();
+        LocalDate getFechaVencimiento();
+    }
+
+    // Al disparar: la rueda puede tener entradas obsoletas (tareas borradas con su usuario), se confirman por id
+    @Query("SELECT new com.portafolio.gestiontareas.dto.RecordatorioDTO(t.id, t.usuario.id, t.titulo, t.fechaVencimiento) " +
+            "FROM Tarea t WHERE t.id IN :ids AND t.completada = false")
+    List<RecordatorioDTO> findRecordatoriosAbiertos(@Param("ids") Collection<Long> ids);
+
+    // No pasa por la entidad: no cambia "cambio" ni cuenta como modificación para la sincronización
+    @Modifying
+    @Query("UPDATE Tarea t SET t.recordatorioEnviado = t.fechaVencimiento WHERE t.id IN :ids")
+    int marcarRecordatorioEnviado(@Param("ids") Collection<Long> ids);
 
-    // Buscar tareas próximas a vencer por usuario
-    @Query("SELECT t FROM Tarea t WHERE t.usuario.id = :usuarioId AND t.fechaVencimiento IS NOT NULL AND t.completada = false ORDER BY t.fechaVencimiento ASC")
-    List<Tarea> findTareasProximasAVencerByUsuario(@Param("usuarioId") Long usuarioId);
+    // ✅ NUEVO: Estadísticas del dashboard en una sola consulta agrupada (sin hidratar entidades).
+    // Devuelve como mucho 2 x 3 x (categorías + 1) filas, independientemente del número de tareas
+    @Query("SELECT t.completada AS completada, t.prioridad AS prioridad, c.id AS categoriaId, c.nombre AS categoriaNombre, " +
+            "COUNT(t) AS total, " +
+            "SUM(CASE WHEN t.completada = false AND t.fechaVencimiento BETWEEN :hoy AND :limite THEN 1 ELSE 0 END) AS proximasAVencer " +
+            "FROM Tarea t LEFT JOIN t.categoria c WHERE t.usuario.id = :usuarioId " +
+            "GROUP BY t.completada, t.prioridad, c.id, c.nombre")
+    List<EstadisticaAgrupada> findEstadisticasByUsuario(@Param("usuarioId") Long usuarioId,
+                                                        @Param("hoy") LocalDate hoy,
+                                                        @Param("limite") LocalDate limite);
 
-    // Buscar tareas por título y usuario
-    @Query("SELECT t FROM Tarea t WHERE t.usuario.id = :usuarioId AND LOWER(t.titulo) LIKE LOWER(CONCAT('%', :titulo, '%'))")
-    List<Tarea> findByUsuarioIdAndTituloContaining(@Param("usuarioId") Long usuarioId, @Param("titulo") String titulo);
-}
\ No newline at end of file
+    interface EstadisticaAgrupada {
+        boolean getCompletada();
+        Tarea.Prioridad getPrioridad();
+        Long getCategoriaId();
+        String getCategoriaNombre();
+        long getTotal();
+        Long getProximasAVencer();
+    }
+}
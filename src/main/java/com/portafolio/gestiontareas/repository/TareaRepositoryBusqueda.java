@@ -0,0 +1,15 @@
+package com.portafolio.gestiontareas.repository;
+
+import com.portafolio.gestiontareas.dto.TareaDTO;
+import com.portafolio.gestiontareas.entity.Tarea;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// ✅ NUEVO: Búsqueda con Specification proyectada directamente a TareaDTO (JpaSpecificationExecutor solo
+// devuelve entidades). La página no incluye el total: se cuenta aparte con count(spec) solo si hace falta
+public interface TareaRepositoryBusqueda {
+
+    List<TareaDTO> buscarDTO(Specification<Tarea> especificacion, Pageable pagina, boolean conDescripcion);
+}
@@ -0,0 +1,43 @@
+package com.portafolio.gestiontareas.repository;
+
+import com.portafolio.gestiontareas.dto.TareaDTO;
+import com.portafolio.gestiontareas.entity.Categoria;
+import com.portafolio.gestiontareas.entity.Tarea;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+// Mismo SELECT que TareaRepository.SELECT_TAREA_DTO, construido con Criteria para admitir cualquier Specification
+class TareaRepositoryBusquedaImpl implements TareaRepositoryBusqueda {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TareaDTO> buscarDTO(Specification<Tarea> especificacion, Pageable pagina, boolean conDescripcion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TareaDTO> query = cb.createQuery(TareaDTO.class);
+        Root<Tarea> t = query.from(Tarea.class);
+        Join<Tarea, Categoria> c = t.join("categoria", JoinType.LEFT);
+        query.select(cb.construct(TareaDTO.class,
+                t.get("id"), t.get("titulo"),
+                conDescripcion ? t.get("descripcion") : cb.nullLiteral(String.class),
+                t.get("completada"), t.get("fechaCreacion"), t.get("fechaVencimiento"), t.get("prioridad"),
+                t.get("usuario").get("id"), c.get("id"), c.get("nombre"), t.get("version")));
+        query.where(especificacion.toPredicate(t, query, cb));
+        query.orderBy(QueryUtils.toOrders(pagina.getSort(), t, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pagina.getOffset())
+                .setMaxResults(pagina.getPageSize())
+                .getResultList();
+    }
+}
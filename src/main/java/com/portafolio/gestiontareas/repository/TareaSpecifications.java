@@ -0,0 +1,51 @@
+package com.portafolio.gestiontareas.repository;
+
+import com.portafolio.gestiontareas.entity.Tarea;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+// Condiciones combinables de la búsqueda de tareas (ver TareaService.buscarTareas). Todas las búsquedas
+// empiezan por delUsuario: usuario_id es la primera columna de cada índice de tareas (V2__indices_tareas.sql)
+public final class TareaSpecifications {
+
+    private TareaSpecifications() {}
+
+    public static Specification<Tarea> delUsuario(Long usuarioId) {
+        return (t, query, cb) -> cb.equal(t.get("usuario").get("id"), usuarioId);
+    }
+
+    public static Specification<Tarea> completada(boolean completada) {
+        return (t, query, cb) -> cb.equal(t.get("completada"), completada);
+    }
+
+    public static Specification<Tarea> conPrioridad(Tarea.Prioridad prioridad) {
+        return (t, query, cb) -> cb.equal(t.get("prioridad"), prioridad);
+    }
+
+    // Por la columna de la clave foránea: sin JOIN, sobre idx_tareas_usuario_categoria
+    public static Specification<Tarea> deCategoria(Long categoriaId) {
+        return (t, query, cb) -> cb.equal(t.get("categoriaFk"), categoriaId);
+    }
+
+    public static Specification<Tarea> conVencimiento() {
+        return (t, query, cb) -> cb.isNotNull(t.get("fechaVencimiento"));
+    }
+
+    public static Specification<Tarea> venceDesde(LocalDate desde) {
+        return (t, query, cb) -> cb.greaterThanOrEqualTo(t.get("fechaVencimiento"), desde);
+    }
+
+    public static Specification<Tarea> venceHasta(LocalDate hasta) {
+        return (t, query, cb) -> cb.lessThanOrEqualTo(t.get("fechaVencimiento"), hasta);
+    }
+
+    // Sin distinguir mayúsculas; % y _ del texto se buscan literalmente
+    public static Specification<Tarea> tituloContiene(String texto) {
+        String patron = "%" + texto.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (t, query, cb) -> cb.like(cb.lower(t.get("titulo")), patron, '\\');
+    }
+}
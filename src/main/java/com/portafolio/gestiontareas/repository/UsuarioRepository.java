@@ -2,6 +2,9 @@ package com.portafolio.gestiontareas.repository;
 
 import com.portafolio.gestiontareas.entity.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -20,4 +23,10 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     // Verificar si existe un usuario con ese email
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // ✅ NUEVO: Rehash tras el login. Solo cambia la contraseña y solo si sigue siendo la que se verificó:
+    // no pisa ediciones del perfil ni cambios de contraseña confirmados entretanto. Devuelve 0 en ese caso
+    @Modifying
+    @Query("UPDATE Usuario u SET u.password = :nuevo WHERE u.id = :id AND u.password = :anterior")
+    int actualizarPassword(@Param("id") Long id, @Param("anterior") String anterior, @Param("nuevo") String nuevo);
+}
@@ -0,0 +1,91 @@
+package com.portafolio.gestiontareas.security;
+
+import com.portafolio.gestiontareas.Exception.ServicioSaturadoException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Hash y verificación de contraseñas (BCrypt, deliberadamente caros en CPU) en un pool propio y acotado:
+// una ráfaga de logins no ocupa los hilos de Tomcat y, con la cola llena, se rechaza al momento con 503.
+// Son hilos de plataforma también con el perfil hilos-virtuales: el trabajo es CPU pura y el pool limita cuánta se usa
+@Component
+public class HashContrasenas {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    // 0 = un hilo por núcleo
+    @Value("${seguridad.hash.hilos:0}")
+    private int hilos;
+
+    @Value("${seguridad.hash.cola:64}")
+    private int capacidadCola;
+
+    private ThreadPoolExecutor executor;
+
+    // Hash con el que se compara cuando el usuario no existe, para que la respuesta tarde lo mismo
+    private String hashFicticio;
+
+    @PostConstruct
+    void inicializar() {
+        int tamano = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        executor = new ThreadPoolExecutor(tamano, tamano, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                r -> {
+                    Thread hilo = new Thread(r, "hash-contrasenas-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        hashFicticio = passwordEncoder.encode("contrasena-ficticia");
+    }
+
+    @PreDestroy
+    void detener() {
+        executor.shutdown();
+    }
+
+    public CompletableFuture<Boolean> verificar(String contrasena, String hashGuardado) {
+        String hash = hashGuardado != null ? hashGuardado : hashFicticio;
+        return ejecutar(() -> passwordEncoder.matches(contrasena, hash) && hashGuardado != null);
+    }
+
+    public CompletableFuture<String> hashearAsync(String contrasena) {
+        return ejecutar(() -> passwordEncoder.encode(contrasena));
+    }
+
+    // Para altas y cambios de contraseña: espera al resultado, pero el cálculo sigue limitado por el pool
+    public String hashear(String contrasena) {
+        try {
+            return hashearAsync(contrasena).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException r ? r : e;
+        }
+    }
+
+    // Hash de otro algoritmo o con un coste menor que el configurado
+    public boolean necesitaRehash(String hashGuardado) {
+        return passwordEncoder.upgradeEncoding(hashGuardado);
+    }
+
+    private <T> CompletableFuture<T> ejecutar(Supplier<T> tarea) {
+        try {
+            return CompletableFuture.supplyAsync(tarea, executor);
+        } catch (RejectedExecutionException e) {
+            throw new ServicioSaturadoException("Demasiadas peticiones de autenticación, inténtalo de nuevo en unos segundos");
+        }
+    }
+}
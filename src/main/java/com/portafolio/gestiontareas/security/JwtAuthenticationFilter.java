@@ -1,6 +1,8 @@
 package com.portafolio.gestiontareas.security;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import com.portafolio.gestiontareas.monitoring.EventosJfr;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -12,12 +14,20 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    @Autowired
-    private JwtUtil jwtUtil;
+    private final JwtUtil jwtUtil;
+
+    // ✅ NUEVO: Timer "jwt.autenticacion" por resultado (valido, invalido, sin-token)
+    private final MeterRegistry meterRegistry;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -25,21 +35,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain)
             throws ServletException, IOException {
 
+        Timer.Sample medicion = Timer.start(meterRegistry);
+        EventosJfr.Autenticacion evento = new EventosJfr.Autenticacion();
+        evento.begin();
+        String resultado = "sin-token";
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (jwt != null && jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.getUsernameFromToken(jwt);
-
+            // ✅ MODIFICADO: Una sola verificación por petición (y ninguna si el token ya está en caché).
+            // El principal es un UsuarioAutenticado con el id del token: los controladores no consultan el usuario
+            Optional<UsuarioAutenticado> usuario = jwtUtil.verificarToken(jwt).flatMap(jwtUtil::obtenerUsuario);
+            if (jwt != null) {
+                resultado = usuario.isPresent() ? "valido" : "invalido";
+            }
+            if (usuario.isPresent()) {
+                evento.usuarioId = usuario.get().getId();
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(username, null, null);
+                        new UsernamePasswordAuthenticationToken(usuario.get(), null, null);
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception e) {
+            resultado = "invalido";
             logger.error("No se pudo establecer la autenticación del usuario: {}", e);
         }
+        medicion.stop(meterRegistry.timer("jwt.autenticacion", "resultado", resultado));
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.resultado = resultado;
+            evento.commit();
+        }
 
         filterChain.doFilter(request, response);
     }
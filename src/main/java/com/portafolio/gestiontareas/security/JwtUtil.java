@@ -1,56 +1,136 @@
 package com.portafolio.gestiontareas.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.portafolio.gestiontareas.entity.Usuario;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
+    // ✅ NUEVO: Claims con los datos del usuario, para no consultarlo en cada petición
+    public static final String CLAIM_USUARIO_ID = "uid";
+    public static final String CLAIM_ENABLED = "enabled";
+
     @Value("${jwt.secret:miClaveSecretaMuySeguraParaJWT2024GestionTareas}")
     private String secret;
 
     @Value("${jwt.expiration:86400000}") // 24 horas
     private long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // ✅ NUEVO: Tokens verificados recientemente (0 desactiva la caché)
+    @Value("${jwt.cache.tamano-maximo:10000}")
+    private long tamanoMaximoCache;
+
+    // ✅ NUEVO: Clave y parser se construyen una vez (son inmutables y thread-safe)
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // ✅ NUEVO: Claims de tokens ya verificados, indexados por el SHA-256 del token (no se guarda el token en claro).
+    // Cada entrada caduca cuando caduca su token, así que un token expirado nunca se acepta desde la caché
+    private Cache<ByteBuffer, Claims> tokensVerificados;
+
+    @PostConstruct
+    void inicializar() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximoCache)
+                .expireAfter(new Expiry<ByteBuffer, Claims>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer clave, Claims claims, long ahora) {
+                        long restanteMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(restanteMs, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer clave, Claims claims, long ahora, long restante) {
+                        return restante;
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer clave, Claims claims, long ahora, long restante) {
+                        return restante;
+                    }
+                })
+                .build();
     }
 
-    public String generateToken(String username) {
+    // ✅ MODIFICADO: Incluye el id del usuario y si está habilitado
+    public String generateToken(Usuario usuario) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
-                .setSubject(username)
+                .setSubject(usuario.getUsername())
+                .claim(CLAIM_USUARIO_ID, usuario.getId())
+                .claim(CLAIM_ENABLED, usuario.isEnabled())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    // ✅ NUEVO: Verifica firma y expiración una sola vez y devuelve los claims (vacío si el token no es válido).
+    // Un token repetido se resuelve desde la caché sin volver a decodificar ni calcular el HMAC
+    public Optional<Claims> verificarToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        ByteBuffer clave = huella(token);
+        Claims claims = tokensVerificados.getIfPresent(clave);
+        if (claims != null && claims.getExpiration().after(new Date())) {
+            return Optional.of(claims);
+        }
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        // Los tokens sin expiración se aceptan pero no se cachean
+        if (claims.getExpiration() != null) {
+            tokensVerificados.put(clave, claims);
+        }
+        return Optional.of(claims);
+    }
+
+    // ✅ NUEVO: Principal a partir de los claims. Vacío si el token no lleva id (emitido antes de incluirlo)
+    // o si el usuario estaba deshabilitado al emitirlo
+    public Optional<UsuarioAutenticado> obtenerUsuario(Claims claims) {
+        Long usuarioId = claims.get(CLAIM_USUARIO_ID, Long.class);
+        if (usuarioId == null || !Boolean.TRUE.equals(claims.get(CLAIM_ENABLED, Boolean.class))) {
+            return Optional.empty();
+        }
+        return Optional.of(new UsuarioAutenticado(usuarioId, claims.getSubject()));
+    }
+
     public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public boolean validateToken(String token) {
+        return verificarToken(token).isPresent();
+    }
+
+    private ByteBuffer huella(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.portafolio.gestiontareas.security;
+
+// Principal de las peticiones autenticadas con JWT: los datos salen de los claims, sin consultar la base de datos
+public class UsuarioAutenticado {
+
+    private final Long id;
+    private final String username;
+
+    public UsuarioAutenticado(Long id, String username) {
+        this.id = id;
+        this.username = username;
+    }
+
+    public Long getId() { return id; }
+    public String getUsername() { return username; }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
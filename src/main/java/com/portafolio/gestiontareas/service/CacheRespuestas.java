@@ -0,0 +1,78 @@
+package com.portafolio.gestiontareas.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portafolio.gestiontareas.dto.EstadisticasEtagDTO;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+// Respuestas ya serializadas de los GET con ETag, indexadas por ETag + usuario + URL. Como el ETag cambia con
+// cada escritura, una entrada nunca queda obsoleta: simplemente deja de pedirse y caduca.
+// También lleva la cuenta de lo que se ahorra con los 304 y con las respuestas servidas desde aquí
+@Component
+public class CacheRespuestas {
+
+    // Cuerpo (null si superaba el tamaño máximo), su Content-Type y las sentencias SQL que costó generarlo
+    public record Respuesta(byte[] cuerpo, String contentType, int bytes, int sentencias) {}
+
+    @Value("${etag.cache.bytes-maximo:8388608}")
+    private long bytesMaximo;
+
+    @Value("${etag.cache.tamano-maximo-cuerpo:262144}")
+    private int tamanoMaximoCuerpo;
+
+    @Value("${etag.cache.ttl:10m}")
+    private Duration ttl;
+
+    private Cache<String, Respuesta> respuestas;
+
+    private final LongAdder noModificadas = new LongAdder();
+    private final LongAdder servidasDesdeCache = new LongAdder();
+    private final LongAdder generadas = new LongAdder();
+    private final LongAdder bytesAhorrados = new LongAdder();
+    private final LongAdder sentenciasAhorradas = new LongAdder();
+
+    @PostConstruct
+    void inicializar() {
+        respuestas = Caffeine.newBuilder()
+                .maximumWeight(bytesMaximo)
+                .weigher((String clave, Respuesta respuesta) ->
+                        clave.length() + (respuesta.cuerpo() == null ? 0 : respuesta.cuerpo().length))
+                .expireAfterAccess(ttl)
+                .build();
+    }
+
+    public Respuesta obtener(String clave) {
+        return respuestas.getIfPresent(clave);
+    }
+
+    public void guardar(String clave, byte[] cuerpo, String contentType, int sentencias) {
+        generadas.increment();
+        byte[] guardado = cuerpo.length <= tamanoMaximoCuerpo ? cuerpo : null;
+        respuestas.put(clave, new Respuesta(guardado, contentType, cuerpo.length, sentencias));
+    }
+
+    // 304: ni consultas ni cuerpo. Si la respuesta original sigue en caché se sabe cuánto se ha ahorrado
+    public void registrarNoModificada(Respuesta original) {
+        noModificadas.increment();
+        if (original != null) {
+            bytesAhorrados.add(original.bytes());
+            sentenciasAhorradas.add(original.sentencias());
+        }
+    }
+
+    // 200 desde la caché: se envía el cuerpo, pero sin consultas ni serialización
+    public void registrarServidaDesdeCache(Respuesta respuesta) {
+        servidasDesdeCache.increment();
+        sentenciasAhorradas.add(respuesta.sentencias());
+    }
+
+    public EstadisticasEtagDTO estadisticas() {
+        return new EstadisticasEtagDTO(noModificadas.sum(), servidasDesdeCache.sum(), generadas.sum(),
+                bytesAhorrados.sum(), sentenciasAhorradas.sum(), respuestas.estimatedSize());
+    }
+}
@@ -1,16 +1,27 @@
 package com.portafolio.gestiontareas.service;
 
 import com.portafolio.gestiontareas.entity.Categoria;
+import com.portafolio.gestiontareas.entity.TareaEliminada;
 import com.portafolio.gestiontareas.repository.CategoriaRepository;
+import com.portafolio.gestiontareas.repository.TareaEliminadaRepository;
+import com.portafolio.gestiontareas.repository.TareaRepository;
 import com.portafolio.gestiontareas.dto.CategoriaDTO;
 import com.portafolio.gestiontareas.Exception.EntityNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,6 +30,27 @@ public class CategoriaService {
     @Autowired
     private CategoriaRepository categoriaRepository;
 
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private TareaEliminadaRepository tareaEliminadaRepository;
+
+    @Autowired
+    private VersionesDatos versionesDatos;
+
+    @Autowired
+    private EventosTareas eventosTareas;
+
+    @Autowired
+    private RecordatoriosTareas recordatoriosTareas;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${eliminacion.lote:1000}")
+    private int tamanoLote;
+
     // Método para convertir Entity a DTO
     private CategoriaDTO convertirADTO(Categoria categoria) {
         return new CategoriaDTO(
@@ -29,16 +61,20 @@ public class CategoriaService {
     }
 
     public Categoria crearCategoria(Categoria categoria) {
-        return categoriaRepository.save(categoria);
+        Categoria creada = categoriaRepository.save(categoria);
+        versionesDatos.categoriasModificadas();
+        return creada;
     }
 
     // ✅ NUEVO: Obtener todas las categorías con paginación
+    @Transactional(readOnly = true)
     public Page<CategoriaDTO> obtenerTodasCategorias(Pageable pageable) {
         return categoriaRepository.findAll(pageable)
                 .map(this::convertirADTO);
     }
 
     // ✅ Mantener para compatibilidad
+    @Transactional(readOnly = true)
     public List<CategoriaDTO> obtenerTodasCategorias() {
         return categoriaRepository.findAll()
                 .stream()
@@ -51,30 +87,60 @@ public class CategoriaService {
     }
 
     // ✅ Para usar en endpoints que necesitan el DTO
+    @Transactional(readOnly = true)
     public Optional<CategoriaDTO> obtenerCategoriaDTOPorId(Long id) {
         return categoriaRepository.findById(id)
                 .map(this::convertirADTO);
     }
 
+    // ✅ MODIFICADO: Lectura y escritura en la misma transacción; Hibernate actualiza la caché de segundo
+    // nivel e invalida las consultas cacheadas sobre categorias al confirmar
+    @Transactional
     public Categoria actualizarCategoria(Long id, Categoria categoriaActualizada) {
         return categoriaRepository.findById(id)
                 .map(categoria -> {
                     categoria.setNombre(categoriaActualizada.getNombre());
                     categoria.setColor(categoriaActualizada.getColor());
+                    versionesDatos.categoriasModificadas();
                     return categoriaRepository.save(categoria);
                 })
                 .orElseThrow(() -> new EntityNotFoundException("Categoría", id));
     }
 
+    // ✅ MODIFICADO: Las tareas de la categoría se borran por lotes (eliminacion.lote) sin cargarlas: de cada lote
+    // solo se leen id y usuario, se dejan sus lápidas para la sincronización y se borran con un DELETE. El
+    // contexto de persistencia se vacía tras cada lote, así que la memoria no crece con el tamaño de la categoría
+    @Transactional
     public void eliminarCategoria(Long id) {
-        if (categoriaRepository.existsById(id)) {
-            categoriaRepository.deleteById(id);
-        } else {
-            throw new EntityNotFoundException("Categoría", id);
-        }
+        // Desde la caché de segundo nivel, sin consulta
+        categoriaRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Categoría", id));
+        Set<Long> usuariosAfectados = new HashSet<>();
+        List<Object[]> lote;
+        do {
+            lote = tareaRepository.findIdsYUsuarioByCategoriaId(id, PageRequest.of(0, tamanoLote));
+            if (lote.isEmpty()) {
+                break;
+            }
+            List<Long> ids = new ArrayList<>(lote.size());
+            List<TareaEliminada> lapidas = new ArrayList<>(lote.size());
+            for (Object[] fila : lote) {
+                ids.add((Long) fila[0]);
+                lapidas.add(new TareaEliminada((Long) fila[0], (Long) fila[1]));
+                usuariosAfectados.add((Long) fila[1]);
+            }
+            tareaEliminadaRepository.saveAll(lapidas);
+            tareaRepository.eliminarPorIds(ids);
+            recordatoriosTareas.cancelar(ids);
+            entityManager.flush();
+            entityManager.clear();
+        } while (lote.size() == tamanoLote);
+        categoriaRepository.deleteById(id);
+        versionesDatos.categoriasModificadas();
+        usuariosAfectados.forEach(eventosTareas::sincronizar);
     }
 
     // ✅ CAMBIA: Devuelve DTOs
+    @Transactional(readOnly = true)
     public List<CategoriaDTO> buscarCategoriasPorNombre(String nombre) {
         return categoriaRepository.findByNombreContainingIgnoreCase(nombre)
                 .stream()
@@ -0,0 +1,374 @@
+package com.portafolio.gestiontareas.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestiontareas.Exception.ServicioSaturadoException;
+import com.portafolio.gestiontareas.dto.EventoTareaDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Conexiones SSE de GET /api/tareas/eventos, agrupadas por usuario. Una conexión inactiva no ocupa ningún hilo:
+// la petición queda en modo asíncrono y solo hay trabajo al publicar un evento o enviar un latido.
+// Cada suscriptor tiene un buffer acotado que vacía un pool pequeño, con un solo envío a la vez por suscriptor.
+// Un cliente que no consume llena su buffer y se le desconecta; al reconectar se pone al día con /api/tareas/cambios.
+// El envío es E/S bloqueante: si el socket no acepta datos el hilo se queda dentro de send() hasta el timeout de
+// escritura del contenedor, y ni expulsar ni complete() lo liberan. Un vigilante da por atascado el envío que
+// supera tiempo-maximo-envio, expulsa al suscriptor y añade un hilo al pool en lugar del atascado (hasta
+// hilos-maximos); el hilo sobrante sale del pool cuando el envío termina
+@Component
+public class EventosTareas {
+
+    private static final Logger log = LoggerFactory.getLogger(EventosTareas.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${eventos.buffer:32}")
+    private int capacidadBuffer;
+
+    @Value("${eventos.latido:20s}")
+    private Duration intervaloLatido;
+
+    // Al caducar, el navegador (EventSource) reconecta solo
+    @Value("${eventos.duracion-conexion:30m}")
+    private Duration duracionConexion;
+
+    @Value("${eventos.maximo-suscriptores:20000}")
+    private int maximoSuscriptores;
+
+    // Al superarlo se cierra la conexión más antigua del usuario (suele ser una pestaña cerrada sin detectar)
+    @Value("${eventos.maximo-por-usuario:5}")
+    private int maximoPorUsuario;
+
+    @Value("${eventos.hilos:4}")
+    private int hilos;
+
+    @Value("${eventos.tiempo-maximo-envio:2s}")
+    private Duration tiempoMaximoEnvio;
+
+    @Value("${eventos.hilos-maximos:64}")
+    private int hilosMaximos;
+
+    private final ConcurrentMap<Long, Set<Suscriptor>> suscriptores = new ConcurrentHashMap<>();
+    private final AtomicInteger totalSuscriptores = new AtomicInteger();
+    private final LongAdder eventosEnviados = new LongAdder();
+    private final LongAdder suscriptoresExpulsados = new LongAdder();
+    private final LongAdder enviosAtascados = new LongAdder();
+    private final AtomicLong secuencia = new AtomicLong();
+
+    // Suscriptores con un vaciado en curso: como mucho uno por hilo de envío
+    private final Set<Suscriptor> enviando = ConcurrentHashMap.newKeySet();
+
+    // Cola sin límite, pero cada suscriptor tiene como mucho un vaciado pendiente: nunca hay más tareas que conexiones
+    private ThreadPoolExecutor envios;
+    private ScheduledExecutorService latidos;
+
+    private Set<DataWithMediaType> latido;
+
+    @PostConstruct
+    void inicializar() {
+        AtomicInteger contador = new AtomicInteger();
+        envios = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread hilo = new Thread(r, "eventos-sse-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+        latidos = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "eventos-sse-latido");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        latido = Collections.unmodifiableSet(SseEmitter.event().comment("latido").build());
+        long intervalo = intervaloLatido.toMillis();
+        latidos.scheduleAtFixedRate(this::enviarLatidos, intervalo, intervalo, TimeUnit.MILLISECONDS);
+        long revision = Math.max(tiempoMaximoEnvio.toMillis() / 2, 10);
+        latidos.scheduleAtFixedRate(this::vigilarEnvios, revision, revision, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void detener() {
+        latidos.shutdownNow();
+        suscriptores.values().forEach(conexiones -> conexiones.forEach(Suscriptor::expulsar));
+        envios.shutdown();
+    }
+
+    public SseEmitter suscribir(Long usuarioId) {
+        SseEmitter emisor = new SseEmitter(duracionConexion.toMillis());
+        registrar(usuarioId, emisor);
+        return emisor;
+    }
+
+    Suscriptor registrar(Long usuarioId, SseEmitter emisor) {
+        if (totalSuscriptores.incrementAndGet() > maximoSuscriptores) {
+            totalSuscriptores.decrementAndGet();
+            throw new ServicioSaturadoException("Demasiadas conexiones de eventos abiertas, inténtalo de nuevo más tarde");
+        }
+        Suscriptor suscriptor = new Suscriptor(usuarioId, emisor);
+        Set<Suscriptor> delUsuario = suscriptores.compute(usuarioId, (id, conexiones) -> {
+            Set<Suscriptor> resultado = conexiones != null ? conexiones : ConcurrentHashMap.newKeySet();
+            resultado.add(suscriptor);
+            return resultado;
+        });
+        // Una cuenta no puede acaparar conexiones (ni hilos de envío, si deja de leer de todas ellas)
+        int sobrantes = delUsuario.size() - maximoPorUsuario;
+        if (sobrantes > 0) {
+            delUsuario.stream()
+                    .filter(otro -> otro != suscriptor)
+                    .sorted(Comparator.comparingLong(otro -> otro.orden))
+                    .limit(sobrantes)
+                    .forEach(Suscriptor::expulsar);
+        }
+        emisor.onCompletion(suscriptor::quitar);
+        emisor.onError(error -> suscriptor.quitar());
+        emisor.onTimeout(suscriptor::expulsar);
+        // El primer envío confirma la conexión al cliente (y a los proxies) sin esperar al primer evento
+        suscriptor.encolar(latido);
+        return suscriptor;
+    }
+
+    // Tras el commit: un cliente no debe enterarse de un cambio que luego se deshace. El evento se construye
+    // y se serializa una sola vez, y solo si el usuario tiene conexiones abiertas
+    public void publicar(Long usuarioId, Supplier<EventoTareaDTO> evento) {
+        TrasCommit.ejecutar(() -> entregar(usuarioId, evento));
+    }
+
+    public void sincronizar(Long usuarioId) {
+        publicar(usuarioId, () -> new EventoTareaDTO(EventoTareaDTO.Tipo.SINCRONIZAR, null, null, null));
+    }
+
+    // Al eliminar el usuario sus conexiones se cierran
+    public void desconectar(Long usuarioId) {
+        TrasCommit.ejecutar(() -> {
+            Set<Suscriptor> conexiones = suscriptores.get(usuarioId);
+            if (conexiones != null) {
+                conexiones.forEach(Suscriptor::expulsar);
+            }
+        });
+    }
+
+    public int getSuscriptoresActivos() { return totalSuscriptores.get(); }
+    public long getEventosEnviados() { return eventosEnviados.sum(); }
+    public long getSuscriptoresExpulsados() { return suscriptoresExpulsados.sum(); }
+    public long getEnviosAtascados() { return enviosAtascados.sum(); }
+
+    private void entregar(Long usuarioId, Supplier<EventoTareaDTO> proveedor) {
+        Set<Suscriptor> conexiones = suscriptores.get(usuarioId);
+        if (conexiones == null || conexiones.isEmpty()) {
+            return;
+        }
+        EventoTareaDTO evento = proveedor.get();
+        Set<DataWithMediaType> datos;
+        try {
+            SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                    .name(evento.getTipo().name().toLowerCase(Locale.ROOT))
+                    .data(objectMapper.writeValueAsString(evento));
+            if (evento.getCambio() != null) {
+                builder.id(evento.getCambio().toString());
+            }
+            datos = Collections.unmodifiableSet(builder.build());
+        } catch (JsonProcessingException e) {
+            log.warn("No se pudo serializar el evento {} del usuario {}", evento.getTipo(), usuarioId, e);
+            return;
+        }
+        for (Suscriptor suscriptor : conexiones) {
+            if (!suscriptor.encolar(datos)) {
+                suscriptor.expulsar();
+            }
+        }
+    }
+
+    // También detecta conexiones muertas: el envío falla y el suscriptor se quita
+    private void enviarLatidos() {
+        for (Set<Suscriptor> conexiones : suscriptores.values()) {
+            for (Suscriptor suscriptor : conexiones) {
+                if (!suscriptor.encolar(latido)) {
+                    suscriptor.expulsar();
+                }
+            }
+        }
+    }
+
+    // Envíos que superan tiempo-maximo-envio: el suscriptor se expulsa y su hilo se sustituye
+    private void vigilarEnvios() {
+        long ahora = System.nanoTime();
+        long limite = tiempoMaximoEnvio.toNanos();
+        for (Suscriptor suscriptor : enviando) {
+            if (suscriptor.marcarAtascado(ahora, limite)) {
+                enviosAtascados.increment();
+                log.warn("Envío SSE atascado más de {} ms para el usuario {}: se cierra la conexión",
+                        tiempoMaximoEnvio.toMillis(), suscriptor.usuarioId);
+                suscriptor.expulsar();
+            }
+        }
+    }
+
+    // Sube el pool en un hilo (primero el máximo: el núcleo no puede superarlo). Falso si ya está en hilos-maximos
+    private boolean sustituirHilo() {
+        synchronized (envios) {
+            if (envios.getMaximumPoolSize() >= hilosMaximos) {
+                return false;
+            }
+            envios.setMaximumPoolSize(envios.getMaximumPoolSize() + 1);
+            envios.setCorePoolSize(envios.getCorePoolSize() + 1);
+            return true;
+        }
+    }
+
+    private void devolverHilo() {
+        synchronized (envios) {
+            envios.setCorePoolSize(envios.getCorePoolSize() - 1);
+            envios.setMaximumPoolSize(envios.getMaximumPoolSize() - 1);
+        }
+    }
+
+    final class Suscriptor {
+
+        private final Long usuarioId;
+        private final SseEmitter emisor;
+        private final long orden = secuencia.incrementAndGet();
+        private final Queue<Set<DataWithMediaType>> pendientes = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger tamano = new AtomicInteger();
+        private final AtomicBoolean programado = new AtomicBoolean();
+        private final AtomicBoolean abierto = new AtomicBoolean(true);
+        private volatile boolean completado;
+
+        // Inicio (System.nanoTime) del send() en curso, 0 si no hay ninguno. Con el monitor del suscriptor
+        private long envioDesde;
+        private boolean atascado;
+        private boolean sustituido;
+
+        Suscriptor(Long usuarioId, SseEmitter emisor) {
+            this.usuarioId = usuarioId;
+            this.emisor = emisor;
+        }
+
+        boolean encolar(Set<DataWithMediaType> datos) {
+            if (!abierto.get()) {
+                return true;
+            }
+            if (tamano.incrementAndGet() > capacidadBuffer) {
+                tamano.decrementAndGet();
+                return false;
+            }
+            pendientes.offer(datos);
+            programar();
+            return true;
+        }
+
+        // Cliente lento o conexión caducada. Se completa desde el hilo de envío: si hay un envío bloqueado en
+        // el socket, complete() esperaría a que termine y no debe bloquear a quien publica
+        void expulsar() {
+            if (quitar()) {
+                suscriptoresExpulsados.increment();
+            }
+            programar();
+        }
+
+        // Cierre iniciado por el contenedor (el cliente se ha ido) o por un error de envío
+        boolean quitar() {
+            if (!abierto.compareAndSet(true, false)) {
+                return false;
+            }
+            totalSuscriptores.decrementAndGet();
+            suscriptores.computeIfPresent(usuarioId, (id, conexiones) -> {
+                conexiones.remove(this);
+                return conexiones.isEmpty() ? null : conexiones;
+            });
+            pendientes.clear();
+            return true;
+        }
+
+        private void programar() {
+            if (programado.compareAndSet(false, true)) {
+                try {
+                    envios.execute(this::vaciar);
+                } catch (RejectedExecutionException e) {
+                    programado.set(false);
+                }
+            }
+        }
+
+        private synchronized void empezarEnvio() {
+            envioDesde = System.nanoTime();
+        }
+
+        private synchronized void terminarEnvio() {
+            envioDesde = 0;
+            if (sustituido) {
+                sustituido = false;
+                devolverHilo();
+            }
+        }
+
+        // Solo una vez por suscriptor: ya expulsado, no vuelve a enviar nada
+        synchronized boolean marcarAtascado(long ahora, long limite) {
+            if (atascado || envioDesde == 0 || ahora - envioDesde < limite) {
+                return false;
+            }
+            atascado = true;
+            sustituido = sustituirHilo();
+            return true;
+        }
+
+        private void vaciar() {
+            enviando.add(this);
+            try {
+                Set<DataWithMediaType> datos;
+                while (abierto.get() && (datos = pendientes.poll()) != null) {
+                    tamano.decrementAndGet();
+                    empezarEnvio();
+                    try {
+                        emisor.send(datos);
+                    } finally {
+                        terminarEnvio();
+                    }
+                    eventosEnviados.increment();
+                }
+                if (!abierto.get() && !completado) {
+                    completado = true;
+                    emisor.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // El cliente ha cerrado la conexión o el emisor ya estaba completado
+                completado = true;
+                quitar();
+            } finally {
+                enviando.remove(this);
+                programado.set(false);
+                if (abierto.get() ? !pendientes.isEmpty() : !completado) {
+                    programar();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.portafolio.gestiontareas.service;
+
+// Formatos admitidos por GET /api/tareas/exportar y POST /api/tareas/importar
+public enum FormatoExportacion {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    FormatoExportacion(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static FormatoExportacion desde(String formato) {
+        for (FormatoExportacion valor : values()) {
+            if (valor.extension.equalsIgnoreCase(formato)) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Formato de exportación no soportado: " + formato);
+    }
+
+    // Formato a partir del Content-Type de la petición (se ignoran parámetros como charset)
+    public static FormatoExportacion desdeContentType(String contentType) {
+        String tipo = contentType == null ? "" : contentType.split(";")[0].trim();
+        for (FormatoExportacion valor : values()) {
+            if (valor.contentType.equalsIgnoreCase(tipo)) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Content-Type no soportado para importar: " + contentType);
+    }
+
+    public String getContentType() { return contentType; }
+    public String getExtension() { return extension; }
+}
@@ -0,0 +1,264 @@
+package com.portafolio.gestiontareas.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestiontareas.Exception.EntityNotFoundException;
+import com.portafolio.gestiontareas.dto.ResultadoImportacionDTO;
+import com.portafolio.gestiontareas.dto.TareaDTO;
+import com.portafolio.gestiontareas.entity.Categoria;
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.CategoriaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// Importación masiva de tareas en streaming (CSV o NDJSON). El archivo se lee registro a registro; las filas
+// válidas se agrupan en lotes de TAMANO_LOTE que se escriben en su propia transacción con INSERT en lotes JDBC.
+// Mientras un lote se escribe se lee el siguiente, y la lectura espera si la base de datos va más lenta, así
+// que en memoria nunca hay más de dos lotes
+@Service
+public class ImportadorTareas {
+
+    static final int TAMANO_LOTE = 1000;
+
+    // Errores de fila devueltos en el resultado; a partir de aquí solo se cuentan
+    static final int MAXIMO_ERRORES_INFORMADOS = 1000;
+
+    private static final int LONGITUD_MAXIMA_TEXTO = 255;
+
+    private static final Logger log = LoggerFactory.getLogger(ImportadorTareas.class);
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VersionesDatos versionesDatos;
+
+    @Autowired
+    private EventosTareas eventosTareas;
+
+    @Autowired
+    private RecordatoriosTareas recordatoriosTareas;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // "progreso" recibe una copia del resultado parcial tras cada lote escrito. El resultado lo modifican el hilo
+    // lector y el escritor: todo acceso va sincronizado sobre él
+    public ResultadoImportacionDTO importar(Long usuarioId, FormatoExportacion formato, InputStream entrada,
+                                           Consumer<ResultadoImportacionDTO> progreso) throws IOException {
+        if (!usuarioRepository.existsById(usuarioId)) {
+            throw new EntityNotFoundException("Usuario", usuarioId);
+        }
+        Map<String, Long> categoriasPorNombre = new HashMap<>();
+        for (Categoria categoria : categoriaRepository.findAll()) {
+            categoriasPorNombre.putIfAbsent(categoria.getNombre().toLowerCase(Locale.ROOT), categoria.getId());
+        }
+        Set<Long> idsCategorias = Set.copyOf(categoriasPorNombre.values());
+
+        ResultadoImportacionDTO resultado = new ResultadoImportacionDTO();
+        long inicio = System.nanoTime();
+        LectorTareas lector = LectorTareas.para(formato, entrada, objectMapper);
+        ExecutorService escritor = Executors.newSingleThreadExecutor(r -> new Thread(r, "importador-tareas"));
+        try {
+            CompletableFuture<Void> escrituraPendiente = CompletableFuture.completedFuture(null);
+            List<Tarea> lote = new ArrayList<>(TAMANO_LOTE);
+            LectorTareas.Fila fila;
+            while ((fila = lector.siguiente()) != null) {
+                synchronized (resultado) {
+                    resultado.setLeidas(resultado.getLeidas() + 1);
+                }
+                try {
+                    lote.add(construirTarea(fila, categoriasPorNombre, idsCategorias));
+                } catch (IllegalArgumentException e) {
+                    registrarError(resultado, fila.numero, e.getMessage());
+                }
+                if (lote.size() == TAMANO_LOTE) {
+                    escrituraPendiente = encadenarEscritura(escrituraPendiente, escritor, lote, usuarioId, resultado, progreso);
+                    lote = new ArrayList<>(TAMANO_LOTE);
+                }
+            }
+            if (!lote.isEmpty()) {
+                escrituraPendiente = encadenarEscritura(escrituraPendiente, escritor, lote, usuarioId, resultado, progreso);
+            }
+            esperar(escrituraPendiente);
+        } finally {
+            escritor.shutdownNow();
+        }
+
+        long duracionNanos = System.nanoTime() - inicio;
+        resultado.setDuracionMs(duracionNanos / 1_000_000);
+        resultado.setFilasPorSegundo(resultado.getImportadas() * 1_000_000_000.0 / Math.max(duracionNanos, 1));
+        log.info("Importación para el usuario {}: {} filas leídas, {} importadas, {} con error en {} ms ({} filas/s)",
+                usuarioId, resultado.getLeidas(), resultado.getImportadas(), resultado.getFallidas(),
+                resultado.getDuracionMs(), Math.round(resultado.getFilasPorSegundo()));
+        return resultado;
+    }
+
+    // Espera a que termine el lote anterior antes de enviar el siguiente: como máximo hay una escritura en curso
+    private CompletableFuture<Void> encadenarEscritura(CompletableFuture<Void> anterior, ExecutorService escritor,
+                                                       List<Tarea> lote, Long usuarioId,
+                                                       ResultadoImportacionDTO resultado,
+                                                       Consumer<ResultadoImportacionDTO> progreso) {
+        esperar(anterior);
+        return CompletableFuture.runAsync(() -> {
+            try {
+                escribirLote(lote, usuarioId);
+                synchronized (resultado) {
+                    resultado.setImportadas(resultado.getImportadas() + lote.size());
+                }
+            } catch (RuntimeException e) {
+                log.warn("No se pudo escribir un lote de {} tareas: {}", lote.size(), e.getMessage());
+                synchronized (resultado) {
+                    resultado.setFallidas(resultado.getFallidas() + lote.size());
+                    agregarError(resultado, 0, "Lote de " + lote.size() + " filas rechazado por la base de datos: " + e.getMessage());
+                }
+            }
+            if (progreso != null) {
+                progreso.accept(copia(resultado));
+            }
+        }, escritor);
+    }
+
+    private void escribirLote(List<Tarea> lote, Long usuarioId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(TAMANO_LOTE);
+            Usuario usuario = entityManager.getReference(Usuario.class, usuarioId);
+            for (Tarea tarea : lote) {
+                tarea.setUsuario(usuario);
+                if (tarea.getCategoria() != null) {
+                    tarea.setCategoria(entityManager.getReference(Categoria.class, tarea.getCategoria().getId()));
+                }
+                entityManager.persist(tarea);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        versionesDatos.tareasModificadas(usuarioId);
+        eventosTareas.sincronizar(usuarioId);
+        lote.forEach(recordatoriosTareas::programar);
+    }
+
+    private Tarea construirTarea(LectorTareas.Fila fila, Map<String, Long> categoriasPorNombre, Set<Long> idsCategorias) {
+        if (fila.error != null) {
+            throw new IllegalArgumentException(fila.error);
+        }
+        TareaDTO dto = fila.datos;
+        Tarea tarea = new Tarea();
+        tarea.setTitulo(dto.getTitulo());
+        tarea.setDescripcion(dto.getDescripcion());
+        tarea.setCompletada(dto.isCompletada());
+        tarea.setFechaVencimiento(dto.getFechaVencimiento());
+        if (dto.getFechaCreacion() != null) {
+            tarea.setFechaCreacion(dto.getFechaCreacion());
+        }
+        if (dto.getPrioridad() != null) {
+            tarea.setPrioridad(dto.getPrioridad());
+        }
+
+        Long categoriaId = null;
+        if (dto.getCategoriaNombre() != null && !dto.getCategoriaNombre().isBlank()) {
+            categoriaId = categoriasPorNombre.get(dto.getCategoriaNombre().trim().toLowerCase(Locale.ROOT));
+            if (categoriaId == null) {
+                throw new IllegalArgumentException("Categoría no encontrada: " + dto.getCategoriaNombre());
+            }
+        } else if (dto.getCategoriaId() != null) {
+            if (!idsCategorias.contains(dto.getCategoriaId())) {
+                throw new IllegalArgumentException("Categoría no encontrada con id: " + dto.getCategoriaId());
+            }
+            categoriaId = dto.getCategoriaId();
+        }
+        if (categoriaId != null) {
+            // Solo lleva el id: escribirLote la sustituye por una referencia gestionada sin consultar la base de datos
+            Categoria categoria = new Categoria();
+            categoria.setId(categoriaId);
+            tarea.setCategoria(categoria);
+        }
+
+        Set<ConstraintViolation<Tarea>> violaciones = validator.validate(tarea);
+        if (!violaciones.isEmpty()) {
+            throw new IllegalArgumentException(violaciones.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining(", ")));
+        }
+        if (longitud(tarea.getTitulo()) > LONGITUD_MAXIMA_TEXTO || longitud(tarea.getDescripcion()) > LONGITUD_MAXIMA_TEXTO) {
+            throw new IllegalArgumentException("El título y la descripción no pueden superar " + LONGITUD_MAXIMA_TEXTO + " caracteres");
+        }
+        return tarea;
+    }
+
+    private int longitud(String texto) {
+        return texto == null ? 0 : texto.length();
+    }
+
+    private void registrarError(ResultadoImportacionDTO resultado, long fila, String error) {
+        synchronized (resultado) {
+            resultado.setFallidas(resultado.getFallidas() + 1);
+            agregarError(resultado, fila, error);
+        }
+    }
+
+    private void agregarError(ResultadoImportacionDTO resultado, long fila, String error) {
+        if (resultado.getErrores().size() < MAXIMO_ERRORES_INFORMADOS) {
+            resultado.getErrores().add(new ResultadoImportacionDTO.ErrorFila(fila, error));
+        } else {
+            resultado.setErroresOmitidos(resultado.getErroresOmitidos() + 1);
+        }
+    }
+
+    private static ResultadoImportacionDTO copia(ResultadoImportacionDTO resultado) {
+        synchronized (resultado) {
+            ResultadoImportacionDTO copia = new ResultadoImportacionDTO();
+            copia.setLeidas(resultado.getLeidas());
+            copia.setImportadas(resultado.getImportadas());
+            copia.setFallidas(resultado.getFallidas());
+            copia.setErrores(List.copyOf(resultado.getErrores()));
+            copia.setErroresOmitidos(resultado.getErroresOmitidos());
+            return copia;
+        }
+    }
+
+    private void esperar(CompletableFuture<Void> escritura) {
+        try {
+            escritura.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException r ? r : e;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.portafolio.gestiontareas.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestiontareas.dto.TareaDTO;
+import com.portafolio.gestiontareas.entity.Tarea;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Lee un archivo de tareas registro a registro (nunca carga el archivo completo). Acepta las mismas
+// columnas/campos que genera la exportación; un registro mal formado se devuelve con su error y la
+// lectura continúa con el siguiente
+abstract class LectorTareas {
+
+    // Registro leído: datos convertidos o el motivo por el que no se pudo convertir
+    static class Fila {
+        final long numero;
+        final TareaDTO datos;
+        final String error;
+
+        Fila(long numero, TareaDTO datos, String error) {
+            this.numero = numero;
+            this.datos = datos;
+            this.error = error;
+        }
+    }
+
+    protected final BufferedReader reader;
+    protected long linea;
+
+    protected LectorTareas(InputStream entrada) {
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    static LectorTareas para(FormatoExportacion formato, InputStream entrada, ObjectMapper objectMapper) {
+        return formato == FormatoExportacion.CSV ? new Csv(entrada) : new Ndjson(entrada, objectMapper);
+    }
+
+    // Devuelve null al llegar al final del archivo
+    abstract Fila siguiente() throws IOException;
+
+    static class Ndjson extends LectorTareas {
+        private final ObjectMapper objectMapper;
+
+        Ndjson(InputStream entrada, ObjectMapper objectMapper) {
+            super(entrada);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Fila siguiente() throws IOException {
+            String texto;
+            do {
+                texto = reader.readLine();
+                if (texto == null) {
+                    return null;
+                }
+                linea++;
+            } while (texto.isBlank());
+
+            try {
+                return new Fila(linea, objectMapper.readValue(texto, TareaDTO.class), null);
+            } catch (JsonProcessingException e) {
+                return new Fila(linea, null, "JSON no válido: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    // CSV según RFC 4180 con cabecera. Un campo entrecomillado puede contener comas y saltos de línea
+    static class Csv extends LectorTareas {
+        private List<String> columnas;
+
+        Csv(InputStream entrada) {
+            super(entrada);
+        }
+
+        @Override
+        Fila siguiente() throws IOException {
+            if (columnas == null) {
+                columnas = leerRegistro();
+                if (columnas == null) {
+                    return null;
+                }
+                columnas.replaceAll(c -> c.trim().toLowerCase(Locale.ROOT));
+            }
+            List<String> campos;
+            long inicio;
+            do {
+                inicio = linea + 1;
+                campos = leerRegistro();
+                if (campos == null) {
+                    return null;
+                }
+            } while (campos.size() == 1 && campos.get(0).isEmpty());
+
+            try {
+                return new Fila(inicio, convertir(campos), null);
+            } catch (IllegalArgumentException e) {
+                return new Fila(inicio, null, e.getMessage());
+            }
+        }
+
+        private TareaDTO convertir(List<String> campos) {
+            if (campos.size() > columnas.size()) {
+                throw new IllegalArgumentException("La fila tiene " + campos.size() + " campos y la cabecera " + columnas.size());
+            }
+            TareaDTO dto = new TareaDTO();
+            for (int i = 0; i < campos.size(); i++) {
+                String valor = campos.get(i);
+                if (valor.isEmpty()) {
+                    continue;
+                }
+                String columna = columnas.get(i);
+                try {
+                    switch (columna) {
+                        case "titulo" -> dto.setTitulo(valor);
+                        case "descripcion" -> dto.setDescripcion(valor);
+                        case "completada" -> dto.setCompletada(convertirBooleano(valor));
+                        case "fechacreacion" -> dto.setFechaCreacion(LocalDateTime.parse(valor));
+                        case "fechavencimiento" -> dto.setFechaVencimiento(LocalDate.parse(valor));
+                        case "prioridad" -> dto.setPrioridad(Tarea.Prioridad.valueOf(valor.trim().toUpperCase(Locale.ROOT)));
+                        case "categoriaid" -> dto.setCategoriaId(Long.valueOf(valor.trim()));
+                        case "categorianombre" -> dto.setCategoriaNombre(valor);
+                        default -> { } // id y columnas desconocidas se ignoran
+                    }
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Valor no válido en la columna " + columna + ": " + valor);
+                }
+            }
+            return dto;
+        }
+
+        private boolean convertirBooleano(String valor) {
+            if (valor.equalsIgnoreCase("true")) {
+                return true;
+            }
+            if (valor.equalsIgnoreCase("false")) {
+                return false;
+            }
+            throw new IllegalArgumentException(valor);
+        }
+
+        // Lee un registro completo (puede ocupar varias líneas). Devuelve null al final del archivo
+        private List<String> leerRegistro() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> campos = new ArrayList<>();
+            StringBuilder campo = new StringBuilder();
+            boolean entreComillas = false;
+            while (c != -1) {
+                if (entreComillas) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int siguiente = reader.read();
+                        if (siguiente == '"') {
+                            campo.append('"');
+                        } else {
+                            entreComillas = false;
+                            reader.reset();
+                        }
+                    } else {
+                        if (c == '\n') {
+                            linea++;
+                        }
+                        campo.append((char) c);
+                    }
+                } else if (c == '"' && campo.length() == 0) {
+                    entreComillas = true;
+                } else if (c == ',') {
+                    campos.add(campo.toString());
+                    campo.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    campo.append((char) c);
+                }
+                c = reader.read();
+            }
+            linea++;
+            campos.add(campo.toString());
+            return campos;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.portafolio.gestiontareas.service;
+
+import com.portafolio.gestiontareas.dto.RecordatorioDTO;
+
+// Destino de los recordatorios de vencimiento. RecordatoriosTareas llama a todos los beans que implementan
+// esta interfaz desde su propio hilo: una implementación lenta (correo, push) debe encolar y volver enseguida
+public interface NotificadorRecordatorios {
+    void notificar(RecordatorioDTO recordatorio);
+}
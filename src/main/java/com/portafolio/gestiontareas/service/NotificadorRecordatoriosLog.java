@@ -0,0 +1,19 @@
+package com.portafolio.gestiontareas.service;
+
+import com.portafolio.gestiontareas.dto.RecordatorioDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// Notificador por defecto: deja cada recordatorio en el log
+@Component
+public class NotificadorRecordatoriosLog implements NotificadorRecordatorios {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificadorRecordatoriosLog.class);
+
+    @Override
+    public void notificar(RecordatorioDTO recordatorio) {
+        log.info("Recordatorio: la tarea {} \"{}\" del usuario {} vence el {}", recordatorio.getTareaId(),
+                recordatorio.getTitulo(), recordatorio.getUsuarioId(), recordatorio.getFechaVencimiento());
+    }
+}
@@ -0,0 +1,156 @@
+package com.portafolio.gestiontareas.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portafolio.gestiontareas.Exception.EntityNotFoundException;
+import com.portafolio.gestiontareas.dto.EliminacionUsuarioDTO;
+import com.portafolio.gestiontareas.dto.EliminacionUsuarioDTO.Estado;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Borrado de cuentas. Las tareas se borran con DELETE por usuario, sin cargarlas. Hasta umbral-asincrono
+// tareas todo va en una transacción y la petición espera; por encima, la cuenta se purga en segundo plano en
+// lotes de "lote" tareas, cada uno en su propia transacción (bloqueos y undo log acotados), y el progreso se
+// consulta con GET /api/usuarios/{id}/eliminacion. Las lápidas del usuario caen con él (ON DELETE CASCADE)
+@Service
+public class PurgaUsuarios {
+
+    private static final Logger log = LoggerFactory.getLogger(PurgaUsuarios.class);
+
+    // Progreso consultable durante un tiempo tras terminar
+    private static final Duration RETENCION_PROGRESO = Duration.ofHours(1);
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VersionesDatos versionesDatos;
+
+    @Autowired
+    private EventosTareas eventosTareas;
+
+    @Autowired
+    private RecordatoriosTareas recordatoriosTareas;
+
+    @Value("${eliminacion.lote:1000}")
+    private int lote;
+
+    @Value("${eliminacion.umbral-asincrono:5000}")
+    private long umbralAsincrono;
+
+    private final Cache<Long, EliminacionUsuarioDTO> progresos = Caffeine.newBuilder()
+            .expireAfterWrite(RETENCION_PROGRESO)
+            .build();
+
+    // Un solo hilo: las purgas se hacen de una en una para no competir con el tráfico normal
+    private final ExecutorService purgador = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "purga-usuarios");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    @PreDestroy
+    void detener() {
+        purgador.shutdownNow();
+    }
+
+    // Devuelve COMPLETADA si la cuenta ya está borrada o EN_CURSO si se purga en segundo plano
+    public EliminacionUsuarioDTO eliminar(Long usuarioId) {
+        EliminacionUsuarioDTO actual = progresos.getIfPresent(usuarioId);
+        if (actual != null && actual.getEstado() == Estado.EN_CURSO) {
+            return actual;
+        }
+        // Desde la caché de segundo nivel, sin consulta
+        usuarioRepository.findById(usuarioId).orElseThrow(() -> new EntityNotFoundException("Usuario", usuarioId));
+        Instant inicio = Instant.now();
+        long tareas = tareaRepository.countByUsuarioId(usuarioId);
+        if (tareas <= umbralAsincrono) {
+            int eliminadas = new TransactionTemplate(transactionManager).execute(estado -> {
+                int filas = tareaRepository.eliminarPorUsuario(usuarioId);
+                usuarioRepository.deleteById(usuarioId);
+                return filas;
+            });
+            trasEliminar(usuarioId);
+            return new EliminacionUsuarioDTO(usuarioId, Estado.COMPLETADA, tareas, eliminadas, inicio,
+                    Instant.now(), null);
+        }
+        // Dos DELETE simultáneos de la misma cuenta lanzan una sola purga
+        EliminacionUsuarioDTO enCurso = new EliminacionUsuarioDTO(usuarioId, Estado.EN_CURSO, tareas, 0,
+                inicio, null, null);
+        EliminacionUsuarioDTO registrada = progresos.asMap().compute(usuarioId, (id, previa) ->
+                previa != null && previa.getEstado() == Estado.EN_CURSO ? previa : enCurso);
+        if (registrada == enCurso) {
+            purgador.execute(() -> purgar(usuarioId, tareas, inicio));
+        }
+        return registrada;
+    }
+
+    public Optional<EliminacionUsuarioDTO> progreso(Long usuarioId) {
+        return Optional.ofNullable(progresos.getIfPresent(usuarioId));
+    }
+
+    private void purgar(Long usuarioId, long tareas, Instant inicio) {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        long eliminadas = 0;
+        try {
+            while (true) {
+                Integer filas = transaccion.execute(estado -> {
+                    List<Long> ids = tareaRepository.findIdsByUsuarioId(usuarioId, PageRequest.of(0, lote));
+                    if (ids.isEmpty()) {
+                        return 0;
+                    }
+                    recordatoriosTareas.cancelar(ids);
+                    return tareaRepository.eliminarPorIds(ids);
+                });
+                if (filas == 0) {
+                    break;
+                }
+                eliminadas += filas;
+                progresos.put(usuarioId, new EliminacionUsuarioDTO(usuarioId, Estado.EN_CURSO, tareas, eliminadas,
+                        inicio, null, null));
+            }
+            // Lo creado durante la purga se borra junto al usuario
+            long restantes = transaccion.execute(estado -> {
+                int filas = tareaRepository.eliminarPorUsuario(usuarioId);
+                usuarioRepository.deleteById(usuarioId);
+                return filas;
+            });
+            trasEliminar(usuarioId);
+            progresos.put(usuarioId, new EliminacionUsuarioDTO(usuarioId, Estado.COMPLETADA, tareas,
+                    eliminadas + restantes, inicio, Instant.now(), null));
+        } catch (RuntimeException e) {
+            // Los lotes ya confirmados quedan borrados: repetir el DELETE continúa donde se quedó
+            log.warn("Error al eliminar el usuario {} ({} de {} tareas borradas)", usuarioId, eliminadas, tareas, e);
+            progresos.put(usuarioId, new EliminacionUsuarioDTO(usuarioId, Estado.ERROR, tareas, eliminadas,
+                    inicio, Instant.now(), e.getMessage()));
+        }
+    }
+
+    // Sin transacción activa se aplica en el momento (ver TrasCommit)
+    private void trasEliminar(Long usuarioId) {
+        versionesDatos.tareasModificadas(usuarioId);
+        eventosTareas.desconectar(usuarioId);
+    }
+}
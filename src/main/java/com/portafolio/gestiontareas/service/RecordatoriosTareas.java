@@ -0,0 +1,256 @@
+package com.portafolio.gestiontareas.service;
+
+import com.portafolio.gestiontareas.dto.RecordatorioDTO;
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Recordatorios de vencimiento sin recorrer la tabla. Al arrancar se cargan los vencimientos pendientes en una
+// rueda de temporizadores (RuedaTemporizadores) y TareaService la mantiene al día tras cada commit; un hilo la
+// avanza cada "resolucion". Lo que vence se confirma por id (la rueda puede tener tareas borradas en cascada con
+// su usuario), se entrega a todos los NotificadorRecordatorios y se marca como enviado.
+// Entrega al menos una vez: si el proceso cae entre notificar y marcar, el aviso se repite al arrancar
+@Component
+public class RecordatoriosTareas {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordatoriosTareas.class);
+
+    private static final int TAMANO_CONFIRMACION = 1000;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private List<NotificadorRecordatorios> notificadores;
+
+    // Sin cargar la rueda (tests) los cambios de las tareas se ignoran y no se envía nada
+    @Value("${recordatorios.habilitados:true}")
+    private boolean habilitados;
+
+    @Value("${recordatorios.dias-antelacion:1}")
+    private int diasAntelacion;
+
+    @Value("${recordatorios.hora:09:00}")
+    private LocalTime hora;
+
+    // Vacía = zona del sistema
+    @Value("${recordatorios.zona:}")
+    private String zona;
+
+    @Value("${recordatorios.resolucion:1s}")
+    private Duration resolucion;
+
+    private final LongAdder enviados = new LongAdder();
+
+    // Se sustituye entera al cargar; null hasta entonces. Todo acceso pasa por "lock"
+    private RuedaTemporizadores<LocalDate> rueda;
+    private final Object lock = new Object();
+
+    // Último cambio por tarea mientras se carga una rueda nueva (null fuera de la carga). Acotado por el número de
+    // tareas distintas que cambian durante la lectura
+    private Map<Long, LocalDate> cambiosDuranteCarga;
+    // Una carga cada vez
+    private final Object carga = new Object();
+
+    private ScheduledExecutorService reloj;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void arrancar() {
+        if (!habilitados) {
+            return;
+        }
+        int programados = cargar(Instant.now());
+        log.info("Recordatorios: {} vencimientos programados", programados);
+        reloj = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "recordatorios");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long periodo = resolucion.toMillis();
+        reloj.scheduleWithFixedDelay(() -> {
+            try {
+                avanzar(Instant.now());
+            } catch (RuntimeException e) {
+                // Lo vencido ya salió de la rueda: se recupera en el próximo arranque
+                log.warn("Error al enviar recordatorios", e);
+            }
+        }, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void detener() {
+        if (reloj != null) {
+            reloj.shutdownNow();
+        }
+    }
+
+    // Carga la rueda desde cero: tareas abiertas que vencen desde hoy y sin recordatorio para esa fecha.
+    // Los avisos que debieron salir mientras la aplicación estaba parada vencen en el primer avance.
+    // La lectura va sin el lock: las escrituras que terminan mientras tanto se aplican a la rueda actual y se
+    // anotan en "cambiosDuranteCarga", que se repite sobre la nueva al sustituirla
+    int cargar(Instant ahora) {
+        synchronized (carga) {
+            synchronized (lock) {
+                cambiosDuranteCarga = new HashMap<>();
+            }
+            RuedaTemporizadores<LocalDate> nueva = new RuedaTemporizadores<>(resolucion.toMillis(), ahora.toEpochMilli());
+            try {
+                // Muchas tareas comparten fecha: una sola instancia por día
+                Map<LocalDate, LocalDate> fechas = new HashMap<>();
+                TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+                lectura.setReadOnly(true);
+                lectura.executeWithoutResult(estado -> {
+                    try (Stream<TareaRepository.VencimientoPendiente> filas =
+                                 tareaRepository.streamVencimientosPendientes(LocalDate.ofInstant(ahora, zona()))) {
+                        filas.forEach(fila -> {
+                            LocalDate fecha = fechas.computeIfAbsent(fila.getFechaVencimiento(), f -> f);
+                            nueva.programar(fila.getId(), instante(fecha), fecha);
+                        });
+                    }
+                });
+            } catch (RuntimeException e) {
+                synchronized (lock) {
+                    cambiosDuranteCarga = null;
+                }
+                throw e;
+            }
+            synchronized (lock) {
+                cambiosDuranteCarga.forEach((id, fecha) -> aplicar(nueva, id, fecha));
+                cambiosDuranteCarga = null;
+                rueda = nueva;
+                return nueva.tamano();
+            }
+        }
+    }
+
+    // Tras el commit de cualquier cambio de la tarea (alta, edición, completar, reabrir)
+    public void programar(Tarea tarea) {
+        TrasCommit.ejecutar(() -> programarAhora(tarea.getId(), tarea.isCompletada(), tarea.getFechaVencimiento(),
+                tarea.getRecordatorioEnviado()));
+    }
+
+    // Para los cambios que no pasan por la entidad (transiciones con UPDATE, ver TareaService)
+    public void programar(Long id, boolean completada, LocalDate fecha, LocalDate recordatorioEnviado) {
+        TrasCommit.ejecutar(() -> programarAhora(id, completada, fecha, recordatorioEnviado));
+    }
+
+    private void programarAhora(Long id, boolean completada, LocalDate fecha, LocalDate recordatorioEnviado) {
+        boolean conRecordatorio = !completada && fecha != null
+                && !fecha.equals(recordatorioEnviado)
+                && !fecha.isBefore(LocalDate.now(zona()));
+        cambiar(id, conRecordatorio ? fecha : null);
+    }
+
+    public void cancelar(Collection<Long> tareaIds) {
+        TrasCommit.ejecutar(() -> tareaIds.forEach(id -> cambiar(id, null)));
+    }
+
+    public void cancelar(Long tareaId) {
+        TrasCommit.ejecutar(() -> cambiar(tareaId, null));
+    }
+
+    // fecha null = sin recordatorio. Durante una carga se anota también para repetirlo sobre la rueda nueva
+    private void cambiar(Long id, LocalDate fecha) {
+        synchronized (lock) {
+            if (cambiosDuranteCarga != null) {
+                cambiosDuranteCarga.put(id, fecha);
+            }
+            if (rueda != null) {
+                aplicar(rueda, id, fecha);
+            }
+        }
+    }
+
+    private void aplicar(RuedaTemporizadores<LocalDate> destino, Long id, LocalDate fecha) {
+        if (fecha != null) {
+            destino.programar(id, instante(fecha), fecha);
+        } else {
+            destino.cancelar(id);
+        }
+    }
+
+    // Avanza la rueda hasta "ahora" y envía lo vencido. Devuelve el número de recordatorios enviados
+    int avanzar(Instant ahora) {
+        List<RuedaTemporizadores.Vencido<LocalDate>> vencidos;
+        synchronized (lock) {
+            if (rueda == null) {
+                return 0;
+            }
+            vencidos = rueda.avanzar(ahora.toEpochMilli());
+        }
+        int total = 0;
+        for (int desde = 0; desde < vencidos.size(); desde += TAMANO_CONFIRMACION) {
+            total += enviar(vencidos.subList(desde, Math.min(desde + TAMANO_CONFIRMACION, vencidos.size())));
+        }
+        enviados.add(total);
+        return total;
+    }
+
+    public int getProgramados() {
+        synchronized (lock) {
+            return rueda == null ? 0 : rueda.tamano();
+        }
+    }
+
+    public long getEnviados() { return enviados.sum(); }
+
+    // Una consulta por bloque; se descartan las tareas completadas, borradas o con otra fecha de vencimiento
+    private int enviar(List<RuedaTemporizadores.Vencido<LocalDate>> vencidos) {
+        Map<Long, LocalDate> esperadas = new HashMap<>();
+        vencidos.forEach(vencido -> esperadas.put(vencido.id(), vencido.dato()));
+        List<RecordatorioDTO> recordatorios = tareaRepository.findRecordatoriosAbiertos(esperadas.keySet()).stream()
+                .filter(recordatorio -> recordatorio.getFechaVencimiento().equals(esperadas.get(recordatorio.getTareaId())))
+                .toList();
+        if (recordatorios.isEmpty()) {
+            return 0;
+        }
+        for (RecordatorioDTO recordatorio : recordatorios) {
+            for (NotificadorRecordatorios notificador : notificadores) {
+                try {
+                    notificador.notificar(recordatorio);
+                } catch (RuntimeException e) {
+                    log.warn("El notificador {} falló con la tarea {}", notificador.getClass().getSimpleName(),
+                            recordatorio.getTareaId(), e);
+                }
+            }
+        }
+        List<Long> ids = recordatorios.stream().map(RecordatorioDTO::getTareaId).toList();
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> tareaRepository.marcarRecordatorioEnviado(ids));
+        return recordatorios.size();
+    }
+
+    private long instante(LocalDate fechaVencimiento) {
+        return fechaVencimiento.minusDays(diasAntelacion).atTime(hora).atZone(zona()).toInstant().toEpochMilli();
+    }
+
+    private ZoneId zona() {
+        return zona.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zona);
+    }
+}
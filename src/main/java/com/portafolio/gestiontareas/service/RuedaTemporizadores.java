@@ -0,0 +1,170 @@
+package com.portafolio.gestiontareas.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Rueda de temporizadores jerárquica: NIVELES ruedas de 64 ranuras, y cada ranura de un nivel abarca 64 ranuras
+// del anterior. Programar y cancelar son O(1) (lista doblemente enlazada por ranura más un índice por id);
+// avanzar solo mira la ranura de cada tick y, cuando un nivel da la vuelta, reparte una ranura del nivel superior
+// en los inferiores. Con resolución de 1 s los 6 niveles cubren más de 2.000 años.
+// No es thread-safe: quien la usa la protege con un lock
+final class RuedaTemporizadores<T> {
+
+    private static final int BITS = 6;
+    private static final int RANURAS = 1 << BITS;
+    private static final int MASCARA = RANURAS - 1;
+    private static final int NIVELES = 6;
+    private static final int PENDIENTE = -1;
+
+    record Vencido<T>(long id, T dato) {}
+
+    private final long resolucionMs;
+    private final Nodo<T>[][] ranuras;
+    private final Map<Long, Nodo<T>> porId = new HashMap<>();
+    // Programados para un instante ya pasado: salen en el siguiente avance
+    private Nodo<T> pendientes;
+    // Último tick procesado
+    private long actual;
+
+    @SuppressWarnings("unchecked")
+    RuedaTemporizadores(long resolucionMs, long inicioMs) {
+        this.resolucionMs = resolucionMs;
+        this.ranuras = new Nodo[NIVELES][RANURAS];
+        this.actual = Math.floorDiv(inicioMs, resolucionMs);
+    }
+
+    // Sustituye al temporizador anterior con el mismo id. Vence en el primer tick en o después de instanteMs
+    void programar(long id, long instanteMs, T dato) {
+        Nodo<T> nodo = porId.get(id);
+        if (nodo != null) {
+            quitar(nodo);
+        } else {
+            nodo = new Nodo<>(id);
+            porId.put(id, nodo);
+        }
+        nodo.tick = -Math.floorDiv(-instanteMs, resolucionMs);
+        nodo.dato = dato;
+        if (nodo.tick <= actual) {
+            enlazar(nodo, PENDIENTE, 0);
+        } else {
+            colocar(nodo);
+        }
+    }
+
+    boolean cancelar(long id) {
+        Nodo<T> nodo = porId.remove(id);
+        if (nodo == null) {
+            return false;
+        }
+        quitar(nodo);
+        return true;
+    }
+
+    int tamano() {
+        return porId.size();
+    }
+
+    // Todos los temporizadores vencidos hasta ahoraMs, en orden de tick
+    List<Vencido<T>> avanzar(long ahoraMs) {
+        long objetivo = Math.floorDiv(ahoraMs, resolucionMs);
+        List<Vencido<T>> vencidos = new ArrayList<>();
+        vaciar(pendientes, vencidos);
+        pendientes = null;
+        if (porId.isEmpty()) {
+            actual = Math.max(actual, objetivo);
+            return vencidos;
+        }
+        while (actual < objetivo) {
+            actual++;
+            // Primero el nivel más alto que da la vuelta: lo que baja de él puede caer en la ranura del siguiente
+            for (int nivel = NIVELES - 1; nivel > 0; nivel--) {
+                if ((actual & ((1L << (BITS * nivel)) - 1)) == 0) {
+                    cascada(nivel);
+                }
+            }
+            int ranura = (int) (actual & MASCARA);
+            Nodo<T> lista = ranuras[0][ranura];
+            ranuras[0][ranura] = null;
+            vaciar(lista, vencidos);
+        }
+        return vencidos;
+    }
+
+    private void cascada(int nivel) {
+        int ranura = (int) ((actual >>> (BITS * nivel)) & MASCARA);
+        Nodo<T> nodo = ranuras[nivel][ranura];
+        ranuras[nivel][ranura] = null;
+        while (nodo != null) {
+            Nodo<T> siguiente = nodo.siguiente;
+            colocar(nodo);
+            nodo = siguiente;
+        }
+    }
+
+    // Nivel más bajo cuyo alcance cubre la distancia al vencimiento; el último nivel recoge también lo que
+    // queda fuera de alcance y se reparte de nuevo al bajar. Con distancia 0 (solo en cascadas) va a la
+    // ranura del tick en curso, que se procesa a continuación
+    private void colocar(Nodo<T> nodo) {
+        long distancia = nodo.tick - actual;
+        int nivel = 0;
+        while (nivel < NIVELES - 1 && distancia >= 1L << (BITS * (nivel + 1))) {
+            nivel++;
+        }
+        enlazar(nodo, nivel, (int) ((nodo.tick >>> (BITS * nivel)) & MASCARA));
+    }
+
+    private void vaciar(Nodo<T> nodo, List<Vencido<T>> vencidos) {
+        while (nodo != null) {
+            porId.remove(nodo.id);
+            vencidos.add(new Vencido<>(nodo.id, nodo.dato));
+            nodo = nodo.siguiente;
+        }
+    }
+
+    private void enlazar(Nodo<T> nodo, int nivel, int ranura) {
+        Nodo<T> cabeza = nivel == PENDIENTE ? pendientes : ranuras[nivel][ranura];
+        nodo.nivel = nivel;
+        nodo.ranura = ranura;
+        nodo.anterior = null;
+        nodo.siguiente = cabeza;
+        if (cabeza != null) {
+            cabeza.anterior = nodo;
+        }
+        if (nivel == PENDIENTE) {
+            pendientes = nodo;
+        } else {
+            ranuras[nivel][ranura] = nodo;
+        }
+    }
+
+    private void quitar(Nodo<T> nodo) {
+        if (nodo.anterior != null) {
+            nodo.anterior.siguiente = nodo.siguiente;
+        } else if (nodo.nivel == PENDIENTE) {
+            pendientes = nodo.siguiente;
+        } else {
+            ranuras[nodo.nivel][nodo.ranura] = nodo.siguiente;
+        }
+        if (nodo.siguiente != null) {
+            nodo.siguiente.anterior = nodo.anterior;
+        }
+        nodo.anterior = null;
+        nodo.siguiente = null;
+    }
+
+    private static final class Nodo<T> {
+        final long id;
+        long tick;
+        T dato;
+        int nivel;
+        int ranura;
+        Nodo<T> anterior;
+        Nodo<T> siguiente;
+
+        Nodo(long id) {
+            this.id = id;
+        }
+    }
+}
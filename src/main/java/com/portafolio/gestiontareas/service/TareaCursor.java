@@ -0,0 +1,62 @@
+package com.portafolio.gestiontareas.service;
+
+import com.portafolio.gestiontareas.dto.TareaDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Cursor opaco para la paginación por keyset: codifica la última (clave de orden, id) devuelta.
+// fecha_creacion admite NULL (filas anteriores a @PrePersist): esas tareas van primero y su cursor lleva la
+// fecha vacía
+public class TareaCursor {
+
+    public static final String ORDEN_ID = "id";
+    public static final String ORDEN_FECHA_CREACION = "fechaCreacion";
+
+    private final String orden;
+    private final LocalDateTime fechaCreacion;
+    private final Long id;
+
+    private TareaCursor(String orden, LocalDateTime fechaCreacion, Long id) {
+        this.orden = orden;
+        this.fechaCreacion = fechaCreacion;
+        this.id = id;
+    }
+
+    public static boolean esOrdenSoportado(String orden) {
+        return ORDEN_ID.equals(orden) || ORDEN_FECHA_CREACION.equals(orden);
+    }
+
+    public static TareaCursor desde(TareaDTO tarea, String orden) {
+        return new TareaCursor(orden, tarea.getFechaCreacion(), tarea.getId());
+    }
+
+    public String codificar() {
+        String valor = ORDEN_FECHA_CREACION.equals(orden) && fechaCreacion != null ? fechaCreacion.toString() : "";
+        String raw = orden + "|" + valor + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TareaCursor decodificar(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] partes = raw.split("\\|", -1);
+            if (partes.length != 3 || !esOrdenSoportado(partes[0])) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            LocalDateTime fecha = partes[1].isEmpty() ? null : LocalDateTime.parse(partes[1]);
+            if (ORDEN_ID.equals(partes[0]) && fecha != null) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new TareaCursor(partes[0], fecha, Long.valueOf(partes[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+
+    public String getOrden() { return orden; }
+    public LocalDateTime getFechaCreacion() { return fechaCreacion; }
+    public Long getId() { return id; }
+}
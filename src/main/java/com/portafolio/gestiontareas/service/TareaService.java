@@ -1,28 +1,156 @@
 package com.portafolio.gestiontareas.service;
 
+import com.portafolio.gestiontareas.dto.CambiosTareasDTO;
+import com.portafolio.gestiontareas.dto.CursorPageDTO;
+import com.portafolio.gestiontareas.dto.EstadisticasTareasDTO;
+import com.portafolio.gestiontareas.dto.EventoTareaDTO;
+import com.portafolio.gestiontareas.dto.FiltroTareasDTO;
+import com.portafolio.gestiontareas.dto.OperacionTareaDTO;
+import com.portafolio.gestiontareas.dto.ResultadoLoteDTO;
+import com.portafolio.gestiontareas.dto.TareaDTO;
+import com.portafolio.gestiontareas.entity.Categoria;
+import com.portafolio.gestiontareas.entity.RelojCambios;
 import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.TareaEliminada;
+import com.portafolio.gestiontareas.entity.Usuario;
 import com.portafolio.gestiontareas.Exception.EntityNotFoundException;
+import com.portafolio.gestiontareas.repository.CategoriaRepository;
+import com.portafolio.gestiontareas.repository.TareaEliminadaRepository;
 import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.TareaSpecifications;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TareaService {
 
+    // Ventana usada por el dashboard para "próximas a vencer"
+    private static final int DIAS_PROXIMAS_A_VENCER = 3;
+
+    // Máximo de operaciones aceptadas en POST /api/tareas/lote
+    private static final int TAMANO_MAXIMO_LOTE = 1000;
+
+    // Al terminar una sincronización, el cursor se deja este tiempo por detrás del presente: una transacción
+    // que tomó su marca de cambio antes pero confirmó después sigue entrando en la siguiente sincronización
+    @Value("${sincronizacion.margen:5s}")
+    private Duration margenSincronizacion;
+
     @Autowired
     private TareaRepository tareaRepository;
 
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private TareaEliminadaRepository tareaEliminadaRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // ✅ NUEVO: Versión de las tareas de cada usuario (ETag de los GET); se incrementa en cada escritura
+    @Autowired
+    private VersionesDatos versionesDatos;
+
+    @Autowired
+    private EventosTareas eventosTareas;
+
+    @Autowired
+    private RecordatoriosTareas recordatoriosTareas;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     // ✅ MODIFICADO: Obtener todas las tareas del usuario con paginación
+    @Transactional(readOnly = true)
     public Page<Tarea> obtenerTodasTareasPorUsuario(Long usuarioId, Pageable pageable) {
         return tareaRepository.findByUsuarioId(usuarioId, pageable);
     }
 
+    // ✅ NUEVO: Obtener DTOs del usuario con paginación (proyección, sin cargar entidades)
+    @Transactional(readOnly = true)
+    public Page<TareaDTO> obtenerTareasDTOPorUsuario(Long usuarioId, Pageable pageable, boolean conDescripcion) {
+        return tareaRepository.findDTOByUsuarioId(usuarioId, conDescripcion, pageable);
+    }
+
+    // ✅ NUEVO: Paginación por cursor (keyset). Pide size + 1 filas para saber si hay más sin hacer COUNT
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TareaDTO> obtenerTareasPorCursor(Long usuarioId, String cursor, int size,
+                                                          String orden, boolean incluirTotal,
+                                                          boolean conDescripcion) {
+        TareaCursor desde = (cursor == null || cursor.isBlank()) ? null : TareaCursor.decodificar(cursor);
+        if (desde != null) {
+            orden = desde.getOrden();
+        }
+        if (!TareaCursor.esOrdenSoportado(orden)) {
+            throw new IllegalArgumentException("Orden no soportado para paginación por cursor: " + orden);
+        }
+
+        Pageable limite = PageRequest.of(0, size + 1);
+        List<TareaDTO> filas;
+        if (TareaCursor.ORDEN_FECHA_CREACION.equals(orden)) {
+            if (desde == null) {
+                filas = tareaRepository.findPrimerosPorFechaCreacion(usuarioId, conDescripcion, limite);
+            } else if (desde.getFechaCreacion() == null) {
+                filas = tareaRepository.findSiguientesSinFechaCreacion(usuarioId, desde.getId(), conDescripcion, limite);
+            } else {
+                filas = tareaRepository.findSiguientesPorFechaCreacion(usuarioId, desde.getFechaCreacion(), desde.getId(), conDescripcion, limite);
+            }
+        } else {
+            filas = desde == null
+                    ? tareaRepository.findPrimerosPorId(usuarioId, conDescripcion, limite)
+                    : tareaRepository.findSiguientesPorId(usuarioId, desde.getId(), conDescripcion, limite);
+        }
+
+        boolean hayMas = filas.size() > size;
+        List<TareaDTO> pagina = hayMas ? filas.subList(0, size) : filas;
+        String siguiente = hayMas ? TareaCursor.desde(pagina.get(pagina.size() - 1), orden).codificar() : null;
+        Long total = incluirTotal ? tareaRepository.countByUsuarioId(usuarioId) : null;
+
+        return new CursorPageDTO<>(pagina, siguiente, hayMas, size, total);
+    }
+
     // ✅ MODIFICADO: Obtener todas las tareas del usuario (sin paginación)
+    @Transactional(readOnly = true)
     public List<Tarea> obtenerTodasTareasPorUsuario(Long usuarioId) {
         return tareaRepository.findByUsuarioId(usuarioId);
     }
@@ -37,13 +165,139 @@ public class TareaService {
     //     return tareaRepository.findAll();
     // }
 
-    // ✅ MODIFICADO: Crear tarea - ahora asigna automáticamente el usuario
-    public Tarea crearTarea(Tarea tarea) {
-        // Validar que la tarea tenga un usuario asignado
-        if (tarea.getUsuario() == null) {
-            throw new IllegalArgumentException("La tarea debe tener un usuario asignado");
+    // ✅ NUEVO: Crear tarea para el usuario autenticado. getReferenceById no consulta la base de datos:
+    // la clave foránea se valida en el propio INSERT
+    @Transactional
+    public Tarea crearTarea(Tarea tarea, Long usuarioId) {
+        tarea.setUsuario(usuarioRepository.getReferenceById(usuarioId));
+        // La versión la asigna Hibernate; una enviada por el cliente haría que save() la tomase por existente
+        tarea.setVersion(null);
+        versionesDatos.tareasModificadas(usuarioId);
+        Tarea guardada = tareaRepository.save(tarea);
+        publicarEvento(usuarioId, EventoTareaDTO.Tipo.CREADA, guardada);
+        recordatoriosTareas.programar(guardada);
+        return guardada;
+    }
+
+    // ✅ NUEVO: Procesa un lote de operaciones en una sola transacción.
+    // Las tareas y categorías afectadas se cargan con una consulta cada una y los INSERT/UPDATE/DELETE
+    // se agrupan en lotes JDBC al hacer flush. Una operación inválida se informa y no impide las demás.
+    @Transactional
+    public ResultadoLoteDTO procesarLote(Long usuarioId, List<OperacionTareaDTO> operaciones) {
+        if (operaciones == null || operaciones.isEmpty() || operaciones.size() > TAMANO_MAXIMO_LOTE) {
+            throw new IllegalArgumentException("El lote debe tener entre 1 y " + TAMANO_MAXIMO_LOTE + " operaciones");
+        }
+        if (!usuarioRepository.existsById(usuarioId)) {
+            throw new EntityNotFoundException("Usuario", usuarioId);
+        }
+        Usuario usuario = usuarioRepository.getReferenceById(usuarioId);
+
+        Set<Long> idsTareas = new HashSet<>();
+        Set<Long> idsCategorias = new HashSet<>();
+        for (OperacionTareaDTO operacion : operaciones) {
+            if (operacion.getTipo() != OperacionTareaDTO.Tipo.CREAR && operacion.getId() != null) {
+                idsTareas.add(operacion.getId());
+            }
+            if (operacion.getTarea() != null && operacion.getTarea().getCategoriaId() != null) {
+                idsCategorias.add(operacion.getTarea().getCategoriaId());
+            }
+        }
+        Map<Long, Tarea> tareas = new HashMap<>();
+        if (!idsTareas.isEmpty()) {
+            tareaRepository.findAllByIdInAndUsuarioId(idsTareas, usuarioId).forEach(t -> tareas.put(t.getId(), t));
+        }
+        Map<Long, Categoria> categorias = new HashMap<>();
+        if (!idsCategorias.isEmpty()) {
+            categoriaRepository.findAllById(idsCategorias).forEach(c -> categorias.put(c.getId(), c));
+        }
+
+        List<ResultadoLoteDTO.ResultadoOperacion> resultados = new ArrayList<>(operaciones.size());
+        List<Tarea> creadas = new ArrayList<>();
+        List<Tarea> aEliminar = new ArrayList<>();
+        for (int i = 0; i < operaciones.size(); i++) {
+            OperacionTareaDTO operacion = operaciones.get(i);
+            try {
+                Long id = aplicarOperacion(operacion, usuario, tareas, categorias, creadas, aEliminar);
+                resultados.add(new ResultadoLoteDTO.ResultadoOperacion(i, operacion.getTipo(), id, true, null));
+            } catch (IllegalArgumentException | EntityNotFoundException e) {
+                resultados.add(new ResultadoLoteDTO.ResultadoOperacion(i, operacion.getTipo(), operacion.getId(), false, e.getMessage()));
+            }
         }
-        return tareaRepository.save(tarea);
+        tareaRepository.deleteAll(aEliminar);
+        tareaEliminadaRepository.saveAll(aEliminar.stream().map(TareaEliminada::new).toList());
+        versionesDatos.tareasModificadas(usuarioId);
+        // Un lote puede tocar cientos de tareas: un solo aviso y el cliente pide /api/tareas/cambios
+        eventosTareas.sincronizar(usuarioId);
+        creadas.forEach(recordatoriosTareas::programar);
+        tareas.values().forEach(recordatoriosTareas::programar);
+        aEliminar.forEach(tarea -> recordatoriosTareas.cancelar(tarea.getId()));
+        return new ResultadoLoteDTO(resultados);
+    }
+
+    private Long aplicarOperacion(OperacionTareaDTO operacion, Usuario usuario, Map<Long, Tarea> tareas,
+                                  Map<Long, Categoria> categorias, List<Tarea> creadas, List<Tarea> aEliminar) {
+        if (operacion.getTipo() == null) {
+            throw new IllegalArgumentException("La operación debe indicar un tipo");
+        }
+        if (operacion.getTipo() == OperacionTareaDTO.Tipo.CREAR) {
+            Tarea nueva = construirTareaValidada(operacion.getTarea(), categorias);
+            nueva.setUsuario(usuario);
+            // Con la secuencia el id se asigna aquí; el INSERT se envía en lote al hacer flush
+            Tarea guardada = tareaRepository.save(nueva);
+            creadas.add(guardada);
+            return guardada.getId();
+        }
+
+        Tarea tarea = operacion.getId() == null ? null : tareas.get(operacion.getId());
+        if (tarea == null) {
+            throw new EntityNotFoundException("Tarea", operacion.getId());
+        }
+        switch (operacion.getTipo()) {
+            case ACTUALIZAR -> {
+                Tarea datos = construirTareaValidada(operacion.getTarea(), categorias);
+                tarea.setTitulo(datos.getTitulo());
+                tarea.setDescripcion(datos.getDescripcion());
+                tarea.setCompletada(datos.isCompletada());
+                tarea.setFechaVencimiento(datos.getFechaVencimiento());
+                tarea.setPrioridad(datos.getPrioridad());
+                tarea.setCategoria(datos.getCategoria());
+            }
+            case COMPLETAR -> tarea.setCompletada(true);
+            case ELIMINAR -> {
+                tareas.remove(tarea.getId());
+                aEliminar.add(tarea);
+            }
+            default -> throw new IllegalArgumentException("Tipo de operación no soportado: " + operacion.getTipo());
+        }
+        return tarea.getId();
+    }
+
+    // Se valida antes de tocar la entidad gestionada para no persistir cambios de una operación inválida
+    private Tarea construirTareaValidada(TareaDTO dto, Map<Long, Categoria> categorias) {
+        if (dto == null) {
+            throw new IllegalArgumentException("La operación requiere los datos de la tarea");
+        }
+        Tarea tarea = new Tarea();
+        tarea.setTitulo(dto.getTitulo());
+        tarea.setDescripcion(dto.getDescripcion());
+        tarea.setCompletada(dto.isCompletada());
+        tarea.setFechaVencimiento(dto.getFechaVencimiento());
+        tarea.setPrioridad(dto.getPrioridad() != null ? dto.getPrioridad() : Tarea.Prioridad.MEDIA);
+        if (dto.getCategoriaId() != null) {
+            Categoria categoria = categorias.get(dto.getCategoriaId());
+            if (categoria == null) {
+                throw new EntityNotFoundException("Categoría", dto.getCategoriaId());
+            }
+            tarea.setCategoria(categoria);
+        }
+
+        Set<ConstraintViolation<Tarea>> violaciones = validator.validate(tarea);
+        if (!violaciones.isEmpty()) {
+            throw new IllegalArgumentException(violaciones.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining(", ")));
+        }
+        return tarea;
     }
 
     // ✅ MODIFICADO: Obtener tarea por ID y usuario (para seguridad)
@@ -51,35 +305,135 @@ public class TareaService {
         return tareaRepository.findByIdAndUsuarioId(id, usuarioId);
     }
 
+    // ✅ NUEVO: Exportar todas las tareas del usuario sin materializarlas en memoria. Las filas se leen
+    // de un cursor y se escriben una a una; cada FETCH_SIZE_EXPORTACION filas se vacía el contexto de
+    // persistencia para que el heap no crezca con el historial
+    @Transactional(readOnly = true)
+    public long exportarTareas(Long usuarioId, FormatoExportacion formato, OutputStream salida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        if (formato == FormatoExportacion.CSV) {
+            writer.write("id,titulo,descripcion,completada,fechaCreacion,fechaVencimiento,prioridad,categoriaId,categoriaNombre\n");
+        }
+
+        long filas = 0;
+        try (Stream<Tarea> tareas = tareaRepository.streamByUsuarioId(usuarioId)) {
+            for (Tarea tarea : (Iterable<Tarea>) tareas::iterator) {
+                if (formato == FormatoExportacion.CSV) {
+                    escribirFilaCsv(writer, tarea);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(TareaDTO.desde(tarea)));
+                    writer.write('\n');
+                }
+                if (++filas % TareaRepository.FETCH_SIZE_EXPORTACION == 0) {
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return filas;
+    }
+
+    private void escribirFilaCsv(Writer writer, Tarea tarea) throws IOException {
+        Categoria categoria = tarea.getCategoria();
+        writer.write(String.join(",",
+                String.valueOf(tarea.getId()),
+                campoCsv(tarea.getTitulo()),
+                campoCsv(tarea.getDescripcion()),
+                String.valueOf(tarea.isCompletada()),
+                campoCsv(tarea.getFechaCreacion()),
+                campoCsv(tarea.getFechaVencimiento()),
+                campoCsv(tarea.getPrioridad()),
+                categoria != null ? String.valueOf(categoria.getId()) : "",
+                categoria != null ? campoCsv(categoria.getNombre()) : ""));
+        writer.write('\n');
+    }
+
+    // RFC 4180: se entrecomilla el campo si contiene separador, comillas o saltos de línea
+    private String campoCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.contains(",") || texto.contains("\"") || texto.contains("\n") || texto.contains("\r")) {
+            return "\"" + texto.replace("\"", "\"\"") + "\"";
+        }
+        return texto;
+    }
+
     // ✅ MANTENIDO: Obtener tarea por ID (solo para uso interno)
     public Optional<Tarea> obtenerTareaPorId(Long id) {
         return tareaRepository.findById(id);
     }
 
-    // ✅ MODIFICADO: Obtener tareas por usuario
-    public List<Tarea> obtenerTareasPorUsuario(Long usuarioId) {
-        return tareaRepository.findByUsuarioId(usuarioId);
+    // ✅ NUEVO: Búsqueda combinable (GET /api/tareas/buscar y los listados /usuario/{id}/...). Cualquier
+    // combinación de filtros se resuelve en una sola consulta paginada; el total se cuenta aparte solo si
+    // la página viene llena (PageableExecutionUtils)
+    @Transactional(readOnly = true)
+    public Page<TareaDTO> buscarTareas(Long usuarioId, FiltroTareasDTO filtro, int page, int size,
+                                       boolean conDescripcion) {
+        Specification<Tarea> especificacion = especificacion(usuarioId, filtro);
+        Pageable pagina = PageRequest.of(page, size, ordenBusqueda(filtro));
+        List<TareaDTO> contenido = tareaRepository.buscarDTO(especificacion, pagina, conDescripcion);
+        return PageableExecutionUtils.getPage(contenido, pagina, () -> tareaRepository.count(especificacion));
     }
 
-    // ✅ MODIFICADO: Obtener tareas pendientes por usuario
-    public List<Tarea> obtenerTareasPendientesPorUsuario(Long usuarioId) {
-        return tareaRepository.findByUsuarioIdAndCompletada(usuarioId, false);
+    // Igual que buscarTareas pero sin total (listados que devuelven solo la lista)
+    @Transactional(readOnly = true)
+    public List<TareaDTO> listarTareas(Long usuarioId, FiltroTareasDTO filtro, int page, int size,
+                                       boolean conDescripcion) {
+        return tareaRepository.buscarDTO(especificacion(usuarioId, filtro),
+                PageRequest.of(page, size, ordenBusqueda(filtro)), conDescripcion);
     }
 
-    // ✅ MODIFICADO: Obtener tareas completadas por usuario
-    public List<Tarea> obtenerTareasCompletadasPorUsuario(Long usuarioId) {
-        return tareaRepository.findByUsuarioIdAndCompletada(usuarioId, true);
+    private Specification<Tarea> especificacion(Long usuarioId, FiltroTareasDTO filtro) {
+        if (filtro.getVenceDesde() != null && filtro.getVenceHasta() != null
+                && filtro.getVenceDesde().isAfter(filtro.getVenceHasta())) {
+            throw new IllegalArgumentException("venceDesde no puede ser posterior a venceHasta");
+        }
+        Specification<Tarea> especificacion = TareaSpecifications.delUsuario(usuarioId);
+        if (filtro.getEstado() != null) {
+            especificacion = especificacion.and(
+                    TareaSpecifications.completada(filtro.getEstado() == FiltroTareasDTO.Estado.COMPLETADA));
+        }
+        if (filtro.getPrioridad() != null) {
+            especificacion = especificacion.and(TareaSpecifications.conPrioridad(filtro.getPrioridad()));
+        }
+        if (filtro.getCategoriaId() != null) {
+            especificacion = especificacion.and(TareaSpecifications.deCategoria(filtro.getCategoriaId()));
+        }
+        if (filtro.getVenceDesde() != null) {
+            especificacion = especificacion.and(TareaSpecifications.venceDesde(filtro.getVenceDesde()));
+        }
+        if (filtro.getVenceHasta() != null) {
+            especificacion = especificacion.and(TareaSpecifications.venceHasta(filtro.getVenceHasta()));
+        }
+        if (filtro.isConVencimiento() && filtro.getVenceDesde() == null && filtro.getVenceHasta() == null) {
+            especificacion = especificacion.and(TareaSpecifications.conVencimiento());
+        }
+        if (filtro.getTexto() != null && !filtro.getTexto().isBlank()) {
+            especificacion = especificacion.and(TareaSpecifications.tituloContiene(filtro.getTexto().trim()));
+        }
+        return especificacion;
     }
 
-    // ✅ MODIFICADO: Obtener tareas por usuario y categoría
-    public List<Tarea> obtenerTareasPorUsuarioYCategoria(Long usuarioId, Long categoriaId) {
-        return tareaRepository.findByUsuarioIdAndCategoriaId(usuarioId, categoriaId);
+    // El orden lo decide el filtro, no el cliente: por vencimiento cuando se filtra por fechas (rango sobre
+    // idx_tareas_usuario_completada_vencimiento) y por id en el resto (idx_tareas_usuario_id). El id desempata
+    // y hace la paginación estable
+    private static Sort ordenBusqueda(FiltroTareasDTO filtro) {
+        return filtro.porVencimiento() ? Sort.by("fechaVencimiento", "id") : Sort.by("id");
     }
 
-    // ✅ MODIFICADO: Actualizar tarea con verificación de usuario
+    // ✅ MODIFICADO: Actualizar tarea con verificación de usuario. Si el cliente envía la versión que leyó y ya
+    // no es la guardada, falla sin escribir; si otra escritura llega entre la lectura y el UPDATE, lo detecta
+    // @Version. En los dos casos ObjectOptimisticLockingFailureException (409)
+    @Transactional
     public Tarea actualizarTarea(Long id, Tarea tareaActualizada, Long usuarioId) {
         return tareaRepository.findByIdAndUsuarioId(id, usuarioId)
                 .map(tarea -> {
+                    if (tareaActualizada.getVersion() != null && !tareaActualizada.getVersion().equals(tarea.getVersion())) {
+                        throw new ObjectOptimisticLockingFailureException(Tarea.class, id);
+                    }
                     tarea.setTitulo(tareaActualizada.getTitulo());
                     tarea.setDescripcion(tareaActualizada.getDescripcion());
                     tarea.setCompletada(tareaActualizada.isCompletada());
@@ -87,55 +441,155 @@ public class TareaService {
                     tarea.setPrioridad(tareaActualizada.getPrioridad());
                     tarea.setCategoria(tareaActualizada.getCategoria());
                     // No permitimos cambiar el usuario de la tarea
-                    return tareaRepository.save(tarea);
+                    Tarea guardada = tareaRepository.save(tarea);
+                    versionesDatos.tareasModificadas(usuarioId);
+                    publicarEvento(usuarioId, EventoTareaDTO.Tipo.ACTUALIZADA, guardada);
+                    recordatoriosTareas.programar(guardada);
+                    return guardada;
                 })
                 .orElseThrow(() -> new EntityNotFoundException("Tarea", id));
     }
 
-    // ✅ MODIFICADO: Marcar tarea como completada con verificación de usuario
-    public Tarea marcarComoCompletada(Long id, Long usuarioId) {
-        return tareaRepository.findByIdAndUsuarioId(id, usuarioId)
-                .map(tarea -> {
-                    tarea.setCompletada(true);
-                    return tareaRepository.save(tarea);
-                })
-                .orElseThrow(() -> new EntityNotFoundException("Tarea", id));
+    // ✅ MODIFICADO: Marcar tarea como completada con verificación de usuario (un UPDATE, sin leer antes la tarea)
+    @Transactional
+    public TareaDTO marcarComoCompletada(Long id, Long usuarioId) {
+        long cambio = RelojCambios.siguiente();
+        int filas = tareaRepository.actualizarCompletada(id, usuarioId, true, cambio);
+        return trasTransicion(id, usuarioId, filas, cambio, EventoTareaDTO.Tipo.COMPLETADA);
     }
 
-    // ✅ MODIFICADO: Marcar tarea como pendiente con verificación de usuario
-    public Tarea marcarComoPendiente(Long id, Long usuarioId) {
-        return tareaRepository.findByIdAndUsuarioId(id, usuarioId)
-                .map(tarea -> {
-                    tarea.setCompletada(false);
-                    return tareaRepository.save(tarea);
-                })
-                .orElseThrow(() -> new EntityNotFoundException("Tarea", id));
+    // ✅ MODIFICADO: Marcar tarea como pendiente con verificación de usuario (un UPDATE, sin leer antes la tarea)
+    @Transactional
+    public TareaDTO marcarComoPendiente(Long id, Long usuarioId) {
+        long cambio = RelojCambios.siguiente();
+        int filas = tareaRepository.actualizarCompletada(id, usuarioId, false, cambio);
+        return trasTransicion(id, usuarioId, filas, cambio, EventoTareaDTO.Tipo.PENDIENTE);
+    }
+
+    // ✅ NUEVO: Cambiar solo la prioridad, sin pisar el resto de campos
+    @Transactional
+    public TareaDTO cambiarPrioridad(Long id, Long usuarioId, Tarea.Prioridad prioridad) {
+        if (prioridad == null) {
+            throw new IllegalArgumentException("La prioridad es obligatoria");
+        }
+        long cambio = RelojCambios.siguiente();
+        int filas = tareaRepository.actualizarPrioridad(id, usuarioId, prioridad, cambio);
+        return trasTransicion(id, usuarioId, filas, cambio, EventoTareaDTO.Tipo.ACTUALIZADA);
     }
 
-    // ✅ MODIFICADO: Eliminar tarea con verificación de usuario
+    // Lee la fila ya modificada (proyección) y hace lo mismo que tras guardar la entidad: versión del ETag,
+    // evento SSE y recordatorio
+    private TareaDTO trasTransicion(Long id, Long usuarioId, int filas, long cambio, EventoTareaDTO.Tipo tipo) {
+        if (filas == 0) {
+            throw new EntityNotFoundException("Tarea", id);
+        }
+        Object[] fila = tareaRepository.findTransicion(id, usuarioId).get(0);
+        TareaDTO dto = (TareaDTO) fila[0];
+        versionesDatos.tareasModificadas(usuarioId);
+        eventosTareas.publicar(usuarioId, () -> new EventoTareaDTO(tipo, id, cambio, dto));
+        recordatoriosTareas.programar(id, dto.isCompletada(), dto.getFechaVencimiento(), (LocalDate) fila[1]);
+        return dto;
+    }
+
+    // ✅ MODIFICADO: Eliminar tarea con verificación de usuario. Deja una lápida para la sincronización
+    @Transactional
     public void eliminarTarea(Long id, Long usuarioId) {
         Tarea tarea = tareaRepository.findByIdAndUsuarioId(id, usuarioId)
                 .orElseThrow(() -> new EntityNotFoundException("Tarea", id));
         tareaRepository.delete(tarea);
+        TareaEliminada lapida = tareaEliminadaRepository.save(new TareaEliminada(tarea));
+        versionesDatos.tareasModificadas(usuarioId);
+        eventosTareas.publicar(usuarioId,
+                () -> new EventoTareaDTO(EventoTareaDTO.Tipo.ELIMINADA, id, lapida.getCambio(), null));
+        recordatoriosTareas.cancelar(id);
     }
 
-    // ✅ MODIFICADO: Contar tareas pendientes por usuario
-    public long contarTareasPendientesPorUsuario(Long usuarioId) {
-        return tareaRepository.countByUsuarioIdAndCompletadaFalse(usuarioId);
+    // El evento se construye tras el commit, con el número de cambio ya asignado por el flush
+    private void publicarEvento(Long usuarioId, EventoTareaDTO.Tipo tipo, Tarea tarea) {
+        eventosTareas.publicar(usuarioId,
+                () -> new EventoTareaDTO(tipo, tarea.getId(), tarea.getCambio(), TareaDTO.desde(tarea)));
     }
 
-    // ✅ MODIFICADO: Obtener tareas por prioridad y usuario
-    public List<Tarea> obtenerTareasPorPrioridadYUsuario(Long usuarioId, Tarea.Prioridad prioridad) {
-        return tareaRepository.findByUsuarioIdAndPrioridad(usuarioId, prioridad);
+    // ✅ NUEVO: Sincronización incremental. Tareas modificadas y lápidas posteriores al cursor, en orden de
+    // cambio; se piden limite + 1 de cada tipo para saber si hay más sin contar
+    // Sin readOnly a propósito: se lee de la primaria, porque el margen del cursor no cubre el retraso de una réplica
+    public CambiosTareasDTO obtenerCambios(Long usuarioId, String cursor, int limite) {
+        long desde = decodificarCursorCambios(cursor);
+        Pageable pagina = PageRequest.of(0, limite + 1);
+        List<Object[]> modificadas = tareaRepository.findCambiosDesde(usuarioId, desde, pagina);
+        List<TareaEliminada> eliminadas = tareaEliminadaRepository.findCambiosDesde(usuarioId, desde, pagina);
+
+        // Mezcla de las dos listas ordenadas hasta completar la página
+        List<TareaDTO> actualizadas = new ArrayList<>();
+        List<Long> idsEliminados = new ArrayList<>();
+        int m = 0;
+        int e = 0;
+        long ultimo = desde;
+        while (actualizadas.size() + idsEliminados.size() < limite
+                && (m < modificadas.size() || e < eliminadas.size())) {
+            long cambioModificada = m < modificadas.size() ? (Long) modificadas.get(m)[1] : Long.MAX_VALUE;
+            long cambioEliminada = e < eliminadas.size() ? eliminadas.get(e).getCambio() : Long.MAX_VALUE;
+            if (cambioModificada < cambioEliminada) {
+                actualizadas.add((TareaDTO) modificadas.get(m++)[0]);
+                ultimo = cambioModificada;
+            } else {
+                idsEliminados.add(eliminadas.get(e++).getTareaId());
+                ultimo = cambioEliminada;
+            }
+        }
+
+        boolean hayMas = m < modificadas.size() || e < eliminadas.size();
+        // Con más páginas se continúa justo después de la última fila; al terminar, el cursor queda
+        // margenSincronizacion por detrás del presente (nunca por detrás del que envió el cliente)
+        long siguiente = hayMas ? ultimo
+                : Math.max(desde, RelojCambios.ahora() - margenSincronizacion.toNanos() / 1000);
+        return new CambiosTareasDTO(actualizadas, idsEliminados, Long.toString(siguiente), hayMas);
+    }
+
+    private long decodificarCursorCambios(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor de sincronización inválido: " + cursor);
+        }
     }
 
-    // ✅ MODIFICADO: Buscar tareas por título y usuario
-    public List<Tarea> buscarTareasPorTituloYUsuario(Long usuarioId, String titulo) {
-        return tareaRepository.findByUsuarioIdAndTituloContaining(usuarioId, titulo);
+    // ✅ MODIFICADO: Contar tareas pendientes por usuario
+    @Transactional(readOnly = true)
+    public long contarTareasPendientesPorUsuario(Long usuarioId) {
+        return tareaRepository.countByUsuarioIdAndCompletadaFalse(usuarioId);
     }
 
-    // ✅ MODIFICADO: Obtener tareas próximas a vencer por usuario
-    public List<Tarea> obtenerTareasProximasAVencer(Long usuarioId) {
-        return tareaRepository.findTareasProximasAVencerByUsuario(usuarioId);
+    // ✅ NUEVO: Estadísticas del dashboard calculadas en la base de datos
+    @Transactional(readOnly = true)
+    public EstadisticasTareasDTO obtenerEstadisticas(Long usuarioId) {
+        LocalDate hoy = LocalDate.now();
+        List<TareaRepository.EstadisticaAgrupada> filas =
+                tareaRepository.findEstadisticasByUsuario(usuarioId, hoy, hoy.plusDays(DIAS_PROXIMAS_A_VENCER));
+
+        EstadisticasTareasDTO estadisticas = new EstadisticasTareasDTO();
+        Map<Long, EstadisticasTareasDTO.CategoriaConteo> porCategoria = new LinkedHashMap<>();
+        for (TareaRepository.EstadisticaAgrupada fila : filas) {
+            estadisticas.setTotal(estadisticas.getTotal() + fila.getTotal());
+            if (fila.getCompletada()) {
+                estadisticas.setCompletadas(estadisticas.getCompletadas() + fila.getTotal());
+            } else {
+                estadisticas.setPendientes(estadisticas.getPendientes() + fila.getTotal());
+            }
+            if (fila.getProximasAVencer() != null) {
+                estadisticas.setProximasAVencer(estadisticas.getProximasAVencer() + fila.getProximasAVencer());
+            }
+            if (fila.getPrioridad() != null) {
+                estadisticas.getPorPrioridad().merge(fila.getPrioridad(), fila.getTotal(), Long::sum);
+            }
+            EstadisticasTareasDTO.CategoriaConteo conteo = porCategoria.computeIfAbsent(fila.getCategoriaId(),
+                    id -> new EstadisticasTareasDTO.CategoriaConteo(id, fila.getCategoriaNombre(), 0));
+            conteo.setTotal(conteo.getTotal() + fila.getTotal());
+        }
+        estadisticas.setPorCategoria(new ArrayList<>(porCategoria.values()));
+        return estadisticas;
     }
-}
\ No newline at end of file
+}
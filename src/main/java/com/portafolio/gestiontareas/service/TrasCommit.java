@@ -0,0 +1,24 @@
+package com.portafolio.gestiontareas.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Ejecuta una acción cuando la transacción actual confirma (o en el momento, si no hay transacción).
+// Si la transacción se deshace la acción no se ejecuta
+final class TrasCommit {
+
+    private TrasCommit() {}
+
+    static void ejecutar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
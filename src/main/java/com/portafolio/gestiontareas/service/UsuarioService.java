@@ -1,26 +1,61 @@
 package com.portafolio.gestiontareas.service;
 
+import com.portafolio.gestiontareas.dto.EliminacionUsuarioDTO;
 import com.portafolio.gestiontareas.entity.Usuario;
 import com.portafolio.gestiontareas.repository.UsuarioRepository;
 import com.portafolio.gestiontareas.Exception.EntityNotFoundException;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.portafolio.gestiontareas.security.HashContrasenas;
 import com.portafolio.gestiontareas.security.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 public class UsuarioService {
 
+    private static final Logger log = LoggerFactory.getLogger(UsuarioService.class);
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private HashContrasenas hashContrasenas;
+
+    @Autowired
+    private PurgaUsuarios purgaUsuarios;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Guarda los hashes renovados fuera del pool de HashContrasenas: una base de datos lenta no ocupa los
+    // hilos que verifican los logins
+    private final ExecutorService rehashes = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "rehash-contrasenas");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    @PreDestroy
+    void detener() {
+        rehashes.shutdownNow();
+    }
+
     // ✅ NUEVO: Obtener todos los usuarios con paginación
     public Page<Usuario> obtenerTodosUsuarios(Pageable pageable) {
         return usuarioRepository.findAll(pageable);
@@ -38,6 +73,8 @@ public class UsuarioService {
             throw new RuntimeException("El email ya está en uso");
         }
 
+        // ✅ NUEVO: Se guarda el hash, nunca la contraseña
+        usuario.setPassword(hashContrasenas.hashear(usuario.getPassword()));
         return usuarioRepository.save(usuario);
     }
 
@@ -57,29 +94,66 @@ public class UsuarioService {
     }
 
     // Actualizar usuario
+    // ✅ MODIFICADO: En una transacción para que la entrada de la caché de segundo nivel se actualice junto al UPDATE
+    @Transactional
     public Usuario actualizarUsuario(Long id, Usuario usuarioActualizado) {
         return usuarioRepository.findById(id)
                 .map(usuario -> {
                     usuario.setUsername(usuarioActualizado.getUsername());
                     usuario.setEmail(usuarioActualizado.getEmail());
-                    usuario.setPassword(usuarioActualizado.getPassword());
+                    usuario.setPassword(hashContrasenas.hashear(usuarioActualizado.getPassword()));
                     return usuarioRepository.save(usuario);
                 })
                 .orElseThrow(() -> new EntityNotFoundException("Usuario", id));
     }
 
     // Eliminar usuario
-    public void eliminarUsuario(Long id) {
-        if (usuarioRepository.existsById(id)) {
-            usuarioRepository.deleteById(id);
-        } else {
-            throw new EntityNotFoundException("Usuario", id);
-        }
+    // ✅ MODIFICADO: Sus tareas se borran con DELETE por lotes; las cuentas grandes, en segundo plano (ver PurgaUsuarios)
+    public EliminacionUsuarioDTO eliminarUsuario(Long id) {
+        return purgaUsuarios.eliminar(id);
     }
 
-    // Verificar credenciales de login
+    // ✅ NUEVO: Progreso del borrado de una cuenta
+    public Optional<EliminacionUsuarioDTO> obtenerEliminacion(Long id) {
+        return purgaUsuarios.progreso(id);
+    }
+
+    // ✅ MODIFICADO: Verificar credenciales de login
     public boolean verificarCredenciales(String username, String password) {
+        return autenticar(username, password).join().isPresent();
+    }
+
+    // ✅ NUEVO: Login con una sola consulta. La comparación del hash se hace en el pool de HashContrasenas
+    // (el hilo de la petición queda libre); si el hash usa un coste antiguo se rehashea en segundo plano
+    public CompletableFuture<Optional<Usuario>> autenticar(String username, String password) {
         Optional<Usuario> usuario = usuarioRepository.findByUsername(username);
-        return usuario.isPresent() && usuario.get().getPassword().equals(password);
+        String hashGuardado = usuario.map(Usuario::getPassword).orElse(null);
+        return hashContrasenas.verificar(password, hashGuardado).thenApply(valida -> {
+            if (!valida) {
+                return Optional.empty();
+            }
+            if (hashContrasenas.necesitaRehash(hashGuardado)) {
+                rehashear(usuario.get().getId(), hashGuardado, password);
+            }
+            return usuario;
+        });
+    }
+
+    private void rehashear(Long usuarioId, String hashAnterior, String password) {
+        try {
+            hashContrasenas.hashearAsync(password).thenAcceptAsync(hash -> {
+                Integer filas = new TransactionTemplate(transactionManager).execute(estado ->
+                        usuarioRepository.actualizarPassword(usuarioId, hashAnterior, hash));
+                if (filas == 0) {
+                    log.debug("Rehash del usuario {} descartado: la contraseña cambió entretanto", usuarioId);
+                }
+            }, rehashes).exceptionally(e -> {
+                log.warn("No se pudo actualizar el hash del usuario {}: {}", usuarioId, e.getMessage());
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // Pool saturado: se reintentará en el siguiente login
+            log.debug("Rehash del usuario {} aplazado: {}", usuarioId, e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
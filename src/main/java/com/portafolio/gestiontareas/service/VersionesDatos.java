@@ -0,0 +1,57 @@
+package com.portafolio.gestiontareas.service;
+
+import com.portafolio.gestiontareas.config.DataSourceLecturaEscritura;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Versión monótona de las tareas de cada usuario y de las categorías (globales). Cada escritura la incrementa
+// después del commit; los GET la usan como ETag (ver EtagVersionadoFilter) y contestan 304 sin consultar nada.
+// Vive en memoria: el instante de arranque forma parte del ETag, así que tras un reinicio ningún ETag antiguo coincide.
+// Con réplica de lectura, antes de cambiar la versión se abre la ventana de lectura en la primaria: una respuesta
+// guardada con la versión nueva no puede salir de la réplica atrasada
+@Component
+public class VersionesDatos {
+
+    // Solo existe con datasource.replica.jdbc-url (ver ReplicaLecturaConfig)
+    @Autowired
+    private ObjectProvider<DataSourceLecturaEscritura> lecturaEscritura;
+
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+    private final ConcurrentMap<Long, AtomicLong> versionesTareas = new ConcurrentHashMap<>();
+    private final AtomicLong versionCategorias = new AtomicLong();
+
+    public String etagTareas(Long usuarioId) {
+        return "W/\"" + arranque + "." + versionTareas(usuarioId) + "." + versionCategorias.get() + "\"";
+    }
+
+    public String etagCategorias() {
+        return "W/\"" + arranque + "." + versionCategorias.get() + "\"";
+    }
+
+    public long versionTareas(Long usuarioId) {
+        AtomicLong version = versionesTareas.get(usuarioId);
+        return version == null ? 0 : version.get();
+    }
+
+    // Las tareas llevan el nombre de su categoría: cambiar una categoría cambia también el ETag de las tareas.
+    // Se incrementa tras el commit: antes, un GET concurrente podría leer los datos antiguos y guardarlos
+    // con la versión nueva
+    public void tareasModificadas(Long usuarioId) {
+        TrasCommit.ejecutar(() -> {
+            lecturaEscritura.ifAvailable(rutas -> rutas.registrarEscritura(usuarioId));
+            versionesTareas.computeIfAbsent(usuarioId, id -> new AtomicLong()).incrementAndGet();
+        });
+    }
+
+    public void categoriasModificadas() {
+        TrasCommit.ejecutar(() -> {
+            lecturaEscritura.ifAvailable(DataSourceLecturaEscritura::registrarEscrituraCategorias);
+            versionCategorias.incrementAndGet();
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+// Cambia el id de tareas de AUTO_INCREMENT a una secuencia con incremento 50 para que Hibernate
+// pueda agrupar los INSERT en lotes JDBC (con IDENTITY tiene que ejecutar cada INSERT por separado).
+// Es una migración Java porque el valor inicial depende de los datos existentes.
+public class V3__secuencia_tareas extends BaseJavaMigration {
+
+    // Debe coincidir con allocationSize de @SequenceGenerator en Tarea
+    private static final int INCREMENTO = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean h2 = connection.getMetaData().getDatabaseProductName().startsWith("H2");
+
+        try (Statement statement = connection.createStatement()) {
+            long maximo;
+            try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM tareas")) {
+                rs.next();
+                maximo = rs.getLong(1);
+            }
+
+            // El optimizador "pooled" de Hibernate usa el bloque (valor - 49, valor]: el primer bloque empieza en maximo + 1
+            statement.execute("CREATE SEQUENCE tareas_seq START WITH " + (maximo + INCREMENTO) + " INCREMENT BY " + INCREMENTO);
+
+            // Los INSERT por JDBC sin id también toman el valor de la secuencia
+            if (h2) {
+                statement.execute("ALTER TABLE tareas ALTER COLUMN id DROP IDENTITY");
+                statement.execute("ALTER TABLE tareas ALTER COLUMN id SET DEFAULT NEXT VALUE FOR tareas_seq");
+            } else {
+                statement.execute("ALTER TABLE tareas MODIFY id BIGINT NOT NULL DEFAULT (NEXT VALUE FOR tareas_seq)");
+            }
+        }
+    }
+}
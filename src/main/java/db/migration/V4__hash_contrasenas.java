@@ -0,0 +1,43 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+// Las contraseñas se guardaban en texto plano: se sustituyen por su hash BCrypt con el prefijo de
+// DelegatingPasswordEncoder ("{bcrypt}"). El coste queda fijo aquí; si se sube seguridad.hash.coste,
+// cada contraseña se rehashea en el siguiente login
+public class V4__hash_contrasenas extends BaseJavaMigration {
+
+    private static final int COSTE = 10;
+    private static final int TAMANO_LOTE = 100;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(COSTE);
+
+        try (Statement consulta = connection.createStatement();
+             ResultSet rs = consulta.executeQuery("SELECT id, password FROM usuarios WHERE password NOT LIKE '{%}%'");
+             PreparedStatement actualizacion = connection.prepareStatement("UPDATE usuarios SET password = ? WHERE id = ?")) {
+            int pendientes = 0;
+            while (rs.next()) {
+                actualizacion.setString(1, "{bcrypt}" + encoder.encode(rs.getString("password")));
+                actualizacion.setLong(2, rs.getLong("id"));
+                actualizacion.addBatch();
+                if (++pendientes == TAMANO_LOTE) {
+                    actualizacion.executeBatch();
+                    pendientes = 0;
+                }
+            }
+            if (pendientes > 0) {
+                actualizacion.executeBatch();
+            }
+        }
+    }
+}
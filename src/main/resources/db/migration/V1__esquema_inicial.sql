@@ -0,0 +1,36 @@
+-- Esquema inicial: equivalente al que generaba spring.jpa.hibernate.ddl-auto=update en MariaDB.
+-- Las bases de datos existentes se marcan como baseline en esta versión (ver application.properties).
+
+CREATE TABLE usuarios (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255),
+    email VARCHAR(255),
+    password VARCHAR(255),
+    enabled BIT NOT NULL,
+    fecha_creacion DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_username UNIQUE (username),
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+);
+
+CREATE TABLE categorias (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nombre VARCHAR(255),
+    color VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE tareas (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    titulo VARCHAR(255),
+    descripcion VARCHAR(255),
+    completada BIT NOT NULL,
+    fecha_creacion DATETIME(6),
+    fecha_vencimiento DATE,
+    prioridad ENUM('BAJA', 'MEDIA', 'ALTA'),
+    usuario_id BIGINT,
+    categoria_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_tareas_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id),
+    CONSTRAINT fk_tareas_categoria FOREIGN KEY (categoria_id) REFERENCES categorias (id)
+);
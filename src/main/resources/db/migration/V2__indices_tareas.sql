@@ -0,0 +1,17 @@
+-- Índices compuestos para cada forma de consulta de TareaRepository.
+-- Todas filtran por usuario_id, así que es siempre la primera columna.
+
+-- Paginación por id (offset y keyset) y búsqueda por título (el LIKE '%x%' se evalúa sobre las filas del usuario)
+CREATE INDEX idx_tareas_usuario_id ON tareas (usuario_id, id);
+
+-- Paginación por keyset ordenada por fecha de creación
+CREATE INDEX idx_tareas_usuario_fecha_creacion ON tareas (usuario_id, fecha_creacion, id);
+
+-- Pendientes / completadas y próximas a vencer (completada = false ORDER BY fecha_vencimiento)
+CREATE INDEX idx_tareas_usuario_completada_vencimiento ON tareas (usuario_id, completada, fecha_vencimiento);
+
+-- Filtro por prioridad
+CREATE INDEX idx_tareas_usuario_prioridad ON tareas (usuario_id, prioridad);
+
+-- Filtro por categoría
+CREATE INDEX idx_tareas_usuario_categoria ON tareas (usuario_id, categoria_id);
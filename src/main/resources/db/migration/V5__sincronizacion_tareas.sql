@@ -0,0 +1,17 @@
+-- Sincronización incremental (GET /api/tareas/cambios).
+-- "cambio" es el instante del último cambio de la tarea en microsegundos (ver RelojCambios); las tareas
+-- existentes toman su id, que es menor que cualquier instante y las incluye en la primera sincronización
+ALTER TABLE tareas ADD COLUMN cambio BIGINT NOT NULL DEFAULT 0;
+UPDATE tareas SET cambio = id;
+CREATE INDEX idx_tareas_usuario_cambio ON tareas (usuario_id, cambio);
+
+-- Lápidas: una fila por tarea eliminada para que los clientes sepan qué borrar.
+-- Se eliminan con el usuario
+CREATE TABLE tareas_eliminadas (
+    tarea_id BIGINT NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    cambio BIGINT NOT NULL,
+    PRIMARY KEY (tarea_id),
+    CONSTRAINT fk_tareas_eliminadas_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id) ON DELETE CASCADE
+);
+CREATE INDEX idx_tareas_eliminadas_usuario_cambio ON tareas_eliminadas (usuario_id, cambio);
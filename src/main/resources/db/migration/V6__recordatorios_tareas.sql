@@ -0,0 +1,7 @@
+-- Recordatorios de vencimiento (ver RecordatoriosTareas).
+-- "recordatorio_enviado" guarda la fecha de vencimiento para la que ya se avisó: tras un reinicio solo se
+-- recuperan los recordatorios pendientes, y si la fecha cambia la tarea vuelve a tener recordatorio
+ALTER TABLE tareas ADD COLUMN recordatorio_enviado DATE;
+
+-- Carga al arrancar: tareas abiertas que vencen a partir de hoy, en rango sobre el índice
+CREATE INDEX idx_tareas_completada_vencimiento ON tareas (completada, fecha_vencimiento);
@@ -0,0 +1,4 @@
+-- Bloqueo optimista de tareas (@Version en Tarea).
+-- Las ediciones completas fallan con 409 si la tarea cambió desde que se leyó; las transiciones
+-- (completar, pendiente, prioridad) son un UPDATE que incrementa la versión en la misma sentencia
+ALTER TABLE tareas ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
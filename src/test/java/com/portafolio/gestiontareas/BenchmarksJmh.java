@@ -0,0 +1,24 @@
+package com.portafolio.gestiontareas;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+// Ejecuta una clase de benchmarks JMH desde los *BenchmarkTest (perfil -Pbenchmark) y deja el resultado en JSON
+// en target/jmh/<Clase>.json (o en -Djmh.resultados=<dir>) para comparar ejecuciones, p. ej. con jmh.morethan.io
+public final class BenchmarksJmh {
+
+    private BenchmarksJmh() {}
+
+    public static void ejecutar(Class<?> benchmark) throws Exception {
+        File directorio = new File(System.getProperty("jmh.resultados", "target/jmh"));
+        directorio.mkdirs();
+        new Runner(new OptionsBuilder()
+                .include("^" + benchmark.getName().replace(".", "\\.") + "\\.")
+                .resultFormat(ResultFormatType.JSON)
+                .result(new File(directorio, benchmark.getSimpleName() + ".json").getPath())
+                .build()).run();
+    }
+}
@@ -0,0 +1,267 @@
+package com.portafolio.gestiontareas.carga;
+
+import com.portafolio.gestiontareas.security.JwtUtil;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Carga mixta reproducible en local: arranca la aplicación contra una H2 en memoria propia, siembra datos
+// sintéticos (GeneradorDatosCarga) y lanza "clientes" que repiten operaciones de /api/tareas según una mezcla
+// ponderada. Cada operación registra su latencia en un HdrHistogram y al final se imprime p50/p99/p99.9 por
+// endpoint; el informe y la distribución completa (.hgrm) quedan en target/carga/.
+//
+//   mvn test -Pbenchmark -Dtest=CargaMixtaBenchmarkTest [-o] [-Dcarga.clientes=500 -Dcarga.mezcla=listar:80,crear:20 ...]
+//
+// Los clientes son hilos virtuales con Java 21 o superior y un pool de hilos de plataforma con Java 17
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:carga;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class CargaMixtaBenchmarkTest {
+
+    private static final int USUARIOS = Integer.getInteger("carga.usuarios", 500);
+    private static final int TAREAS_POR_USUARIO = Integer.getInteger("carga.tareas", 40);
+    private static final int CATEGORIAS = Integer.getInteger("carga.categorias", 12);
+    private static final int CLIENTES = Integer.getInteger("carga.clientes", 200);
+    private static final Duration CALENTAMIENTO = Duration.ofSeconds(Long.getLong("carga.calentamiento", 5));
+    private static final Duration DURACION = Duration.ofSeconds(Long.getLong("carga.duracion", 20));
+    private static final String MEZCLA = System.getProperty("carga.mezcla",
+            "listar:35,buscar:15,pendientes:10,estadisticas:10,detalle:10,crear:10,actualizar:5,completar:5");
+    private static final long SEMILLA = Long.getLong("carga.semilla", 42);
+
+    // Latencias en microsegundos, hasta 1 minuto con 3 cifras significativas
+    private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(1);
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private HttpClient cliente;
+    private List<Long> usuarios;
+    private List<String> tokens;
+    private List<long[]> tareas;
+
+    enum Operacion {
+        LISTAR, BUSCAR, PENDIENTES, ESTADISTICAS, DETALLE, CREAR, ACTUALIZAR, COMPLETAR
+    }
+
+    @Test
+    void cargaMixtaConLatenciasPorEndpoint() throws Exception {
+        long inicioSiembra = System.nanoTime();
+        GeneradorDatosCarga.DatosCarga datos = new GeneradorDatosCarga(jdbcTemplate, SEMILLA)
+                .sembrar(USUARIOS, TAREAS_POR_USUARIO, CATEGORIAS);
+        long totalTareas = datos.tareasPorUsuario().values().stream().mapToLong(List::size).sum();
+        System.out.printf("%nSembrados %d usuarios, %d tareas y %d categorías en %d ms%n", USUARIOS, totalTareas,
+                CATEGORIAS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioSiembra));
+
+        usuarios = new ArrayList<>();
+        tokens = new ArrayList<>();
+        tareas = new ArrayList<>();
+        datos.usuarios().forEach(usuario -> {
+            usuarios.add(usuario.getId());
+            tokens.add(jwtUtil.generateToken(usuario));
+            tareas.add(datos.tareasPorUsuario().getOrDefault(usuario.getId(), List.of()).stream()
+                    .mapToLong(Long::longValue).toArray());
+        });
+        Map<Operacion, Integer> mezcla = mezcla(MEZCLA);
+        cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+
+        ExecutorService hilos = hilosCliente();
+        try {
+            ejecutar(hilos, mezcla, CALENTAMIENTO);
+            Resultado resultado = ejecutar(hilos, mezcla, DURACION);
+            informar(resultado, mezcla, hilos);
+            assertTrue(resultado.total() > 0, "ninguna petición completada");
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    // Cada cliente lanza su siguiente petición en cuanto recibe la respuesta anterior, hasta que acaba el tiempo
+    private Resultado ejecutar(ExecutorService hilos, Map<Operacion, Integer> mezcla, Duration duracion)
+            throws InterruptedException {
+        Map<Operacion, Histogram> histogramas = new EnumMap<>(Operacion.class);
+        for (Operacion operacion : Operacion.values()) {
+            histogramas.put(operacion, new ConcurrentHistogram(LATENCIA_MAXIMA_US, 3));
+        }
+        AtomicLongArray errores = new AtomicLongArray(Operacion.values().length);
+        Operacion[] sorteo = sorteo(mezcla);
+        long fin = System.nanoTime() + duracion.toNanos();
+
+        List<Future<?>> clientes = new ArrayList<>(CLIENTES);
+        for (int i = 0; i < CLIENTES; i++) {
+            clientes.add(hilos.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < fin && !Thread.currentThread().isInterrupted()) {
+                    Operacion operacion = sorteo[random.nextInt(sorteo.length)];
+                    int usuario = random.nextInt(tokens.size());
+                    HttpRequest peticion = peticion(operacion, usuario, random);
+                    long inicio = System.nanoTime();
+                    try {
+                        int estado = cliente.send(peticion, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (estado / 100 == 2) {
+                            histogramas.get(operacion).recordValue(
+                                    Math.min((System.nanoTime() - inicio) / 1000, LATENCIA_MAXIMA_US));
+                        } else {
+                            errores.incrementAndGet(operacion.ordinal());
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (Exception e) {
+                        errores.incrementAndGet(operacion.ordinal());
+                    }
+                }
+            }));
+        }
+        for (Future<?> futuro : clientes) {
+            try {
+                futuro.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return new Resultado(histogramas, errores);
+    }
+
+    private HttpRequest peticion(Operacion operacion, int usuario, ThreadLocalRandom random) {
+        long[] ids = tareas.get(usuario);
+        long tareaId = ids.length == 0 ? 0 : ids[random.nextInt(ids.length)];
+        String prioridad = random.nextBoolean() ? "ALTA" : "MEDIA";
+        HttpRequest.Builder peticion = switch (operacion) {
+            case LISTAR -> get("/api/tareas?size=20&page=" + random.nextInt(3));
+            case BUSCAR -> get("/api/tareas/buscar?estado=PENDIENTE&prioridad=" + prioridad
+                    + "&venceDesde=" + LocalDate.now().minusDays(30) + "&venceHasta=" + LocalDate.now().plusDays(30));
+            case PENDIENTES -> get("/api/tareas/usuario/" + usuarios.get(usuario) + "/pendientes?resumen=true");
+            case ESTADISTICAS -> get("/api/tareas/estadisticas");
+            case DETALLE -> get("/api/tareas/" + tareaId);
+            case CREAR -> json("/api/tareas").POST(HttpRequest.BodyPublishers.ofString(
+                    "{\"titulo\": \"Carga\", \"prioridad\": \"" + prioridad + "\", \"fechaVencimiento\": \""
+                            + LocalDate.now().plusDays(random.nextInt(30)) + "\"}"));
+            case ACTUALIZAR -> json("/api/tareas/" + tareaId).PUT(HttpRequest.BodyPublishers.ofString(
+                    "{\"titulo\": \"Actualizada\", \"descripcion\": \"Carga\", \"prioridad\": \"" + prioridad + "\"}"));
+            case COMPLETAR -> json("/api/tareas/" + tareaId + "/completar").method("PATCH",
+                    HttpRequest.BodyPublishers.noBody());
+        };
+        return peticion.header("Authorization", "Bearer " + tokens.get(usuario)).build();
+    }
+
+    private HttpRequest.Builder get(String ruta) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + ruta))
+                .timeout(Duration.ofSeconds(60)).GET();
+    }
+
+    private HttpRequest.Builder json(String ruta) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + ruta))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json");
+    }
+
+    private void informar(Resultado resultado, Map<Operacion, Integer> mezcla, ExecutorService hilos)
+            throws Exception {
+        File directorio = new File("target/carga");
+        directorio.mkdirs();
+        String marca = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        try (PrintStream archivo = new PrintStream(new File(directorio, "carga-" + marca + ".txt"))) {
+            for (PrintStream salida : List.of(System.out, archivo)) {
+                salida.printf("%nusuarios=%d tareas/usuario=%d categorías=%d clientes=%d (%s) duración=%ds mezcla=%s%n",
+                        USUARIOS, TAREAS_POR_USUARIO, CATEGORIAS, CLIENTES, tipoHilos(hilos), DURACION.toSeconds(),
+                        mezcla);
+                salida.printf("%-13s %10s %9s %8s %10s %10s %11s %10s%n", "operación", "peticiones", "pet/s",
+                        "errores", "p50 (ms)", "p99 (ms)", "p99.9 (ms)", "máx (ms)");
+                for (Operacion operacion : mezcla.keySet()) {
+                    Histogram h = resultado.histogramas().get(operacion);
+                    salida.printf("%-13s %10d %9.0f %8d %10.2f %10.2f %11.2f %10.2f%n", operacion.name().toLowerCase(),
+                            h.getTotalCount(), h.getTotalCount() / (double) DURACION.toSeconds(),
+                            resultado.errores().get(operacion.ordinal()), ms(h.getValueAtPercentile(50)),
+                            ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+                }
+                salida.printf("%-13s %10d %9.0f%n", "total", resultado.total(),
+                        resultado.total() / (double) DURACION.toSeconds());
+            }
+        }
+        // Distribución completa en milisegundos, para comparar ejecuciones con el plotter de HdrHistogram
+        for (Operacion operacion : mezcla.keySet()) {
+            try (PrintStream hgrm = new PrintStream(new File(directorio,
+                    "carga-" + marca + "-" + operacion.name().toLowerCase() + ".hgrm"))) {
+                resultado.histogramas().get(operacion).outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+    }
+
+    // "listar:35,crear:10" -> {LISTAR=35, CREAR=10}; las operaciones que no aparecen no se ejecutan
+    private static Map<Operacion, Integer> mezcla(String definicion) {
+        Map<Operacion, Integer> mezcla = new EnumMap<>(Operacion.class);
+        for (String parte : definicion.split(",")) {
+            String[] claveValor = parte.trim().split(":");
+            mezcla.put(Operacion.valueOf(claveValor[0].trim().toUpperCase()), Integer.parseInt(claveValor[1].trim()));
+        }
+        return mezcla;
+    }
+
+    // Tabla con cada operación repetida según su peso: elegir es un índice aleatorio
+    private static Operacion[] sorteo(Map<Operacion, Integer> mezcla) {
+        List<Operacion> sorteo = new ArrayList<>();
+        mezcla.forEach((operacion, peso) -> {
+            for (int i = 0; i < peso; i++) {
+                sorteo.add(operacion);
+            }
+        });
+        return sorteo.toArray(new Operacion[0]);
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() existe desde Java 21; el build compila para 17
+    private static ExecutorService hilosCliente() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(CLIENTES);
+        }
+    }
+
+    private static String tipoHilos(ExecutorService hilos) {
+        return hilos.getClass().getSimpleName().contains("ThreadPerTask") ? "hilos virtuales" : "hilos de plataforma";
+    }
+
+    private static double ms(long microsegundos) {
+        return microsegundos / 1000.0;
+    }
+
+    private record Resultado(Map<Operacion, Histogram> histogramas, AtomicLongArray errores) {
+        long total() {
+            return histogramas.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        }
+    }
+}
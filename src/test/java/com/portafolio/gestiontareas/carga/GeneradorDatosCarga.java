@@ -0,0 +1,139 @@
+package com.portafolio.gestiontareas.carga;
+
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Siembra N usuarios x M tareas (de media) x K categorías con INSERT en lotes JDBC. Las distribuciones imitan
+// datos reales: pocos usuarios concentran muchas tareas y pocas categorías la mayoría de usos (Zipf), un tercio
+// de las tareas completadas, 60% con vencimiento, la mitad de prioridad media. Con la misma semilla los datos
+// son los mismos en cada ejecución
+class GeneradorDatosCarga {
+
+    private static final int TAMANO_LOTE = 1000;
+
+    private static final String[] VERBOS = {"Revisar", "Preparar", "Enviar", "Llamar a", "Actualizar", "Comprar",
+            "Organizar", "Terminar", "Planificar", "Pagar", "Documentar", "Corregir"};
+    private static final String[] OBJETOS = {"el informe", "la factura", "el proveedor", "la reunión", "el presupuesto",
+            "las entradas", "el despliegue", "la presentación", "el contrato", "la web", "el inventario", "el viaje"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+
+    GeneradorDatosCarga(JdbcTemplate jdbcTemplate, long semilla) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(semilla);
+    }
+
+    // Devuelve los usuarios creados (con id) y, por usuario, los ids de sus tareas
+    DatosCarga sembrar(int usuarios, int tareasPorUsuario, int categorias) {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Object[]> filasUsuarios = new ArrayList<>(usuarios);
+        for (int i = 0; i < usuarios; i++) {
+            filasUsuarios.add(new Object[]{"carga" + i, "carga" + i + "@example.com", "sin-login", true,
+                    Timestamp.valueOf(ahora.minusDays(random.nextInt(730)))});
+        }
+        insertar("INSERT INTO usuarios (username, email, password, enabled, fecha_creacion) VALUES (?, ?, ?, ?, ?)",
+                filasUsuarios);
+
+        List<Object[]> filasCategorias = new ArrayList<>(categorias);
+        for (int i = 0; i < categorias; i++) {
+            filasCategorias.add(new Object[]{"Carga " + i, String.format("#%06x", random.nextInt(0x1000000))});
+        }
+        insertar("INSERT INTO categorias (nombre, color) VALUES (?, ?)", filasCategorias);
+
+        List<Usuario> creados = jdbcTemplate.query("SELECT id, username FROM usuarios WHERE username LIKE 'carga%' ORDER BY id",
+                (rs, fila) -> {
+                    Usuario usuario = new Usuario(rs.getString(2), rs.getString(2) + "@example.com", "sin-login");
+                    usuario.setId(rs.getLong(1));
+                    return usuario;
+                });
+        List<Long> idsCategorias = jdbcTemplate.queryForList(
+                "SELECT id FROM categorias WHERE nombre LIKE 'Carga %' ORDER BY id", Long.class);
+
+        double[] pesosUsuarios = pesosZipf(usuarios, 0.8);
+        double[] pesosCategorias = pesosZipf(categorias, 1.0);
+        long totalTareas = (long) usuarios * tareasPorUsuario;
+        List<Object[]> filas = new ArrayList<>(TAMANO_LOTE);
+        for (int u = 0; u < usuarios; u++) {
+            long tareas = Math.max(1, Math.round(totalTareas * pesosUsuarios[u]));
+            for (long t = 0; t < tareas; t++) {
+                filas.add(tarea(creados.get(u).getId(), idsCategorias, pesosCategorias, ahora));
+                if (filas.size() == TAMANO_LOTE) {
+                    insertarTareas(filas);
+                    filas.clear();
+                }
+            }
+        }
+        insertarTareas(filas);
+        jdbcTemplate.execute("ANALYZE");
+
+        Map<Long, List<Long>> tareasPorUsuarioId = new HashMap<>();
+        jdbcTemplate.query("SELECT usuario_id, id FROM tareas", rs -> {
+            tareasPorUsuarioId.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+        });
+        return new DatosCarga(creados, tareasPorUsuarioId);
+    }
+
+    private Object[] tarea(Long usuarioId, List<Long> categorias, double[] pesosCategorias, LocalDateTime ahora) {
+        LocalDateTime creacion = ahora.minusMinutes(random.nextInt(365 * 24 * 60));
+        boolean completada = random.nextInt(3) == 0;
+        Date vencimiento = random.nextInt(10) < 6
+                ? Date.valueOf(creacion.toLocalDate().plusDays(random.nextInt(45))) : null;
+        double p = random.nextDouble();
+        Tarea.Prioridad prioridad = p < 0.5 ? Tarea.Prioridad.MEDIA : p < 0.8 ? Tarea.Prioridad.BAJA : Tarea.Prioridad.ALTA;
+        String titulo = VERBOS[random.nextInt(VERBOS.length)] + " " + OBJETOS[random.nextInt(OBJETOS.length)];
+        String descripcion = random.nextInt(10) < 7 ? "x".repeat(20 + random.nextInt(180)) : null;
+        Long categoria = categorias.isEmpty() || random.nextInt(4) == 0
+                ? null : categorias.get(elegir(pesosCategorias));
+        return new Object[]{titulo, descripcion, completada, Timestamp.valueOf(creacion), vencimiento,
+                prioridad.name(), usuarioId, categoria};
+    }
+
+    private void insertarTareas(List<Object[]> filas) {
+        insertar("INSERT INTO tareas (titulo, descripcion, completada, fecha_creacion, fecha_vencimiento, prioridad, " +
+                "usuario_id, categoria_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", filas);
+    }
+
+    private void insertar(String sql, List<Object[]> filas) {
+        for (int desde = 0; desde < filas.size(); desde += TAMANO_LOTE) {
+            jdbcTemplate.batchUpdate(sql, filas.subList(desde, Math.min(desde + TAMANO_LOTE, filas.size())));
+        }
+    }
+
+    // Pesos normalizados 1 / rango^exponente
+    private static double[] pesosZipf(int n, double exponente) {
+        double[] pesos = new double[n];
+        double suma = 0;
+        for (int i = 0; i < n; i++) {
+            pesos[i] = 1 / Math.pow(i + 1, exponente);
+            suma += pesos[i];
+        }
+        for (int i = 0; i < n; i++) {
+            pesos[i] /= suma;
+        }
+        return pesos;
+    }
+
+    private int elegir(double[] pesos) {
+        double r = random.nextDouble();
+        for (int i = 0; i < pesos.length; i++) {
+            r -= pesos[i];
+            if (r <= 0) {
+                return i;
+            }
+        }
+        return pesos.length - 1;
+    }
+
+    record DatosCarga(List<Usuario> usuarios, Map<Long, List<Long>> tareasPorUsuario) {}
+}
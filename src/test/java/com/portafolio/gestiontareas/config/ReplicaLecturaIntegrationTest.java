@@ -0,0 +1,171 @@
+package com.portafolio.gestiontareas.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestiontareas.entity.Categoria;
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.CategoriaRepository;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.portafolio.gestiontareas.security.JwtUtil;
+import com.portafolio.gestiontareas.service.CategoriaService;
+import com.portafolio.gestiontareas.service.TareaService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Dos H2 en memoria hacen de primaria y réplica. No hay replicación: cada test escribe en la réplica lo que
+// quiere que se lea de ella, así se distingue de qué base de datos sale cada respuesta
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaLecturaIntegrationTest.URL_PRIMARIA,
+        "datasource.replica.jdbc-url=" + ReplicaLecturaIntegrationTest.URL_REPLICA,
+        "datasource.replica.username=sa",
+        "datasource.replica.ventana-lectura-propia=" + ReplicaLecturaIntegrationTest.VENTANA_MS + "ms"
+})
+@AutoConfigureMockMvc
+class ReplicaLecturaIntegrationTest {
+
+    static final String URL_PRIMARIA = "jdbc:h2:mem:primaria;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String URL_REPLICA = "jdbc:h2:mem:replica;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final long VENTANA_MS = 300;
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private TareaService tareaService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    private String token;
+    private Long usuarioId;
+
+    // En producción el esquema llega a la réplica por replicación
+    @BeforeAll
+    static void crearReplica() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL_REPLICA, "sa", "");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        replica = new JdbcTemplate(dataSource);
+    }
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        // Que se cierren las ventanas abiertas por el test anterior (la de categorías es global)
+        Thread.sleep(VENTANA_MS + 100);
+        Usuario usuario = usuarioRepository.save(new Usuario("replica", "replica@example.com", "secreto"));
+        usuarioId = usuario.getId();
+        Tarea tarea = new Tarea();
+        tarea.setTitulo("En primaria");
+        tarea.setUsuario(usuario);
+        tareaRepository.save(tarea);
+
+        replica.update("INSERT INTO usuarios (id, username, email, password, enabled, fecha_creacion) " +
+                "VALUES (?, 'replica', 'replica@example.com', 'secreto', TRUE, CURRENT_TIMESTAMP)", usuario.getId());
+        replica.update("INSERT INTO tareas (titulo, completada, fecha_creacion, prioridad, usuario_id) " +
+                "VALUES ('Solo en réplica', FALSE, CURRENT_TIMESTAMP, 'MEDIA', ?)", usuario.getId());
+        token = jwtUtil.generateToken(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tareaRepository.deleteAllInBatch();
+        categoriaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+        replica.update("DELETE FROM tareas");
+        replica.update("DELETE FROM usuarios");
+    }
+
+    @Test
+    void lasLecturasVanALaReplicaSalvoTrasEscribir() throws Exception {
+        assertEquals(List.of("Solo en réplica"), titulos(get("/api/tareas/buscar")));
+
+        mockMvc.perform(post("/api/tareas")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"titulo\":\"Nueva\"}"))
+                .andExpect(status().isOk());
+
+        // Dentro de la ventana se lee lo recién escrito
+        assertEquals(List.of("En primaria", "Nueva"), titulos(get("/api/tareas/buscar")));
+
+        // Pasada la ventana se vuelve a la réplica (otro tamaño de página: la respuesta anterior está en la caché de ETag)
+        Thread.sleep(VENTANA_MS + 200);
+        assertEquals(List.of("Solo en réplica"), titulos(get("/api/tareas/buscar").param("size", "10")));
+    }
+
+    // La importación y la purga de cuentas escriben desde sus propios hilos, sin usuario autenticado
+    @Test
+    void lasEscriturasDesdeOtrosHilosTambienAbrenLaVentana() throws Exception {
+        assertEquals(List.of("Solo en réplica"), titulos(get("/api/tareas/buscar")));
+
+        Thread escritor = new Thread(() -> {
+            Tarea tarea = new Tarea();
+            tarea.setTitulo("Importada");
+            tareaService.crearTarea(tarea, usuarioId);
+        }, "importador-tareas");
+        escritor.start();
+        escritor.join();
+
+        assertEquals(List.of("En primaria", "Importada"), titulos(get("/api/tareas/buscar")));
+    }
+
+    // Las tareas llevan el nombre de su categoría: un cambio de categorías de otro usuario afecta a todos
+    @Test
+    void unCambioDeCategoriasAbreLaVentanaParaTodos() throws Exception {
+        Categoria categoria = categoriaService.crearCategoria(new Categoria("Casa", "#00ff00"));
+        Thread.sleep(VENTANA_MS + 200);
+        assertEquals(List.of("Solo en réplica"), titulos(get("/api/tareas/buscar")));
+
+        categoria.setNombre("Hogar");
+        categoriaService.actualizarCategoria(categoria.getId(), categoria);
+
+        assertEquals(List.of("En primaria"), titulos(get("/api/tareas/buscar")));
+    }
+
+    private List<String> titulos(MockHttpServletRequestBuilder peticion) throws Exception {
+        String cuerpo = mockMvc.perform(peticion.header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode pagina = objectMapper.readTree(cuerpo);
+        List<String> titulos = new ArrayList<>();
+        pagina.get("content").forEach(tarea -> titulos.add(tarea.get("titulo").asText()));
+        return titulos;
+    }
+}
@@ -0,0 +1,116 @@
+package com.portafolio.gestiontareas.controller;
+
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.monitoring.GrabacionesJfr;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.portafolio.gestiontareas.security.JwtUtil;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "admin.usuarios=jfradmin")
+@AutoConfigureMockMvc
+class AdminJfrIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private GrabacionesJfr grabacionesJfr;
+
+    private Usuario admin;
+    private String tokenAdmin;
+    private String tokenUsuario;
+
+    @BeforeEach
+    void setUp() {
+        admin = usuarioRepository.save(new Usuario("jfradmin", "jfradmin@example.com", "secreto"));
+        Usuario usuario = usuarioRepository.save(new Usuario("jfrusuario", "jfrusuario@example.com", "secreto"));
+        for (int i = 0; i < 3; i++) {
+            Tarea tarea = new Tarea();
+            tarea.setTitulo("Perfilar " + i);
+            tarea.setUsuario(admin);
+            tareaRepository.save(tarea);
+        }
+        tokenAdmin = jwtUtil.generateToken(admin);
+        tokenUsuario = jwtUtil.generateToken(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        grabacionesJfr.cerrar();
+        tareaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void grabaEventosPropiosYDevuelveElFicheroJfr() throws Exception {
+        ejecutar(post("/api/admin/jfr").param("duracion", "60s"), tokenAdmin).andExpect(status().isOk());
+        ejecutar(post("/api/admin/jfr").param("duracion", "60s"), tokenAdmin).andExpect(status().isConflict());
+
+        ejecutar(get("/api/tareas/buscar"), tokenAdmin).andExpect(status().isOk());
+
+        MvcResult descarga = ejecutar(get("/api/admin/jfr"), tokenAdmin).andReturn();
+        byte[] jfr = mockMvc.perform(asyncDispatch(descarga)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        Path fichero = Files.createTempFile("prueba-", ".jfr");
+        try {
+            Files.write(fichero, jfr);
+            List<RecordedEvent> eventos = RecordingFile.readAllEvents(fichero);
+
+            assertTrue(eventos.stream().anyMatch(e -> e.getEventType().getName().equals("gestiontareas.Autenticacion")
+                    && e.getString("resultado").equals("valido") && e.getLong("usuarioId") == admin.getId()));
+            assertTrue(eventos.stream().anyMatch(e -> e.getEventType().getName().equals("gestiontareas.Servicio")
+                    && e.getString("metodo").equals("TareaService.buscarTareas")
+                    && e.getLong("usuarioId") == admin.getId() && e.getLong("filas") == 3));
+            assertTrue(eventos.stream().anyMatch(e -> e.getEventType().getName().equals("gestiontareas.Repositorio")
+                    && e.getString("metodo").equals("TareaRepository.buscarDTO") && e.getLong("filas") == 3));
+        } finally {
+            Files.deleteIfExists(fichero);
+        }
+
+        ejecutar(delete("/api/admin/jfr"), tokenAdmin).andExpect(status().isOk());
+    }
+
+    @Test
+    void soloLosAdministradoresPuedenGrabar() throws Exception {
+        ejecutar(post("/api/admin/jfr"), tokenUsuario).andExpect(status().isForbidden());
+        ejecutar(get("/api/admin/jfr"), tokenUsuario).andExpect(status().isForbidden());
+        ejecutar(post("/api/admin/jfr").param("duracion", "1h"), tokenAdmin).andExpect(status().isBadRequest());
+    }
+
+    private ResultActions ejecutar(MockHttpServletRequestBuilder peticion, String token) throws Exception {
+        return mockMvc.perform(peticion.header("Authorization", "Bearer " + token));
+    }
+}
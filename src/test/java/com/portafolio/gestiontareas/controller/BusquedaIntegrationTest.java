@@ -0,0 +1,170 @@
+package com.portafolio.gestiontareas.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestiontareas.entity.Categoria;
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.CategoriaRepository;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.portafolio.gestiontareas.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BusquedaIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    private Usuario usuario;
+    private Categoria trabajo;
+    private String token;
+    private final LocalDate hoy = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        usuario = usuarioRepository.save(new Usuario("busqueda", "busqueda@example.com", "secreto"));
+        trabajo = categoriaRepository.save(new Categoria("Trabajo", "#ff0000"));
+        crear("Informe anual", false, Tarea.Prioridad.ALTA, trabajo, hoy.plusDays(5));
+        crear("Informe 100%", false, Tarea.Prioridad.ALTA, trabajo, hoy.plusDays(1));
+        crear("Informe mensual", true, Tarea.Prioridad.ALTA, trabajo, hoy.plusDays(2));
+        crear("Compra", false, Tarea.Prioridad.BAJA, null, hoy.plusDays(3));
+        crear("Llamar", false, Tarea.Prioridad.ALTA, trabajo, null);
+        token = jwtUtil.generateToken(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tareaRepository.deleteAllInBatch();
+        categoriaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void combinaFiltrosYOrdenaPorVencimiento() throws Exception {
+        JsonNode pagina = buscar(get("/api/tareas/buscar")
+                .param("estado", "PENDIENTE")
+                .param("prioridad", "ALTA")
+                .param("categoriaId", trabajo.getId().toString())
+                .param("venceDesde", hoy.toString())
+                .param("venceHasta", hoy.plusDays(7).toString())
+                .param("texto", "informe"));
+
+        assertEquals(List.of("Informe 100%", "Informe anual"), titulos(pagina));
+        assertEquals(2, pagina.get("totalElements").asInt());
+    }
+
+    @Test
+    void sinFiltrosPaginaPorIdConTotal() throws Exception {
+        JsonNode primera = buscar(get("/api/tareas/buscar").param("size", "2"));
+        JsonNode tercera = buscar(get("/api/tareas/buscar").param("size", "2").param("page", "2"));
+
+        assertEquals(List.of("Informe anual", "Informe 100%"), titulos(primera));
+        assertEquals(5, primera.get("totalElements").asInt());
+        assertEquals(List.of("Llamar"), titulos(tercera));
+    }
+
+    @Test
+    void elTextoSeBuscaLiteralmente() throws Exception {
+        assertEquals(List.of("Informe 100%"), titulos(buscar(get("/api/tareas/buscar").param("texto", "100%"))));
+        assertEquals(List.of(), titulos(buscar(get("/api/tareas/buscar").param("texto", "_"))));
+    }
+
+    @Test
+    void losListadosAntiguosUsanLaBusqueda() throws Exception {
+        JsonNode proximas = objectMapper.readTree(ejecutar(get("/api/tareas/usuario/{id}/proximas-vencer", usuario.getId()))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+
+        List<String> titulos = new ArrayList<>();
+        proximas.forEach(tarea -> titulos.add(tarea.get("titulo").asText()));
+        assertEquals(List.of("Informe 100%", "Compra", "Informe anual"), titulos);
+    }
+
+    @Test
+    void losListadosAntiguosNoDevuelvenTareasDeOtroUsuario() throws Exception {
+        Usuario otro = usuarioRepository.save(new Usuario("curioso", "curioso@example.com", "secreto"));
+        String tokenOtro = jwtUtil.generateToken(otro);
+        // El propietario consulta primero: su respuesta queda en la caché de ETag
+        ejecutar(get("/api/tareas/usuario/{id}", usuario.getId())).andExpect(status().isOk());
+
+        for (String ruta : List.of("", "/pendientes", "/completadas", "/prioridad/ALTA", "/proximas-vencer")) {
+            mockMvc.perform(get("/api/tareas/usuario/{id}" + ruta, usuario.getId())
+                            .header("Authorization", "Bearer " + tokenOtro))
+                    .andExpect(status().isForbidden());
+        }
+        mockMvc.perform(get("/api/tareas/usuario/{id}/buscar", usuario.getId()).param("titulo", "Informe")
+                        .header("Authorization", "Bearer " + tokenOtro))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/tareas/usuario/{id}", otro.getId())
+                        .header("Authorization", "Bearer " + tokenOtro))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void paginaORangoInvalidosDevuelven400() throws Exception {
+        ejecutar(get("/api/tareas/buscar").param("size", "101")).andExpect(status().isBadRequest());
+        ejecutar(get("/api/tareas/buscar").param("page", "-1")).andExpect(status().isBadRequest());
+        ejecutar(get("/api/tareas/buscar").param("venceDesde", hoy.plusDays(1).toString())
+                .param("venceHasta", hoy.toString())).andExpect(status().isBadRequest());
+    }
+
+    private JsonNode buscar(MockHttpServletRequestBuilder peticion) throws Exception {
+        String cuerpo = ejecutar(peticion).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(cuerpo);
+    }
+
+    private List<String> titulos(JsonNode pagina) {
+        List<String> titulos = new ArrayList<>();
+        pagina.get("content").forEach(tarea -> titulos.add(tarea.get("titulo").asText()));
+        return titulos;
+    }
+
+    private ResultActions ejecutar(MockHttpServletRequestBuilder peticion) throws Exception {
+        return mockMvc.perform(peticion.header("Authorization", "Bearer " + token));
+    }
+
+    private void crear(String titulo, boolean completada, Tarea.Prioridad prioridad, Categoria categoria,
+                       LocalDate vencimiento) {
+        Tarea tarea = new Tarea();
+        tarea.setTitulo(titulo);
+        tarea.setCompletada(completada);
+        tarea.setPrioridad(prioridad);
+        tarea.setCategoria(categoria);
+        tarea.setFechaVencimiento(vencimiento);
+        tarea.setUsuario(usuario);
+        tareaRepository.save(tarea);
+    }
+}
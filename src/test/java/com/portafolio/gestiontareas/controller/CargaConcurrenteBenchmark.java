@@ -0,0 +1,198 @@
+package com.portafolio.gestiontareas.controller;
+
+import com.portafolio.gestiontareas.GestiontareasApplication;
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.portafolio.gestiontareas.security.JwtUtil;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Carga concurrente contra Tomcat real y H2 con una latencia artificial por conexión (una base de datos lenta):
+// 1.000 y 5.000 clientes que repiten GET /api/tareas durante DURACION. Mide peticiones/s y latencia p50/p99.
+// Las subclases fijan el modelo de hilos; ejecutar con: mvn test -Pbenchmark -Dtest='CargaHilos*'
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        classes = {GestiontareasApplication.class, CargaConcurrenteBenchmark.LatenciaBaseDatos.class},
+        properties = {
+                // Mismo pool en los dos modelos: solo cambia quién espera por las conexiones
+                "spring.datasource.hikari.maximum-pool-size=50",
+                "spring.datasource.hikari.minimum-idle=50",
+                "server.tomcat.max-connections=20000",
+                "server.tomcat.accept-count=2000"
+        })
+abstract class CargaConcurrenteBenchmark {
+
+    private static final int[] CLIENTES = {1000, 5000};
+    private static final Duration CALENTAMIENTO = Duration.ofSeconds(3);
+    private static final Duration DURACION = Duration.ofSeconds(10);
+    private static final long LATENCIA_BD_MS = Long.getLong("carga.latencia-ms", 20);
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        Usuario usuario = usuarioRepository.save(new Usuario("carga", "carga@example.com", "secreto"));
+        List<Tarea> tareas = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Tarea tarea = new Tarea();
+            tarea.setTitulo("Tarea " + i);
+            tarea.setUsuario(usuario);
+            tareas.add(tarea);
+        }
+        tareaRepository.saveAll(tareas);
+        token = jwtUtil.generateToken(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tareaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void latenciaYThroughputConMilesDeClientes() throws Exception {
+        String modelo = Threading.VIRTUAL.isActive(environment) ? "virtuales" : "plataforma";
+        // Pocos hilos en el cliente: las peticiones en vuelo no dependen de ellos
+        ExecutorService hilosCliente = Executors.newFixedThreadPool(4);
+        HttpClient cliente = HttpClient.newBuilder()
+                .executor(hilosCliente)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        try {
+            System.out.printf("%n%-11s %-9s %12s %10s %10s %10s %8s%n",
+                    "hilos", "clientes", "peticiones", "pet/s", "p50 (ms)", "p99 (ms)", "errores");
+            for (int clientes : CLIENTES) {
+                medir(cliente, clientes, CALENTAMIENTO);
+                Resultado resultado = medir(cliente, clientes, DURACION);
+                System.out.printf("%-11s %-9d %12d %10.0f %10.1f %10.1f %8d%n", modelo, clientes,
+                        resultado.latenciasNs.length, resultado.latenciasNs.length / (double) DURACION.toSeconds(),
+                        resultado.percentilMs(50), resultado.percentilMs(99), resultado.errores);
+                assertTrue(resultado.latenciasNs.length > 0, "ninguna petición completada con " + clientes + " clientes");
+            }
+        } finally {
+            hilosCliente.shutdownNow();
+        }
+    }
+
+    // Cada cliente lanza su siguiente petición en cuanto recibe la respuesta anterior, hasta que acaba el tiempo
+    private Resultado medir(HttpClient cliente, int clientes, Duration duracion) {
+        HttpRequest peticion = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/api/tareas?size=20"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        long fin = System.nanoTime() + duracion.toNanos();
+        AtomicLong errores = new AtomicLong();
+        List<CompletableFuture<List<Long>>> futuros = new ArrayList<>(clientes);
+        for (int i = 0; i < clientes; i++) {
+            futuros.add(repetir(cliente, peticion, fin, new ArrayList<>(), errores));
+        }
+        long[] latencias = futuros.stream()
+                .flatMap(futuro -> futuro.join().stream())
+                .mapToLong(Long::longValue)
+                .toArray();
+        Arrays.sort(latencias);
+        return new Resultado(latencias, errores.get());
+    }
+
+    private CompletableFuture<List<Long>> repetir(HttpClient cliente, HttpRequest peticion, long fin,
+                                                  List<Long> latencias, AtomicLong errores) {
+        if (System.nanoTime() >= fin) {
+            return CompletableFuture.completedFuture(latencias);
+        }
+        long inicio = System.nanoTime();
+        return cliente.sendAsync(peticion, HttpResponse.BodyHandlers.discarding())
+                .handle((respuesta, error) -> {
+                    if (error == null && respuesta.statusCode() == 200) {
+                        latencias.add(System.nanoTime() - inicio);
+                    } else {
+                        errores.incrementAndGet();
+                    }
+                    return latencias;
+                })
+                .thenCompose(l -> repetir(cliente, peticion, fin, l, errores));
+    }
+
+    private record Resultado(long[] latenciasNs, long errores) {
+        double percentilMs(int percentil) {
+            if (latenciasNs.length == 0) {
+                return Double.NaN;
+            }
+            int indice = (int) Math.ceil(percentil / 100.0 * latenciasNs.length) - 1;
+            return latenciasNs[Math.max(indice, 0)] / 1_000_000.0;
+        }
+    }
+
+    // Simula una base de datos lenta: cada conexión tarda LATENCIA_BD_MS en estar lista y la espera ocupa
+    // la conexión del pool, como una consulta lenta
+    @TestConfiguration
+    static class LatenciaBaseDatos {
+
+        @Bean
+        static BeanPostProcessor dataSourceLento() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String nombre) {
+                    if (!(bean instanceof HikariDataSource hikari)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(hikari) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            Connection conexion = super.getConnection();
+                            try {
+                                Thread.sleep(LATENCIA_BD_MS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            return conexion;
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.portafolio.gestiontareas.controller;
+
+import org.junit.jupiter.api.Tag;
+
+// Modelo por defecto: 200 hilos de Tomcat
+@Tag("benchmark")
+class CargaHilosPlataformaBenchmarkTest extends CargaConcurrenteBenchmark {
+}
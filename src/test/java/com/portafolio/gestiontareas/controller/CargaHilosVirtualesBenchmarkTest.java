@@ -0,0 +1,13 @@
+package com.portafolio.gestiontareas.controller;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.ActiveProfiles;
+
+// Perfil hilos-virtuales: una petición por hilo virtual. Con un JDK anterior a 21 se omite
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@ActiveProfiles("hilos-virtuales")
+class CargaHilosVirtualesBenchmarkTest extends CargaConcurrenteBenchmark {
+}
@@ -0,0 +1,150 @@
+package com.portafolio.gestiontareas.controller;
+
+import com.portafolio.gestiontareas.dto.EstadisticasEtagDTO;
+import com.portafolio.gestiontareas.entity.Categoria;
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.monitoring.PresupuestoSqlFilter;
+import com.portafolio.gestiontareas.repository.CategoriaRepository;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.portafolio.gestiontareas.security.JwtUtil;
+import com.portafolio.gestiontareas.service.CacheRespuestas;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EtagIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private CacheRespuestas cacheRespuestas;
+
+    private Usuario usuario;
+    private Categoria categoria;
+    private Tarea tarea;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        usuario = usuarioRepository.save(new Usuario("etag", "etag@example.com", "secreto"));
+        categoria = categoriaRepository.save(new Categoria("Ocio", "#0000ff"));
+        tarea = new Tarea();
+        tarea.setTitulo("Leer");
+        tarea.setUsuario(usuario);
+        tarea.setCategoria(categoria);
+        tarea = tareaRepository.save(tarea);
+        token = jwtUtil.generateToken(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tareaRepository.deleteAllInBatch();
+        categoriaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void ifNoneMatchVigenteDevuelve304SinConsultas() throws Exception {
+        MvcResult primera = ejecutar(get("/api/tareas").param("size", "5"));
+        assertEquals(200, primera.getResponse().getStatus());
+        String etag = primera.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("W/"));
+        assertTrue(sentencias(primera) > 0);
+        EstadisticasEtagDTO antes = cacheRespuestas.estadisticas();
+
+        MvcResult revalidada = ejecutar(get("/api/tareas").param("size", "5").header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertEquals(304, revalidada.getResponse().getStatus());
+        assertEquals(0, revalidada.getResponse().getContentLength());
+        assertEquals(0, sentencias(revalidada));
+
+        EstadisticasEtagDTO despues = cacheRespuestas.estadisticas();
+        assertEquals(antes.getRespuestasNoModificadas() + 1, despues.getRespuestasNoModificadas());
+        assertEquals(antes.getBytesAhorrados() + primera.getResponse().getContentAsByteArray().length, despues.getBytesAhorrados());
+        assertEquals(antes.getConsultasAhorradas() + sentencias(primera), despues.getConsultasAhorradas());
+    }
+
+    @Test
+    void sinIfNoneMatchSeSirveElCuerpoGuardado() throws Exception {
+        MvcResult primera = ejecutar(get("/api/tareas/estadisticas"));
+        MvcResult segunda = ejecutar(get("/api/tareas/estadisticas"));
+
+        assertEquals(200, segunda.getResponse().getStatus());
+        assertEquals(0, sentencias(segunda));
+        assertEquals(primera.getResponse().getContentAsString(), segunda.getResponse().getContentAsString());
+        assertEquals(primera.getResponse().getHeader(HttpHeaders.ETAG), segunda.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void cadaEscrituraCambiaElEtag() throws Exception {
+        String etag = ejecutar(get("/api/tareas")).getResponse().getHeader(HttpHeaders.ETAG);
+
+        ejecutar(patch("/api/tareas/{id}/completar", tarea.getId()));
+        MvcResult trasCompletar = ejecutar(get("/api/tareas").header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertEquals(200, trasCompletar.getResponse().getStatus());
+        assertTrue(trasCompletar.getResponse().getContentAsString().contains("\"completada\":true"));
+        String etagCompletada = trasCompletar.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, etagCompletada);
+
+        // El nombre de la categoría forma parte de cada tarea
+        ejecutar(put("/api/categorias/{id}", categoria.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nombre\": \"Lectura\", \"color\": \"#0000ff\"}"));
+        MvcResult trasCategoria = ejecutar(get("/api/tareas").header(HttpHeaders.IF_NONE_MATCH, etagCompletada));
+        assertEquals(200, trasCategoria.getResponse().getStatus());
+        assertTrue(trasCategoria.getResponse().getContentAsString().contains("Lectura"));
+    }
+
+    @Test
+    void lasEscriturasDeOtroUsuarioNoInvalidan() throws Exception {
+        Usuario otro = usuarioRepository.save(new Usuario("otro", "otro@example.com", "secreto"));
+        String etag = ejecutar(get("/api/tareas")).getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/api/tareas")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken(otro))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"titulo\": \"Ajena\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals(304, ejecutar(get("/api/tareas").header(HttpHeaders.IF_NONE_MATCH, etag)).getResponse().getStatus());
+    }
+
+    private MvcResult ejecutar(MockHttpServletRequestBuilder peticion) throws Exception {
+        return mockMvc.perform(peticion.header("Authorization", "Bearer " + token)).andReturn();
+    }
+
+    private int sentencias(MvcResult resultado) {
+        return (Integer) resultado.getRequest().getAttribute(PresupuestoSqlFilter.ATRIBUTO_SENTENCIAS);
+    }
+}
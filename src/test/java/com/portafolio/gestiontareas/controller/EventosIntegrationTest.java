@@ -0,0 +1,100 @@
+package com.portafolio.gestiontareas.controller;
+
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.TareaEliminadaRepository;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.portafolio.gestiontareas.security.JwtUtil;
+import com.portafolio.gestiontareas.service.EventosTareas;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventosIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private TareaEliminadaRepository tareaEliminadaRepository;
+
+    @Autowired
+    private EventosTareas eventosTareas;
+
+    private Usuario usuario;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        usuario = usuarioRepository.save(new Usuario("eventos", "eventos@example.com", "secreto"));
+        token = jwtUtil.generateToken(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventosTareas.desconectar(usuario.getId());
+        tareaEliminadaRepository.deleteAllInBatch();
+        tareaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void lasEscriturasConfirmadasLleganPorElFlujo() throws Exception {
+        MvcResult suscripcion = mockMvc.perform(get("/api/tareas/eventos").header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse flujo = suscripcion.getResponse();
+        // Las cabeceras se escriben con el primer envío (el latido inicial), que sale desde el hilo de envíos
+        esperarContenido(flujo, ":latido");
+        assertTrue(flujo.getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+
+        String creada = mockMvc.perform(post("/api/tareas").header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"titulo\": \"En directo\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = Long.parseLong(creada.replaceAll(".*\"id\":(\\d+).*", "$1"));
+        esperarContenido(flujo, "event:creada");
+        // El evento puede llegar en varias escrituras
+        esperarContenido(flujo, "\"titulo\":\"En directo\"");
+
+        mockMvc.perform(delete("/api/tareas/{id}", id).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        esperarContenido(flujo, "event:eliminada");
+        esperarContenido(flujo, "\"tareaId\":" + id);
+    }
+
+    private void esperarContenido(MockHttpServletResponse flujo, String texto) throws Exception {
+        long limite = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!flujo.getContentAsString().contains(texto)) {
+            assertTrue(System.nanoTime() < limite, "No llegó " + texto + ": " + flujo.getContentAsString());
+            Thread.sleep(10);
+        }
+    }
+}
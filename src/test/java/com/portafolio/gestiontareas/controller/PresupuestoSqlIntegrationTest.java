@@ -0,0 +1,178 @@
+package com.portafolio.gestiontareas.controller;
+
+import com.portafolio.gestiontareas.entity.Categoria;
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.monitoring.PresupuestoSqlFilter;
+import com.portafolio.gestiontareas.repository.CategoriaRepository;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.portafolio.gestiontareas.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Fija el número de sentencias SQL de cada endpoint: si un cambio de mapeo introduce un N+1, este test falla
+@SpringBootTest
+@AutoConfigureMockMvc
+class PresupuestoSqlIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    private Usuario usuario;
+    private Categoria categoria;
+    private List<Tarea> tareas = new ArrayList<>();
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        usuario = usuarioRepository.save(new Usuario("sql", "sql@example.com", "secreto"));
+        categoria = categoriaRepository.save(new Categoria("Trabajo", "#ff0000"));
+        for (int i = 0; i < 5; i++) {
+            Tarea nueva = new Tarea();
+            nueva.setTitulo("Tarea " + i);
+            nueva.setUsuario(usuario);
+            nueva.setCategoria(categoria);
+            nueva.setFechaVencimiento(LocalDate.now().plusDays(i));
+            tareas.add(tareaRepository.save(nueva));
+        }
+        token = jwtUtil.generateToken(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tareaRepository.deleteAllInBatch();
+        categoriaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    // ========== TAREAS ==========
+    @Test
+    void listadosDeTareas() throws Exception {
+        Long id = usuario.getId();
+        assertSentencias(2, get("/api/tareas").param("size", "2"));
+        assertSentencias(2, get("/api/tareas").param("cursor", "").param("incluirTotal", "true"));
+        assertSentencias(1, get("/api/tareas").param("cursor", ""));
+        assertSentencias(1, get("/api/tareas/estadisticas"));
+        assertSentencias(1, get("/api/tareas/usuario/{id}", id));
+        assertSentencias(1, get("/api/tareas/usuario/{id}/pendientes", id));
+        assertSentencias(1, get("/api/tareas/usuario/{id}/completadas", id));
+        assertSentencias(1, get("/api/tareas/usuario/{id}/prioridad/MEDIA", id));
+        assertSentencias(1, get("/api/tareas/usuario/{id}/buscar", id).param("titulo", "tarea"));
+        assertSentencias(1, get("/api/tareas/usuario/{id}/proximas-vencer", id));
+        // Búsqueda: el COUNT solo se hace si la página viene llena
+        assertSentencias(1, get("/api/tareas/buscar").param("estado", "PENDIENTE").param("prioridad", "MEDIA"));
+        assertSentencias(2, get("/api/tareas/buscar").param("venceHasta", LocalDate.now().plusDays(10).toString())
+                .param("size", "2"));
+    }
+
+    @Test
+    void operacionesSobreUnaTarea() throws Exception {
+        String json = "{\"titulo\": \"Nueva\", \"prioridad\": \"ALTA\"}";
+        // Solo el INSERT (el usuario viene del JWT y se asigna como referencia), más la secuencia si se agota el bloque de 50 ids
+        assertSentencias(1, 2, post("/api/tareas").contentType(MediaType.APPLICATION_JSON).content(json));
+        // Cada tarea tiene categoría (EAGER): la primera lectura hace un SELECT y la deja en la caché de segundo nivel
+        assertSentencias(2, get("/api/tareas/{id}", tareas.get(0).getId()));
+        // La categoría se lee de la caché de segundo nivel: SELECT de la tarea + UPDATE
+        assertSentencias(2, put("/api/tareas/{id}", tareas.get(1).getId()).contentType(MediaType.APPLICATION_JSON).content(json));
+        // Transiciones: UPDATE por id y usuario + SELECT de la fila resultante, aunque la tarea ya esté en ese estado
+        assertSentencias(2, patch("/api/tareas/{id}/completar", tareas.get(2).getId()));
+        assertSentencias(2, patch("/api/tareas/{id}/pendiente", tareas.get(3).getId()));
+        assertSentencias(2, patch("/api/tareas/{id}/prioridad/{prioridad}", tareas.get(3).getId(), "BAJA"));
+        // SELECT + DELETE + INSERT de la lápida para la sincronización incremental
+        assertSentencias(3, delete("/api/tareas/{id}", tareas.get(4).getId()));
+    }
+
+    @Test
+    void loteDeTareas() throws Exception {
+        String lote = "{\"operaciones\": [" +
+                "{\"tipo\": \"CREAR\", \"tarea\": {\"titulo\": \"A\"}}," +
+                "{\"tipo\": \"CREAR\", \"tarea\": {\"titulo\": \"B\"}}," +
+                "{\"tipo\": \"CREAR\", \"tarea\": {\"titulo\": \"C\"}}," +
+                "{\"tipo\": \"COMPLETAR\", \"id\": " + tareas.get(0).getId() + "}," +
+                "{\"tipo\": \"COMPLETAR\", \"id\": " + tareas.get(1).getId() + "}," +
+                "{\"tipo\": \"ELIMINAR\", \"id\": " + tareas.get(2).getId() + "}," +
+                "{\"tipo\": \"ELIMINAR\", \"id\": " + tareas.get(3).getId() + "}]}";
+        // Usuario + tareas afectadas + un lote JDBC por tipo de sentencia (INSERT, UPDATE, DELETE), más la secuencia si toca
+        assertSentencias(5, 6, post("/api/tareas/lote").contentType(MediaType.APPLICATION_JSON).content(lote));
+    }
+
+    // ========== CATEGORÍAS ==========
+    @Test
+    void endpointsDeCategorias() throws Exception {
+        String json = "{\"nombre\": \"Casa\", \"color\": \"#00ff00\"}";
+        assertSentencias(1, post("/api/categorias").contentType(MediaType.APPLICATION_JSON).content(json));
+        assertSentencias(2, get("/api/categorias").param("size", "1"));
+        // Caché de segundo nivel: la categoría ya está en la región "categorias"
+        assertSentencias(0, get("/api/categorias/{id}", categoria.getId()));
+        assertSentencias(1, get("/api/categorias/buscar").param("nombre", "trab"));
+        // Devuelve la entidad Categoria: Jackson recorre la colección perezosa de tareas
+        assertSentencias(4, put("/api/categorias/{id}", categoria.getId()).contentType(MediaType.APPLICATION_JSON).content(json));
+        assertSentencias(0, get("/api/cache/estadisticas"));
+        // Sin cargar las tareas: ids del lote, lápidas (un lote JDBC de INSERT), DELETE de las tareas y de la categoría
+        assertSentencias(4, delete("/api/categorias/{id}", categoria.getId()));
+    }
+
+    // ========== USUARIOS ==========
+    @Test
+    void endpointsDeUsuarios() throws Exception {
+        String registro = "{\"username\": \"nuevo\", \"email\": \"nuevo@example.com\", \"password\": \"clave\"}";
+        assertSentencias(3, post("/api/usuarios/registro").contentType(MediaType.APPLICATION_JSON).content(registro));
+        // Una sola consulta en el hilo de la petición; BCrypt se resuelve después, en el pool de hash
+        assertSentencias(1, post("/api/usuarios/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\": \"nuevo\", \"password\": \"clave\"}"));
+        assertSentencias(2, get("/api/usuarios").param("size", "1"));
+        assertSentencias(0, get("/api/usuarios/{id}", usuario.getId()));
+        String actualizacion = "{\"username\": \"sql\", \"email\": \"otro@example.com\", \"password\": \"secreto\"}";
+        // El usuario sale de la caché: solo el UPDATE
+        assertSentencias(1, put("/api/usuarios/{id}", usuario.getId()).contentType(MediaType.APPLICATION_JSON).content(actualizacion));
+        // Sin cargar las tareas: COUNT (por debajo del umbral asíncrono), DELETE de las tareas y del usuario
+        assertSentencias(3, delete("/api/usuarios/{id}", usuario.getId()));
+    }
+
+    private void assertSentencias(int esperadas, MockHttpServletRequestBuilder peticion) throws Exception {
+        assertSentencias(esperadas, esperadas, peticion);
+    }
+
+    private void assertSentencias(int minimo, int maximo, MockHttpServletRequestBuilder peticion) throws Exception {
+        RequestBuilder autenticada = peticion.header("Authorization", "Bearer " + token);
+        MvcResult resultado = mockMvc.perform(autenticada).andExpect(status().is2xxSuccessful()).andReturn();
+        int sentencias = (Integer) resultado.getRequest().getAttribute(PresupuestoSqlFilter.ATRIBUTO_SENTENCIAS);
+        String ruta = resultado.getRequest().getMethod() + " " + resultado.getRequest().getRequestURI();
+        if (minimo == maximo) {
+            assertEquals(minimo, sentencias, ruta);
+        } else {
+            assertTrue(sentencias >= minimo && sentencias <= maximo, ruta + " ejecutó " + sentencias + " sentencias");
+        }
+    }
+}
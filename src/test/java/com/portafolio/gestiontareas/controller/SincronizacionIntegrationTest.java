@@ -0,0 +1,147 @@
+package com.portafolio.gestiontareas.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.TareaEliminadaRepository;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.portafolio.gestiontareas.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sin margen: el cursor final es el instante de la respuesta y los cambios posteriores quedan detrás de él
+@SpringBootTest(properties = "sincronizacion.margen=0s")
+@AutoConfigureMockMvc
+class SincronizacionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private TareaEliminadaRepository tareaEliminadaRepository;
+
+    private Usuario usuario;
+    private List<Tarea> tareas;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        usuario = usuarioRepository.save(new Usuario("sync", "sync@example.com", "secreto"));
+        tareas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Tarea tarea = new Tarea();
+            tarea.setTitulo("Tarea " + i);
+            tarea.setUsuario(usuario);
+            tareas.add(tarea);
+        }
+        tareas = tareaRepository.saveAll(tareas);
+        token = jwtUtil.generateToken(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tareaEliminadaRepository.deleteAllInBatch();
+        tareaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void soloDevuelveLoCambiadoDespuesDelCursor() throws Exception {
+        JsonNode inicial = cambios(null, 500);
+        assertEquals(5, inicial.get("actualizadas").size());
+        assertEquals(0, inicial.get("eliminadas").size());
+        assertFalse(inicial.get("hayMas").asBoolean());
+        String cursor = inicial.get("siguiente").asText();
+
+        JsonNode sinCambios = cambios(cursor, 500);
+        assertEquals(0, sinCambios.get("actualizadas").size());
+        assertEquals(0, sinCambios.get("eliminadas").size());
+
+        ejecutar(patch("/api/tareas/{id}/completar", tareas.get(1).getId())).andExpect(status().isOk());
+        ejecutar(delete("/api/tareas/{id}", tareas.get(2).getId())).andExpect(status().isOk());
+        ejecutar(post("/api/tareas").contentType(MediaType.APPLICATION_JSON).content("{\"titulo\": \"Nueva\"}"))
+                .andExpect(status().isOk());
+
+        JsonNode delta = cambios(cursor, 500);
+        Set<String> titulos = new HashSet<>();
+        delta.get("actualizadas").forEach(tarea -> titulos.add(tarea.get("titulo").asText()));
+        assertEquals(Set.of("Tarea 1", "Nueva"), titulos);
+        assertEquals(1, delta.get("eliminadas").size());
+        assertEquals(tareas.get(2).getId(), delta.get("eliminadas").get(0).asLong());
+    }
+
+    @Test
+    void paginaPorCambioSinRepetirNiPerderFilas() throws Exception {
+        ejecutar(delete("/api/tareas/{id}", tareas.get(0).getId())).andExpect(status().isOk());
+
+        Set<Long> actualizadas = new HashSet<>();
+        Set<Long> eliminadas = new HashSet<>();
+        String cursor = null;
+        int paginas = 0;
+        JsonNode pagina;
+        do {
+            pagina = cambios(cursor, 2);
+            pagina.get("actualizadas").forEach(tarea -> assertTrue(actualizadas.add(tarea.get("id").asLong())));
+            pagina.get("eliminadas").forEach(id -> assertTrue(eliminadas.add(id.asLong())));
+            cursor = pagina.get("siguiente").asText();
+            paginas++;
+        } while (pagina.get("hayMas").asBoolean());
+
+        assertEquals(3, paginas);
+        assertEquals(4, actualizadas.size());
+        assertEquals(Set.of(tareas.get(0).getId()), eliminadas);
+    }
+
+    @Test
+    void cursorOLimiteInvalidosDevuelven400() throws Exception {
+        ejecutar(get("/api/tareas/cambios").param("desde", "abc")).andExpect(status().isBadRequest());
+        ejecutar(get("/api/tareas/cambios").param("limite", "0")).andExpect(status().isBadRequest());
+    }
+
+    private JsonNode cambios(String desde, int limite) throws Exception {
+        MockHttpServletRequestBuilder peticion = get("/api/tareas/cambios").param("limite", String.valueOf(limite));
+        if (desde != null) {
+            peticion.param("desde", desde);
+        }
+        String cuerpo = ejecutar(peticion).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(cuerpo);
+    }
+
+    private ResultActions ejecutar(MockHttpServletRequestBuilder peticion) throws Exception {
+        return mockMvc.perform(peticion.header("Authorization", "Bearer " + token));
+    }
+}
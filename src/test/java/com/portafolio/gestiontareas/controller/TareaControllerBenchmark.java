@@ -0,0 +1,74 @@
+package com.portafolio.gestiontareas.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestiontareas.dto.TareaDTO;
+import com.portafolio.gestiontareas.entity.Categoria;
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Coste de preparar la respuesta de un listado de "tamano" tareas: convertir entidades a TareaDTO y serializar
+// la Page<TareaDTO> a JSON con un ObjectMapper configurado como el de Spring Boot (fechas java.time)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(0)
+public class TareaControllerBenchmark {
+
+    @Param({"1", "20", "100"})
+    private int tamano;
+
+    private ObjectMapper objectMapper;
+    private List<Tarea> tareas;
+    private Page<TareaDTO> pagina;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Usuario usuario = new Usuario("benchmark", "benchmark@example.com", "secreto");
+        usuario.setId(1L);
+        Categoria categoria = new Categoria("Trabajo", "#ff0000");
+        categoria.setId(1L);
+        tareas = new ArrayList<>();
+        for (int i = 0; i < tamano; i++) {
+            Tarea tarea = new Tarea();
+            tarea.setId((long) i);
+            tarea.setTitulo("Tarea " + i);
+            tarea.setDescripcion("Descripción de la tarea " + i);
+            tarea.setFechaCreacion(LocalDateTime.now().minusMinutes(i));
+            tarea.setFechaVencimiento(i % 2 == 0 ? LocalDate.now().plusDays(i % 30) : null);
+            tarea.setPrioridad(Tarea.Prioridad.values()[i % 3]);
+            tarea.setUsuario(usuario);
+            tarea.setCategoria(i % 4 == 0 ? null : categoria);
+            tareas.add(tarea);
+        }
+        pagina = new PageImpl<>(convertir(), PageRequest.of(0, Math.max(tamano, 1)), 10_000);
+    }
+
+    @Benchmark
+    public List<TareaDTO> convertir() {
+        List<TareaDTO> dtos = new ArrayList<>(tareas.size());
+        for (Tarea tarea : tareas) {
+            dtos.add(TareaDTO.desde(tarea));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws Exception {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,15 @@
+package com.portafolio.gestiontareas.controller;
+
+import com.portafolio.gestiontareas.BenchmarksJmh;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+// Ejecutar con: mvn test -Pbenchmark -Dtest=TareaControllerBenchmarkTest
+@Tag("benchmark")
+class TareaControllerBenchmarkTest {
+
+    @Test
+    void costeDeConvertirYSerializarListados() throws Exception {
+        BenchmarksJmh.ejecutar(TareaControllerBenchmark.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.portafolio.gestiontareas.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.portafolio.gestiontareas.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TareaCursorIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Usuario usuario;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        usuario = usuarioRepository.save(new Usuario("cursor", "cursor@example.com", "secreto"));
+        token = jwtUtil.generateToken(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tareaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void paginaPorFechaCreacionConEmpatesYFechasNulasSinDuplicadosNiHuecos() throws Exception {
+        // Cuatro instantes repetidos y ocho filas antiguas sin fecha, intercalados por id. Con páginas de 5 el
+        // primer cursor cae dentro del bloque sin fecha
+        LocalDateTime base = LocalDateTime.of(2024, 3, 1, 12, 0);
+        List<Object[]> filas = new ArrayList<>();
+        for (int i = 0; i < 107; i++) {
+            Timestamp fecha = i % 15 == 0 ? null : Timestamp.valueOf(base.plusSeconds((i * 7) % 4));
+            filas.add(new Object[]{"Tarea " + i, fecha, usuario.getId()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tareas (titulo, completada, fecha_creacion, prioridad, usuario_id) " +
+                "VALUES (?, FALSE, ?, 'MEDIA', ?)", filas);
+        List<Long> esperados = jdbcTemplate.queryForList(
+                "SELECT id FROM tareas WHERE usuario_id = ? ORDER BY fecha_creacion IS NOT NULL, fecha_creacion, id",
+                Long.class, usuario.getId());
+
+        List<Long> recibidos = new ArrayList<>();
+        String cursor = "";
+        int paginas = 0;
+        do {
+            String cuerpo = mockMvc.perform(get("/api/tareas")
+                            .header("Authorization", "Bearer " + token)
+                            .param("cursor", cursor)
+                            .param("sort", "fechaCreacion")
+                            .param("size", "5"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode pagina = objectMapper.readTree(cuerpo);
+            pagina.get("content").forEach(tarea -> recibidos.add(tarea.get("id").asLong()));
+            cursor = pagina.get("nextCursor").isNull() ? null : pagina.get("nextCursor").asText();
+            paginas++;
+        } while (cursor != null && paginas < 40);
+
+        Set<Long> distintos = new HashSet<>(recibidos);
+        assertEquals(recibidos.size(), distintos.size(), "Tareas repetidas entre páginas");
+        assertEquals(esperados, recibidos);
+        assertEquals(22, paginas);
+    }
+}
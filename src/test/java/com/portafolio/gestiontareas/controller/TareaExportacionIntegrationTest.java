@@ -0,0 +1,119 @@
+package com.portafolio.gestiontareas.controller;
+
+import com.portafolio.gestiontareas.entity.Categoria;
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.CategoriaRepository;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.portafolio.gestiontareas.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TareaExportacionIntegrationTest {
+
+    // Más filas que FETCH_SIZE_EXPORTACION para pasar por el vaciado periódico del contexto de persistencia
+    private static final int TOTAL_TAREAS = 1200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    private Usuario usuario;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        usuario = usuarioRepository.save(new Usuario("export", "export@example.com", "secreto"));
+        Categoria categoria = categoriaRepository.save(new Categoria("Casa", "#00ff00"));
+
+        Tarea especial = new Tarea();
+        especial.setTitulo("Comprar \"pan\", leche");
+        especial.setDescripcion("línea 1\nlínea 2");
+        especial.setUsuario(usuario);
+        especial.setCategoria(categoria);
+        tareaRepository.save(especial);
+        for (int i = 1; i < TOTAL_TAREAS; i++) {
+            Tarea tarea = new Tarea();
+            tarea.setTitulo("Tarea " + i);
+            tarea.setUsuario(usuario);
+            tareaRepository.save(tarea);
+        }
+        token = jwtUtil.generateToken(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tareaRepository.deleteAllInBatch();
+        categoriaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void exportaNdjsonUnaTareaPorLinea() throws Exception {
+        String cuerpo = exportar("ndjson");
+        String[] lineas = cuerpo.split("\n");
+
+        assertEquals(TOTAL_TAREAS, lineas.length);
+        assertTrue(lineas[0].contains("\"titulo\":\"Comprar \\\"pan\\\", leche\""));
+        assertTrue(lineas[0].contains("\"categoriaNombre\":\"Casa\""));
+        assertTrue(lineas[TOTAL_TAREAS - 1].contains("\"titulo\":\"Tarea " + (TOTAL_TAREAS - 1) + "\""));
+    }
+
+    @Test
+    void exportaCsvConCabeceraYCamposEscapados() throws Exception {
+        String cuerpo = exportar("csv");
+
+        assertTrue(cuerpo.startsWith("id,titulo,descripcion,completada,fechaCreacion,fechaVencimiento,prioridad,categoriaId,categoriaNombre\n"));
+        assertTrue(cuerpo.contains(",\"Comprar \"\"pan\"\", leche\",\"línea 1\nlínea 2\",false,"));
+        // Cabecera + una línea por tarea + el salto de línea dentro de la descripción entrecomillada
+        assertEquals(TOTAL_TAREAS + 2, cuerpo.split("\n").length);
+    }
+
+    @Test
+    void formatoDesconocidoDevuelve400() throws Exception {
+        mockMvc.perform(get("/api/tareas/exportar").param("formato", "xml")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String exportar(String formato) throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/tareas/exportar").param("formato", formato)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tareas." + formato + "\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,115 @@
+package com.portafolio.gestiontareas.controller;
+
+import com.portafolio.gestiontareas.entity.Categoria;
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.CategoriaRepository;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.portafolio.gestiontareas.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TareaImportacionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    private Usuario usuario;
+    private Categoria categoria;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        usuario = usuarioRepository.save(new Usuario("import", "import@example.com", "secreto"));
+        categoria = categoriaRepository.save(new Categoria("Trabajo", "#ff0000"));
+        token = jwtUtil.generateToken(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tareaRepository.deleteAllInBatch();
+        categoriaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importaCsvEInformaLasFilasConError() throws Exception {
+        String csv = """
+                titulo,descripcion,completada,fechaVencimiento,prioridad,categoriaNombre
+                Preparar informe,"Incluye ventas, gastos
+                y previsión",false,2030-01-15,ALTA,trabajo
+                ,sin título,false,,,
+                Llamar al banco,,true,,BAJA,
+                Revisar correo,,false,15/01/2030,,
+                Comprar regalo,,false,,,Inexistente
+                """;
+
+        mockMvc.perform(post("/api/tareas/importar")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.leidas").value(5))
+                .andExpect(jsonPath("$.importadas").value(2))
+                .andExpect(jsonPath("$.fallidas").value(3))
+                .andExpect(jsonPath("$.errores[0].fila").value(4))
+                .andExpect(jsonPath("$.errores[0].error").value("El título es obligatorio"))
+                .andExpect(jsonPath("$.errores[1].fila").value(6))
+                .andExpect(jsonPath("$.errores[1].error", containsString("fechavencimiento")))
+                .andExpect(jsonPath("$.errores[2].fila").value(7))
+                .andExpect(jsonPath("$.errores[2].error", containsString("Inexistente")));
+
+        List<Tarea> tareas = tareaRepository.findByUsuarioId(usuario.getId());
+        assertEquals(2, tareas.size());
+        Tarea informe = tareas.stream().filter(t -> t.getTitulo().equals("Preparar informe")).findFirst().orElseThrow();
+        assertEquals("Incluye ventas, gastos\ny previsión", informe.getDescripcion());
+        assertEquals(Tarea.Prioridad.ALTA, informe.getPrioridad());
+        assertEquals(categoria.getId(), informe.getCategoria().getId());
+    }
+
+    @Test
+    void importaNdjson() throws Exception {
+        String ndjson = "{\"titulo\": \"Uno\", \"categoriaId\": " + categoria.getId() + "}\n"
+                + "\n"
+                + "{\"titulo\": \"Dos\", \"prioridad\": \"URGENTE\"}\n"
+                + "{\"titulo\": \"Tres\", \"completada\": true}\n";
+
+        mockMvc.perform(post("/api/tareas/importar")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importadas").value(2))
+                .andExpect(jsonPath("$.errores[0].fila").value(3));
+
+        assertEquals(2, tareaRepository.countByUsuarioId(usuario.getId()));
+    }
+}
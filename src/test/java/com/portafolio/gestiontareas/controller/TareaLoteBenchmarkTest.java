@@ -0,0 +1,99 @@
+package com.portafolio.gestiontareas.controller;
+
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.portafolio.gestiontareas.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Compara 1.000 llamadas a POST /api/tareas con un único POST /api/tareas/lote. Ejecutar con: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class TareaLoteBenchmarkTest {
+
+    private static final int TAREAS = 1000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    private Usuario usuario;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        usuario = usuarioRepository.save(new Usuario("lote", "lote@example.com", "secreto"));
+        token = jwtUtil.generateToken(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tareaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void loteFrenteALlamadasIndividuales() throws Exception {
+        // Calentamiento del JIT y de las cachés de Hibernate
+        crearIndividuales(200);
+        crearEnLote(200);
+        tareaRepository.deleteAllInBatch();
+
+        long inicio = System.nanoTime();
+        crearIndividuales(TAREAS);
+        double individualesMs = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        inicio = System.nanoTime();
+        crearEnLote(TAREAS);
+        double loteMs = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        assertEquals(2L * TAREAS, tareaRepository.countByUsuarioId(usuario.getId()));
+        System.out.printf("%n%-22s %10s %12s%n", "modo", "total (ms)", "tareas/s");
+        System.out.printf("%-22s %10.1f %12.0f%n", TAREAS + " x POST /tareas", individualesMs, TAREAS / (individualesMs / 1000));
+        System.out.printf("%-22s %10.1f %12.0f%n", "1 x POST /tareas/lote", loteMs, TAREAS / (loteMs / 1000));
+    }
+
+    private void crearIndividuales(int cantidad) throws Exception {
+        for (int i = 0; i < cantidad; i++) {
+            mockMvc.perform(post("/api/tareas")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"titulo\": \"Individual " + i + "\"}"))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private void crearEnLote(int cantidad) throws Exception {
+        StringBuilder json = new StringBuilder("{\"operaciones\": [");
+        for (int i = 0; i < cantidad; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"tipo\": \"CREAR\", \"tarea\": {\"titulo\": \"Lote ").append(i).append("\"}}");
+        }
+        json.append("]}");
+        mockMvc.perform(post("/api/tareas/lote")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.toString()))
+                .andExpect(status().isOk());
+    }
+}
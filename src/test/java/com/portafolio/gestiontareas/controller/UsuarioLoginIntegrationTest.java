@@ -0,0 +1,98 @@
+package com.portafolio.gestiontareas.controller;
+
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Coste 5: los hashes de coste 4 se consideran antiguos y se rehashean al iniciar sesión
+@SpringBootTest(properties = "seguridad.hash.coste=5")
+@AutoConfigureMockMvc
+class UsuarioLoginIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void elRegistroGuardaElHashYElLoginLoVerifica() throws Exception {
+        mockMvc.perform(post("/api/usuarios/registro").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"ana\", \"email\": \"ana@example.com\", \"password\": \"secreto\"}"))
+                .andExpect(status().isOk());
+
+        String guardada = usuarioRepository.findByUsername("ana").orElseThrow().getPassword();
+        assertTrue(guardada.startsWith("{bcrypt}$2a$05$"), guardada);
+
+        mockMvc.perform(asyncDispatch(login("ana", "secreto")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.usuario.username").value("ana"));
+        mockMvc.perform(asyncDispatch(login("ana", "otra")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(asyncDispatch(login("nadie", "secreto")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rehasheaLasContrasenasConCosteAntiguo() throws Exception {
+        String antiguo = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secreto");
+        usuarioRepository.save(new Usuario("luis", "luis@example.com", antiguo));
+
+        mockMvc.perform(asyncDispatch(login("luis", "secreto"))).andExpect(status().isOk());
+
+        // El rehash se guarda en segundo plano, después de responder
+        long limite = System.currentTimeMillis() + 5_000;
+        String guardada = antiguo;
+        while (guardada.equals(antiguo) && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            guardada = usuarioRepository.findByUsername("luis").orElseThrow().getPassword();
+        }
+        assertTrue(guardada.startsWith("{bcrypt}$2a$05$"), guardada);
+        mockMvc.perform(asyncDispatch(login("luis", "secreto"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void elRehashNoPisaUnCambioDeContrasenaPosterior() {
+        String antiguo = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secreto");
+        Usuario usuario = usuarioRepository.save(new Usuario("marta", "marta@example.com", "{bcrypt}cambiada"));
+
+        // El UPDATE exige que la contraseña siga siendo la verificada en el login
+        Integer filas = new TransactionTemplate(transactionManager).execute(estado ->
+                usuarioRepository.actualizarPassword(usuario.getId(), antiguo, "{bcrypt}rehash"));
+        assertEquals(0, filas);
+        assertEquals("{bcrypt}cambiada", usuarioRepository.findByUsername("marta").orElseThrow().getPassword());
+    }
+
+    private MvcResult login(String username, String password) throws Exception {
+        return mockMvc.perform(post("/api/usuarios/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"" + username + "\", \"password\": \"" + password + "\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
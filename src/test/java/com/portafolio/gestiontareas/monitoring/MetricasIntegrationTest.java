@@ -0,0 +1,103 @@
+package com.portafolio.gestiontareas.monitoring;
+
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.portafolio.gestiontareas.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Mismas propiedades de métricas que application.properties, con el puerto de gestión aleatorio. Con umbral 0
+// toda sentencia cuenta como lenta: se comprueba que se miden sin depender de la velocidad de H2
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.server.port=0",
+        "management.endpoints.web.exposure.include=health,prometheus",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true",
+        "sql.lenta.umbral=0ms"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricasIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @LocalManagementPort
+    private int puertoGestion;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        Usuario usuario = usuarioRepository.save(new Usuario("metricas", "metricas@example.com", "secreto"));
+        Tarea tarea = new Tarea();
+        tarea.setTitulo("Medir");
+        tarea.setUsuario(usuario);
+        tareaRepository.save(tarea);
+        token = jwtUtil.generateToken(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tareaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void prometheusPublicaRutasJwtSqlPoolEHibernate() throws Exception {
+        mockMvc.perform(get("/api/tareas").header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tareas").header("Authorization", "Bearer token-falso"));
+
+        // Sin JWT en el puerto de gestión: lo consulta Prometheus
+        HttpResponse<String> respuesta = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + puertoGestion + "/actuator/prometheus")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, respuesta.statusCode());
+        String metricas = respuesta.body();
+
+        assertTrue(metricas.contains("http_server_requests_seconds_bucket{"), "histograma de rutas");
+        assertTrue(lineaCon(metricas, "http_server_requests_seconds_count{", "uri=\"/api/tareas\""), "ruta /api/tareas");
+        assertTrue(lineaCon(metricas, "jwt_autenticacion_seconds_count{", "resultado=\"valido\""), "JWT válido");
+        assertTrue(lineaCon(metricas, "jwt_autenticacion_seconds_count{", "resultado=\"invalido\""), "JWT inválido");
+        assertTrue(metricas.contains("sql_sentencias_seconds_count"), "sentencias SQL");
+        assertTrue(metricas.contains("sql_lentas_total"), "sentencias lentas");
+        assertTrue(metricas.contains("hikaricp_connections_acquire_seconds"), "pool de conexiones");
+        assertTrue(metricas.contains("hibernate_statements_total"), "estadísticas de Hibernate");
+        assertTrue(metricas.contains("eventos_suscriptores"), "métricas de la aplicación");
+    }
+
+    @Test
+    void elPuertoDelApiNoPublicaLasMetricasSinJwt() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+    }
+
+    private static boolean lineaCon(String metricas, String prefijo, String etiqueta) {
+        return metricas.lines().anyMatch(linea -> linea.startsWith(prefijo) && linea.contains(etiqueta));
+    }
+}
@@ -0,0 +1,46 @@
+package com.portafolio.gestiontareas.monitoring;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PresupuestoSqlFilterTest {
+
+    private final PresupuestoSqlFilter filtro = new PresupuestoSqlFilter();
+    private final ContadorSentenciasSql contador = new ContadorSentenciasSql();
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filtro, "umbralAviso", 10);
+        ReflectionTestUtils.setField(filtro, "estricto", true);
+        request = new MockHttpServletRequest("GET", "/api/tareas");
+        request.setAttribute(PresupuestoSqlFilter.ATRIBUTO_PRESUPUESTO, 2);
+    }
+
+    @Test
+    void fallaSiSeSuperaElPresupuestoEnModoEstricto() {
+        PresupuestoSqlExcedidoException ex = assertThrows(PresupuestoSqlExcedidoException.class,
+                () -> filtro.doFilter(request, new MockHttpServletResponse(), ejecutar(3)));
+        assertTrue(ex.getMessage().contains("GET /api/tareas"));
+    }
+
+    @Test
+    void registraLasSentenciasDentroDelPresupuesto() throws Exception {
+        filtro.doFilter(request, new MockHttpServletResponse(), ejecutar(2));
+        assertEquals(2, request.getAttribute(PresupuestoSqlFilter.ATRIBUTO_SENTENCIAS));
+    }
+
+    private FilterChain ejecutar(int sentencias) {
+        return (req, res) -> {
+            for (int i = 0; i < sentencias; i++) {
+                contador.inspect("select 1");
+            }
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package com.portafolio.gestiontareas.repository;
+
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.monitoring.ContadorSentenciasSql;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Ejecuta EXPLAIN sobre el SQL que genera Hibernate para cada consulta de TareaRepository
+// y falla si deja de usar el índice definido en db/migration/V2__indices_tareas.sql
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TareaRepositoryIndicesTest {
+
+    private static final String INDICE_USUARIO = "usuario";
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long usuarioId;
+    private Long categoriaId;
+
+    // Con las tablas vacías el optimizador no distingue entre índices: se siembran datos y se analizan
+    @BeforeAll
+    void sembrarDatos() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20; i++) {
+            jdbcTemplate.update("INSERT INTO usuarios (username, email, password, enabled, fecha_creacion) VALUES (?, ?, ?, ?, ?)",
+                    "indices" + i, "indices" + i + "@example.com", "clave", true, Timestamp.valueOf(LocalDateTime.now()));
+        }
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.update("INSERT INTO categorias (nombre, color) VALUES (?, ?)", "Indices " + i, "#000000");
+        }
+        List<Long> usuarios = jdbcTemplate.queryForList("SELECT id FROM usuarios WHERE username LIKE 'indices%'", Long.class);
+        List<Long> categorias = jdbcTemplate.queryForList("SELECT id FROM categorias WHERE nombre LIKE 'Indices%'", Long.class);
+
+        List<Object[]> filas = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            filas.add(new Object[]{
+                    "Tarea " + i,
+                    random.nextInt(3) == 0,
+                    Timestamp.valueOf(LocalDateTime.now().minusMinutes(i)),
+                    random.nextBoolean() ? Date.valueOf(LocalDate.now().plusDays(random.nextInt(60))) : null,
+                    Tarea.Prioridad.values()[random.nextInt(3)].name(),
+                    usuarios.get(random.nextInt(usuarios.size())),
+                    random.nextInt(4) == 0 ? null : categorias.get(random.nextInt(categorias.size()))
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tareas (titulo, completada, fecha_creacion, fecha_vencimiento, prioridad, usuario_id, categoria_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", filas);
+        jdbcTemplate.execute("ANALYZE");
+
+        usuarioId = usuarios.get(0);
+        categoriaId = categorias.get(0);
+    }
+
+    @AfterAll
+    void limpiar() {
+        jdbcTemplate.update("DELETE FROM tareas");
+        jdbcTemplate.update("DELETE FROM categorias WHERE nombre LIKE 'Indices%'");
+        jdbcTemplate.update("DELETE FROM usuarios WHERE username LIKE 'indices%'");
+    }
+
+    // Búsqueda combinable: el SQL sale de TareaSpecifications; parámetros en orden de aparición + LIMIT
+    @Test
+    void filtrosPorEstadoPrioridadYCategoria() {
+        Sort porId = Sort.by("id");
+        Sort porVencimiento = Sort.by("fechaVencimiento", "id");
+        assertUsaIndice("idx_tareas_usuario_completada_vencimiento",
+                () -> buscar(TareaSpecifications.completada(false), porId), usuarioId, false, 100);
+        assertUsaIndice("idx_tareas_usuario_completada_vencimiento",
+                () -> buscar(TareaSpecifications.completada(false).and(TareaSpecifications.conVencimiento()), porVencimiento),
+                usuarioId, false, 100);
+        assertUsaIndice("idx_tareas_usuario_completada_vencimiento",
+                () -> buscar(TareaSpecifications.completada(false)
+                        .and(TareaSpecifications.venceDesde(LocalDate.now()))
+                        .and(TareaSpecifications.venceHasta(LocalDate.now().plusDays(7))), porVencimiento),
+                usuarioId, false, Date.valueOf(LocalDate.now()), Date.valueOf(LocalDate.now().plusDays(7)), 100);
+        assertUsaIndice("idx_tareas_usuario_prioridad",
+                () -> buscar(TareaSpecifications.conPrioridad(Tarea.Prioridad.ALTA), porId), usuarioId, "ALTA", 100);
+        assertUsaIndice("idx_tareas_usuario_categoria",
+                () -> buscar(TareaSpecifications.deCategoria(categoriaId), porId), usuarioId, categoriaId, 100);
+    }
+
+    @Test
+    void paginacionPorKeyset() {
+        LocalDateTime fecha = LocalDateTime.now().minusDays(1);
+        assertUsaIndice("idx_tareas_usuario_id",
+                () -> tareaRepository.findSiguientesPorId(usuarioId, 5L, true, PageRequest.of(0, 10)),
+                true, usuarioId, 5L, 10);
+        assertUsaIndice("idx_tareas_usuario_fecha_creacion",
+                () -> tareaRepository.findSiguientesPorFechaCreacion(usuarioId, fecha, 1L, true, PageRequest.of(0, 10)),
+                true, usuarioId, Timestamp.valueOf(fecha), Timestamp.valueOf(fecha), 1L, 10);
+    }
+
+    @Test
+    void consultasSoloPorUsuario() {
+        assertUsaIndice(INDICE_USUARIO,
+                () -> buscar(null, Sort.by("id")), usuarioId, 100);
+        assertUsaIndice(INDICE_USUARIO,
+                () -> tareaRepository.findDTOByUsuarioId(usuarioId, true, PageRequest.of(0, 1000, Sort.by("id"))),
+                true, usuarioId, 1000);
+        assertUsaIndice(INDICE_USUARIO,
+                () -> buscar(TareaSpecifications.tituloContiene("tarea"), Sort.by("id")), usuarioId, "%tarea%", 100);
+        assertUsaIndice(INDICE_USUARIO,
+                () -> tareaRepository.findEstadisticasByUsuario(usuarioId, LocalDate.now(), LocalDate.now().plusDays(3)),
+                Date.valueOf(LocalDate.now()), Date.valueOf(LocalDate.now().plusDays(3)), usuarioId);
+    }
+
+    private void buscar(Specification<Tarea> filtro, Sort orden) {
+        Specification<Tarea> especificacion = TareaSpecifications.delUsuario(usuarioId);
+        tareaRepository.buscarDTO(filtro != null ? especificacion.and(filtro) : especificacion,
+                PageRequest.of(0, 100, orden), true);
+    }
+
+    // Captura el SQL generado por Hibernate y lo pasa por EXPLAIN con los parámetros en orden de aparición
+    private void assertUsaIndice(String indice, Runnable consulta, Object... parametros) {
+        ContadorSentenciasSql.reiniciar();
+        consulta.run();
+        String sql = ContadorSentenciasSql.ultimaSentencia();
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parametros);
+
+        String accesoATareas = plan.substring(plan.indexOf("\"tareas\""));
+        accesoATareas = accesoATareas.substring(0, accesoATareas.indexOf("*/") + 2);
+        assertTrue(accesoATareas.contains(indice) && !accesoATareas.contains("tableScan"),
+                "Se esperaba el índice " + indice + " en:\n" + plan);
+    }
+}
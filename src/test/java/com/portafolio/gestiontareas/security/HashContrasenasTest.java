@@ -0,0 +1,82 @@
+package com.portafolio.gestiontareas.security;
+
+import com.portafolio.gestiontareas.Exception.ServicioSaturadoException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashContrasenasTest {
+
+    static PasswordEncoder encoder(int coste) {
+        return new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(coste)));
+    }
+
+    static HashContrasenas crear(PasswordEncoder encoder, int hilos, int cola) {
+        HashContrasenas hashContrasenas = new HashContrasenas();
+        ReflectionTestUtils.setField(hashContrasenas, "passwordEncoder", encoder);
+        ReflectionTestUtils.setField(hashContrasenas, "hilos", hilos);
+        ReflectionTestUtils.setField(hashContrasenas, "capacidadCola", cola);
+        hashContrasenas.inicializar();
+        return hashContrasenas;
+    }
+
+    @Test
+    void verificaContraElHashGuardado() {
+        HashContrasenas hashContrasenas = crear(encoder(4), 1, 4);
+        String hash = hashContrasenas.hashear("secreto");
+
+        assertTrue(hash.startsWith("{bcrypt}$2a$04$"));
+        assertTrue(hashContrasenas.verificar("secreto", hash).join());
+        assertFalse(hashContrasenas.verificar("otra", hash).join());
+        // Usuario inexistente: se calcula igualmente un hash, pero nunca es válido
+        assertFalse(hashContrasenas.verificar("contrasena-ficticia", null).join());
+        hashContrasenas.detener();
+    }
+
+    @Test
+    void pideRehashCuandoSubeElCoste() {
+        String antiguo = crear(encoder(4), 1, 4).hashear("secreto");
+        HashContrasenas actual = crear(encoder(5), 1, 4);
+
+        assertTrue(actual.necesitaRehash(antiguo));
+        assertFalse(actual.necesitaRehash(actual.hashear("secreto")));
+        assertTrue(actual.verificar("secreto", antiguo).join());
+        actual.detener();
+    }
+
+    @Test
+    void conLaColaLlenaRechazaAlMomento() {
+        CountDownLatch liberar = new CountDownLatch(1);
+        PasswordEncoder bloqueante = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        // El hash ficticio se calcula al arrancar: se crea antes de bloquear
+        HashContrasenas hashContrasenas = crear(new BCryptPasswordEncoder(4), 1, 1);
+        ReflectionTestUtils.setField(hashContrasenas, "passwordEncoder", bloqueante);
+
+        CompletableFuture<String> enCurso = hashContrasenas.hashearAsync("a");
+        CompletableFuture<String> enCola = hashContrasenas.hashearAsync("b");
+        assertThrows(ServicioSaturadoException.class, () -> hashContrasenas.hashearAsync("c"));
+
+        liberar.countDown();
+        assertNotNull(enCurso.join());
+        assertNotNull(enCola.join());
+        hashContrasenas.detener();
+    }
+}
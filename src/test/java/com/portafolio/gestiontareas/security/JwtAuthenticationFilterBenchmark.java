@@ -0,0 +1,70 @@
+package com.portafolio.gestiontareas.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+// Coste por petición de JwtAuthenticationFilter. "antes" reproduce la implementación anterior (clave y parser
+// nuevos en cada llamada, firma verificada dos veces); "sinCache" verifica una vez con el parser precompilado;
+// "conCache" es el caso habitual de un cliente que repite su token
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(0)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "claveDePruebaSuficientementeLargaParaHS256";
+    private static final FilterChain CADENA_VACIA = (request, response) -> { };
+
+    private JwtAuthenticationFilter filtroSinCache;
+    private JwtAuthenticationFilter filtroConCache;
+    private MockHttpServletRequest request;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        filtroSinCache = filtro(0);
+        filtroConCache = filtro(10_000);
+        token = JwtUtilTest.crear(60_000, 0).generateToken(JwtUtilTest.usuario(1L, "benchmark", true));
+        request = new MockHttpServletRequest("GET", "/api/tareas");
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    @TearDown(Level.Invocation)
+    public void limpiarContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object antes() {
+        // validateToken + getUsernameFromToken tal y como estaban
+        Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build().parseClaimsJws(token);
+        return Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+                .parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public Object sinCache() throws Exception {
+        filtroSinCache.doFilter(request, new MockHttpServletResponse(), CADENA_VACIA);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Object conCache() throws Exception {
+        filtroConCache.doFilter(request, new MockHttpServletResponse(), CADENA_VACIA);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private JwtAuthenticationFilter filtro(long tamanoCache) {
+        return new JwtAuthenticationFilter(JwtUtilTest.crear(60_000, tamanoCache), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,15 @@
+package com.portafolio.gestiontareas.security;
+
+import com.portafolio.gestiontareas.BenchmarksJmh;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+// Lanza el benchmark JMH desde Maven. Ejecutar con: mvn test -Pbenchmark -Dtest=JwtAuthenticationFilterBenchmarkTest
+@Tag("benchmark")
+class JwtAuthenticationFilterBenchmarkTest {
+
+    @Test
+    void costeDelFiltroPorPeticion() throws Exception {
+        BenchmarksJmh.ejecutar(JwtAuthenticationFilterBenchmark.class);
+    }
+}
@@ -0,0 +1,45 @@
+package com.portafolio.gestiontareas.security;
+
+import com.portafolio.gestiontareas.entity.Usuario;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Coste de emitir y validar tokens. "validar" usa la caché de claims (cliente que repite su token);
+// "validarSinCache" verifica la firma HMAC en cada llamada
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(0)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private JwtUtil jwtUtilSinCache;
+    private Usuario usuario;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        jwtUtil = JwtUtilTest.crear(60_000, 10_000);
+        jwtUtilSinCache = JwtUtilTest.crear(60_000, 0);
+        usuario = JwtUtilTest.usuario(1L, "benchmark", true);
+        token = jwtUtil.generateToken(usuario);
+    }
+
+    @Benchmark
+    public String generar() {
+        return jwtUtil.generateToken(usuario);
+    }
+
+    @Benchmark
+    public boolean validar() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validarSinCache() {
+        return jwtUtilSinCache.validateToken(token);
+    }
+}
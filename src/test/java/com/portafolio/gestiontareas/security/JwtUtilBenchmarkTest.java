@@ -0,0 +1,15 @@
+package com.portafolio.gestiontareas.security;
+
+import com.portafolio.gestiontareas.BenchmarksJmh;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+// Ejecutar con: mvn test -Pbenchmark -Dtest=JwtUtilBenchmarkTest
+@Tag("benchmark")
+class JwtUtilBenchmarkTest {
+
+    @Test
+    void costeDeGenerarYValidarTokens() throws Exception {
+        BenchmarksJmh.ejecutar(JwtUtilBenchmark.class);
+    }
+}
@@ -0,0 +1,95 @@
+package com.portafolio.gestiontareas.security;
+
+import com.portafolio.gestiontareas.entity.Usuario;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    static JwtUtil crear(long expiracionMs, long tamanoCache) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "claveDePruebaSuficientementeLargaParaHS256");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", expiracionMs);
+        ReflectionTestUtils.setField(jwtUtil, "tamanoMaximoCache", tamanoCache);
+        jwtUtil.inicializar();
+        return jwtUtil;
+    }
+
+    static Usuario usuario(Long id, String username, boolean enabled) {
+        Usuario usuario = new Usuario(username, username + "@example.com", "secreto");
+        usuario.setId(id);
+        usuario.setEnabled(enabled);
+        return usuario;
+    }
+
+    @Test
+    void elTokenLlevaElIdDelUsuario() {
+        JwtUtil jwtUtil = crear(60_000, 100);
+        Claims claims = jwtUtil.verificarToken(jwtUtil.generateToken(usuario(42L, "ana", true))).orElseThrow();
+
+        UsuarioAutenticado principal = jwtUtil.obtenerUsuario(claims).orElseThrow();
+        assertEquals(42L, principal.getId());
+        assertEquals("ana", principal.getUsername());
+    }
+
+    @Test
+    void noHayPrincipalParaUsuariosDeshabilitadosNiTokensSinId() {
+        JwtUtil jwtUtil = crear(60_000, 100);
+        Claims deshabilitado = jwtUtil.verificarToken(jwtUtil.generateToken(usuario(42L, "ana", false))).orElseThrow();
+        assertTrue(jwtUtil.obtenerUsuario(deshabilitado).isEmpty());
+
+        // Token emitido antes de incluir el id: firma válida, pero el usuario debe volver a iniciar sesión
+        String antiguo = Jwts.builder()
+                .setSubject("ana")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("claveDePruebaSuficientementeLargaParaHS256".getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+        assertTrue(jwtUtil.obtenerUsuario(jwtUtil.verificarToken(antiguo).orElseThrow()).isEmpty());
+    }
+
+    @Test
+    void verificaUnaVezYReutilizaLosClaims() {
+        JwtUtil jwtUtil = crear(60_000, 100);
+        String token = jwtUtil.generateToken(usuario(1L, "ana", true));
+
+        Claims primera = jwtUtil.verificarToken(token).orElseThrow();
+        assertEquals("ana", primera.getSubject());
+        // Segunda petición con el mismo token: sale de la caché, sin volver a parsear
+        assertSame(primera, jwtUtil.verificarToken(token).orElseThrow());
+    }
+
+    @Test
+    void rechazaTokensManipuladosOAjenos() {
+        JwtUtil jwtUtil = crear(60_000, 100);
+        String token = jwtUtil.generateToken(usuario(1L, "ana", true));
+        String manipulado = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertEquals(Optional.empty(), jwtUtil.verificarToken(manipulado));
+        assertEquals(Optional.empty(), jwtUtil.verificarToken("no.es.un-jwt"));
+        assertEquals(Optional.empty(), jwtUtil.verificarToken(null));
+        JwtUtil otraClave = crear(60_000, 100);
+        ReflectionTestUtils.setField(otraClave, "secret", "otraClaveDePruebaSuficientementeLargaParaHS256");
+        otraClave.inicializar();
+        assertEquals(Optional.empty(), otraClave.verificarToken(token));
+    }
+
+    @Test
+    void unTokenCacheadoDejaDeValerAlExpirar() throws InterruptedException {
+        JwtUtil jwtUtil = crear(1_500, 100);
+        String token = jwtUtil.generateToken(usuario(1L, "ana", true));
+        assertTrue(jwtUtil.verificarToken(token).isPresent());
+
+        Thread.sleep(2_000);
+
+        assertTrue(jwtUtil.verificarToken(token).isEmpty());
+    }
+}
@@ -0,0 +1,81 @@
+package com.portafolio.gestiontareas.security;
+
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.portafolio.gestiontareas.service.UsuarioService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Logins por segundo (y por núcleo) con el coste BCrypt de producción. Ejecutar con: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest(properties = "seguridad.hash.coste=10")
+class LoginBenchmarkTest {
+
+    private static final int LOGINS_POR_NUCLEO = 40;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @AfterEach
+    void tearDown() {
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void loginsPorSegundoYNucleo() throws Exception {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        usuarioService.crearUsuario(new Usuario("bench", "bench@example.com", "secreto"));
+
+        // Calentamiento del JIT
+        ejecutar(nucleos * 5, nucleos * 2);
+
+        int total = LOGINS_POR_NUCLEO * nucleos;
+        // Más clientes que hilos de hash (sin llenar la cola): el pool es el cuello de botella
+        int clientes = nucleos * 2;
+        long inicio = System.nanoTime();
+        int correctos = ejecutar(total, clientes);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        assertEquals(total, correctos);
+        System.out.printf("%n%-8s %-9s %10s %10s %14s%n", "núcleos", "clientes", "logins", "logins/s", "logins/s/núcleo");
+        System.out.printf("%-8d %-9d %10d %10.1f %14.1f%n", nucleos, clientes, total, total / segundos, total / segundos / nucleos);
+    }
+
+    // Cada cliente hace logins seguidos (como un usuario que reintenta) hasta completar el total
+    private int ejecutar(int total, int clientes) throws Exception {
+        AtomicInteger pendientes = new AtomicInteger(total);
+        AtomicInteger correctos = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(clientes);
+        try {
+            List<CompletableFuture<Void>> futuros = new ArrayList<>();
+            for (int i = 0; i < clientes; i++) {
+                futuros.add(CompletableFuture.runAsync(() -> {
+                    while (pendientes.getAndDecrement() > 0) {
+                        if (usuarioService.autenticar("bench", "secreto").join().isPresent()) {
+                            correctos.incrementAndGet();
+                        }
+                    }
+                }, pool));
+            }
+            CompletableFuture.allOf(futuros.toArray(new CompletableFuture[0])).get();
+        } finally {
+            pool.shutdown();
+        }
+        return correctos.get();
+    }
+}
@@ -0,0 +1,107 @@
+package com.portafolio.gestiontareas.service;
+
+import com.portafolio.gestiontareas.config.CacheConfig;
+import com.portafolio.gestiontareas.dto.CategoriaDTO;
+import com.portafolio.gestiontareas.entity.Categoria;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.CategoriaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sin @Transactional: la caché de segundo nivel solo se usa entre sesiones distintas
+@SpringBootTest
+class CacheSegundoNivelTest {
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Categoria categoria;
+
+    @BeforeEach
+    void setUp() {
+        categoria = categoriaRepository.save(new Categoria("Trabajo", "#ff0000"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoriaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void categoriaSeLeeDeLaCacheYSeActualizaAlModificarla() {
+        categoriaService.obtenerCategoriaPorId(categoria.getId());
+        long consultas = statistics.getPrepareStatementCount();
+        assertEquals("Trabajo", categoriaService.obtenerCategoriaPorId(categoria.getId()).orElseThrow().getNombre());
+        assertEquals(consultas, statistics.getPrepareStatementCount());
+        assertTrue(region(CacheConfig.REGION_CATEGORIAS).getHitCount() >= 1);
+
+        categoriaService.actualizarCategoria(categoria.getId(), new Categoria("Oficina", "#0000ff"));
+        assertEquals("Oficina", categoriaService.obtenerCategoriaPorId(categoria.getId()).orElseThrow().getNombre());
+
+        categoriaService.eliminarCategoria(categoria.getId());
+        assertTrue(categoriaService.obtenerCategoriaPorId(categoria.getId()).isEmpty());
+    }
+
+    @Test
+    void busquedaPorNombreUsaLaCacheDeConsultasHastaQueCambiaLaTabla() {
+        assertEquals(List.of("Trabajo"), nombres(categoriaService.buscarCategoriasPorNombre("trab")));
+        long consultas = statistics.getPrepareStatementCount();
+        assertEquals(List.of("Trabajo"), nombres(categoriaService.buscarCategoriasPorNombre("trab")));
+        assertEquals(consultas, statistics.getPrepareStatementCount());
+        assertEquals(1, region(CacheConfig.REGION_CONSULTAS_CATEGORIAS).getHitCount());
+
+        categoriaService.actualizarCategoria(categoria.getId(), new Categoria("Trabajo remoto", "#ff0000"));
+        assertEquals(List.of("Trabajo remoto"), nombres(categoriaService.buscarCategoriasPorNombre("trab")));
+
+        categoriaService.crearCategoria(new Categoria("Trabajos pendientes", "#00ff00"));
+        assertEquals(2, categoriaService.buscarCategoriasPorNombre("trab").size());
+    }
+
+    @Test
+    void usuarioActualizadoNoQuedaObsoletoEnLaCache() {
+        Usuario usuario = usuarioRepository.save(new Usuario("cache", "cache@example.com", "secreto"));
+        usuarioService.obtenerUsuarioPorId(usuario.getId());
+
+        usuarioService.actualizarUsuario(usuario.getId(), new Usuario("cache", "nuevo@example.com", "secreto"));
+
+        long consultas = statistics.getPrepareStatementCount();
+        assertEquals("nuevo@example.com", usuarioService.obtenerUsuarioPorId(usuario.getId()).orElseThrow().getEmail());
+        assertEquals(consultas, statistics.getPrepareStatementCount());
+    }
+
+    private CacheRegionStatistics region(String nombre) {
+        return statistics.getCacheRegionStatistics(nombre);
+    }
+
+    private List<String> nombres(List<CategoriaDTO> categorias) {
+        return categorias.stream().map(CategoriaDTO::getNombre).toList();
+    }
+}
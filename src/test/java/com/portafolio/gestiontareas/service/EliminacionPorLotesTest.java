@@ -0,0 +1,157 @@
+package com.portafolio.gestiontareas.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestiontareas.entity.Categoria;
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.TareaEliminada;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.CategoriaRepository;
+import com.portafolio.gestiontareas.repository.TareaEliminadaRepository;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.portafolio.gestiontareas.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Lotes pequeños para que cada borrado recorra varios, el último incompleto
+@SpringBootTest(properties = {"eliminacion.lote=7", "eliminacion.umbral-asincrono=10"})
+@AutoConfigureMockMvc
+class EliminacionPorLotesTest {
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private TareaEliminadaRepository tareaEliminadaRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Usuario ana;
+    private Usuario luis;
+    private Categoria trabajo;
+    private Categoria casa;
+
+    @BeforeEach
+    void setUp() {
+        ana = usuarioRepository.save(new Usuario("ana", "ana@example.com", "secreto"));
+        luis = usuarioRepository.save(new Usuario("luis", "luis@example.com", "secreto"));
+        trabajo = categoriaRepository.save(new Categoria("Trabajo", "#ff0000"));
+        casa = categoriaRepository.save(new Categoria("Casa", "#00ff00"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tareaEliminadaRepository.deleteAllInBatch();
+        tareaRepository.deleteAllInBatch();
+        categoriaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void laCategoriaSeBorraPorLotesDejandoLapidas() {
+        crearTareas(ana, trabajo, 12);
+        crearTareas(luis, trabajo, 8);
+        crearTareas(ana, casa, 3);
+
+        categoriaService.eliminarCategoria(trabajo.getId());
+
+        assertFalse(categoriaRepository.existsById(trabajo.getId()));
+        assertEquals(3, tareaRepository.count());
+        assertTrue(tareaRepository.findAll().stream().allMatch(t -> t.getTitulo().startsWith("Casa ")));
+
+        List<TareaEliminada> lapidas = tareaEliminadaRepository.findAll();
+        assertEquals(12, lapidas.stream().filter(l -> l.getUsuarioId().equals(ana.getId())).count());
+        assertEquals(8, lapidas.stream().filter(l -> l.getUsuarioId().equals(luis.getId())).count());
+        // El cursor de /cambios necesita un "cambio" distinto por fila
+        assertEquals(20, lapidas.stream().map(TareaEliminada::getCambio).collect(Collectors.toSet()).size());
+    }
+
+    @Test
+    void laCuentaPequenaSeBorraEnLaPeticion() throws Exception {
+        crearTareas(ana, casa, 10);
+
+        mockMvc.perform(delete("/api/usuarios/{id}", ana.getId()).header("Authorization", "Bearer " + token(luis)))
+                .andExpect(status().isOk());
+
+        assertFalse(usuarioRepository.existsById(ana.getId()));
+        assertEquals(0, tareaRepository.count());
+    }
+
+    @Test
+    void laCuentaGrandeSePurgaEnSegundoPlano() throws Exception {
+        crearTareas(ana, trabajo, 30);
+        crearTareas(luis, trabajo, 4);
+
+        mockMvc.perform(delete("/api/usuarios/{id}", ana.getId()).header("Authorization", "Bearer " + token(luis)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/usuarios/" + ana.getId() + "/eliminacion"));
+
+        JsonNode progreso = null;
+        for (int intento = 0; intento < 100; intento++) {
+            String cuerpo = mockMvc.perform(get("/api/usuarios/{id}/eliminacion", ana.getId())
+                            .header("Authorization", "Bearer " + token(luis)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            progreso = objectMapper.readTree(cuerpo);
+            if (!progreso.get("estado").asText().equals("EN_CURSO")) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+
+        assertEquals("COMPLETADA", progreso.get("estado").asText());
+        assertEquals(30, progreso.get("tareasTotales").asLong());
+        assertEquals(30, progreso.get("tareasEliminadas").asLong());
+        assertFalse(usuarioRepository.existsById(ana.getId()));
+        assertEquals(4, tareaRepository.countByUsuarioId(luis.getId()));
+        assertEquals(4, tareaRepository.count());
+    }
+
+    private void crearTareas(Usuario usuario, Categoria categoria, int cuantas) {
+        List<Tarea> tareas = new ArrayList<>(cuantas);
+        for (int i = 0; i < cuantas; i++) {
+            Tarea tarea = new Tarea();
+            tarea.setTitulo(categoria.getNombre() + " " + i);
+            tarea.setUsuario(usuario);
+            tarea.setCategoria(categoria);
+            tareas.add(tarea);
+        }
+        tareaRepository.saveAll(tareas);
+    }
+
+    private String token(Usuario usuario) {
+        return jwtUtil.generateToken(usuario);
+    }
+}
@@ -0,0 +1,173 @@
+package com.portafolio.gestiontareas.service;
+
+import com.portafolio.gestiontareas.dto.EventoTareaDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Prueba de resistencia del registro SSE con 20.000 suscriptores simulados (sin HTTP: cada emisor cuenta lo
+// que recibe). Mide memoria por conexión, entregas por segundo y que los clientes atascados se expulsan
+// sin retrasar a los demás, con los hilos de envío de producción y más conexiones atascadas que hilos. Duración con -Dsoak.segundos (20 por defecto). Ejecutar con: mvn test -Pbenchmark
+@Tag("benchmark")
+class EventosTareasSoakBenchmarkTest {
+
+    private static final int SUSCRIPTORES = 20_000;
+    private static final int USUARIOS = 5_000;
+    // Como eventos.hilos en application.properties
+    private static final int HILOS = 4;
+    // Usuarios con mucha actividad, cada uno con una conexión atascada (socket con el buffer TCP lleno)
+    private static final int USUARIOS_ACTIVOS = 12;
+    private static final int EVENTOS_POR_SEGUNDO = 2_000;
+    private static final int EVENTOS_POR_SEGUNDO_ACTIVOS = 20;
+
+    private final CountDownLatch desatascar = new CountDownLatch(1);
+    private EventosTareas eventosTareas;
+
+    @AfterEach
+    void tearDown() {
+        desatascar.countDown();
+        eventosTareas.detener();
+    }
+
+    @Test
+    void veinteMilSuscriptores() throws Exception {
+        int segundos = Integer.getInteger("soak.segundos", 20);
+        eventosTareas = EventosTareasTest.crear(32, Duration.ofSeconds(1), SUSCRIPTORES, 5, HILOS,
+                Duration.ofMillis(250));
+
+        System.gc();
+        long memoriaInicial = memoriaUsada();
+        long inicioRegistro = System.nanoTime();
+        List<EmisorContador> emisores = new ArrayList<>(SUSCRIPTORES);
+        for (int i = 0; i < SUSCRIPTORES; i++) {
+            long usuarioId = i % USUARIOS;
+            EmisorContador emisor = new EmisorContador(usuarioId, i < USUARIOS_ACTIVOS ? desatascar : null);
+            eventosTareas.registrar(usuarioId, emisor);
+            emisores.add(emisor);
+        }
+        double registroMs = (System.nanoTime() - inicioRegistro) / 1e6;
+        System.gc();
+        long bytesPorSuscriptor = (memoriaUsada() - memoriaInicial) / SUSCRIPTORES;
+
+        // Publicación a ritmo constante: usuarios al azar y, además, los usuarios activos
+        AtomicLongArray publicados = new AtomicLongArray(USUARIOS);
+        long periodoNanos = 1_000_000_000L / EVENTOS_POR_SEGUNDO;
+        long inicio = System.nanoTime();
+        long fin = inicio + Duration.ofSeconds(segundos).toNanos();
+        long siguiente = inicio;
+        long eventos = 0;
+        while (System.nanoTime() < fin) {
+            int usuario = ThreadLocalRandom.current().nextInt(USUARIOS);
+            publicar(usuario, eventos, publicados);
+            if (eventos % (EVENTOS_POR_SEGUNDO / EVENTOS_POR_SEGUNDO_ACTIVOS) == 0) {
+                for (int activo = 0; activo < USUARIOS_ACTIVOS; activo++) {
+                    publicar(activo, eventos, publicados);
+                }
+            }
+            eventos++;
+            siguiente += periodoNanos;
+            long espera = siguiente - System.nanoTime();
+            if (espera > 0) {
+                Thread.sleep(espera / 1_000_000, (int) (espera % 1_000_000));
+            }
+        }
+        double segundosPublicando = (System.nanoTime() - inicio) / 1e9;
+
+        // Tiempo hasta que cada conexión sana ha recibido todo lo publicado para su usuario
+        long inicioVaciado = System.nanoTime();
+        long limite = inicioVaciado + Duration.ofSeconds(30).toNanos();
+        for (EmisorContador emisor : emisores) {
+            if (emisor.atascado()) {
+                continue;
+            }
+            while (emisor.eventos.get() < publicados.get((int) emisor.usuarioId)) {
+                assertTrue(System.nanoTime() < limite, "Entregas pendientes tras 30 s");
+                Thread.sleep(1);
+            }
+        }
+        double vaciadoMs = (System.nanoTime() - inicioVaciado) / 1e6;
+
+        long entregas = emisores.stream().mapToLong(emisor -> emisor.eventos.get()).sum();
+        long latidos = emisores.stream().mapToLong(emisor -> emisor.latidos.get()).sum();
+        assertEquals(USUARIOS_ACTIVOS, eventosTareas.getSuscriptoresExpulsados());
+        // Más atascos que hilos: sin sustituirlos, la entrega se habría detenido para todos
+        assertTrue(eventosTareas.getEnviosAtascados() > HILOS, "Atascos detectados: " + eventosTareas.getEnviosAtascados());
+        assertEquals(SUSCRIPTORES - USUARIOS_ACTIVOS, eventosTareas.getSuscriptoresActivos());
+        for (EmisorContador emisor : emisores) {
+            if (!emisor.atascado()) {
+                assertEquals(publicados.get((int) emisor.usuarioId), emisor.eventos.get());
+                assertTrue(emisor.latidos.get() >= segundos / 2, "Faltan latidos");
+            }
+        }
+
+        System.out.printf("%n%-13s %10s %12s %12s %12s %12s %10s %10s %10s%n", "suscriptores", "registro",
+                "bytes/susc", "publicados", "entregas", "entregas/s", "vaciado", "expulsados", "atascados");
+        System.out.printf("%-13d %8.0fms %12d %12d %12d %12.0f %8.0fms %10d %10d%n", SUSCRIPTORES, registroMs,
+                bytesPorSuscriptor, eventos, entregas, entregas / segundosPublicando, vaciadoMs,
+                eventosTareas.getSuscriptoresExpulsados(), eventosTareas.getEnviosAtascados());
+        System.out.printf("latidos enviados: %d (%.0f/s)%n", latidos, latidos / segundosPublicando);
+    }
+
+    private void publicar(int usuario, long numero, AtomicLongArray publicados) {
+        publicados.incrementAndGet(usuario);
+        eventosTareas.publicar((long) usuario,
+                () -> new EventoTareaDTO(EventoTareaDTO.Tipo.ACTUALIZADA, numero, numero, null));
+    }
+
+    private static long memoriaUsada() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Cuenta eventos y latidos. Un emisor atascado se bloquea en su primer evento hasta el final de la prueba
+    static class EmisorContador extends SseEmitter {
+
+        final long usuarioId;
+        final AtomicInteger eventos = new AtomicInteger();
+        final AtomicInteger latidos = new AtomicInteger();
+        private final CountDownLatch atasco;
+
+        EmisorContador(long usuarioId, CountDownLatch atasco) {
+            this.usuarioId = usuarioId;
+            this.atasco = atasco;
+        }
+
+        boolean atascado() {
+            return atasco != null;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> datos) {
+            if (!datos.iterator().next().getData().toString().startsWith("event:")) {
+                latidos.incrementAndGet();
+                return;
+            }
+            eventos.incrementAndGet();
+            if (atasco != null) {
+                try {
+                    atasco.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.portafolio.gestiontareas.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestiontareas.Exception.ServicioSaturadoException;
+import com.portafolio.gestiontareas.dto.EventoTareaDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventosTareasTest {
+
+    private EventosTareas eventosTareas;
+
+    static EventosTareas crear(int buffer, Duration latido, int maximoSuscriptores, int hilos) {
+        return crear(buffer, latido, maximoSuscriptores, 100, hilos, Duration.ofSeconds(5));
+    }
+
+    static EventosTareas crear(int buffer, Duration latido, int maximoSuscriptores, int maximoPorUsuario, int hilos,
+                               Duration tiempoMaximoEnvio) {
+        EventosTareas eventosTareas = new EventosTareas();
+        ReflectionTestUtils.setField(eventosTareas, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(eventosTareas, "capacidadBuffer", buffer);
+        ReflectionTestUtils.setField(eventosTareas, "intervaloLatido", latido);
+        ReflectionTestUtils.setField(eventosTareas, "duracionConexion", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(eventosTareas, "maximoSuscriptores", maximoSuscriptores);
+        ReflectionTestUtils.setField(eventosTareas, "maximoPorUsuario", maximoPorUsuario);
+        ReflectionTestUtils.setField(eventosTareas, "hilos", hilos);
+        ReflectionTestUtils.setField(eventosTareas, "tiempoMaximoEnvio", tiempoMaximoEnvio);
+        ReflectionTestUtils.setField(eventosTareas, "hilosMaximos", 64);
+        eventosTareas.inicializar();
+        return eventosTareas;
+    }
+
+    static EventoTareaDTO evento(long tareaId) {
+        return new EventoTareaDTO(EventoTareaDTO.Tipo.COMPLETADA, tareaId, tareaId, null);
+    }
+
+    static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condicion.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "Tiempo de espera agotado");
+            Thread.sleep(5);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventosTareas.detener();
+    }
+
+    @Test
+    void entregaLosEventosSoloALasConexionesDelUsuario() throws Exception {
+        eventosTareas = crear(8, Duration.ofHours(1), 10, 1);
+        EmisorDePrueba propio = new EmisorDePrueba(null);
+        EmisorDePrueba otraPestana = new EmisorDePrueba(null);
+        EmisorDePrueba ajeno = new EmisorDePrueba(null);
+        eventosTareas.registrar(1L, propio);
+        eventosTareas.registrar(1L, otraPestana);
+        eventosTareas.registrar(2L, ajeno);
+
+        eventosTareas.publicar(1L, () -> evento(7));
+
+        esperar(() -> propio.texto().contains("event:completada") && otraPestana.texto().contains("event:completada"));
+        assertTrue(propio.texto().contains("id:7"));
+        assertTrue(propio.texto().contains("\"tareaId\":7"));
+        // Solo el comentario inicial que confirma la conexión
+        esperar(() -> ajeno.envios.size() == 1);
+        assertEquals(":latido\n\n", ajeno.texto());
+    }
+
+    @Test
+    void sinConexionesNoSeConstruyeElEvento() {
+        eventosTareas = crear(8, Duration.ofHours(1), 10, 1);
+
+        eventosTareas.publicar(1L, () -> {
+            throw new AssertionError("No hay nadie suscrito");
+        });
+    }
+
+    @Test
+    void expulsaAlClienteQueNoConsumeSinBloquearAlResto() throws Exception {
+        eventosTareas = crear(4, Duration.ofHours(1), 10, 2);
+        CountDownLatch bloqueo = new CountDownLatch(1);
+        EmisorDePrueba lento = new EmisorDePrueba(bloqueo);
+        EmisorDePrueba rapido = new EmisorDePrueba(null);
+        eventosTareas.registrar(1L, lento);
+        eventosTareas.registrar(1L, rapido);
+
+        // El cliente rápido recibe cada evento mientras el buffer del lento se llena
+        for (int i = 0; i < 10; i++) {
+            long id = i;
+            int recibidos = i + 2;
+            eventosTareas.publicar(1L, () -> evento(id));
+            esperar(() -> rapido.envios.size() == recibidos);
+        }
+
+        assertEquals(1, eventosTareas.getSuscriptoresExpulsados());
+        assertEquals(1, eventosTareas.getSuscriptoresActivos());
+        assertFalse(lento.completado);
+
+        // En cuanto el envío bloqueado termina, el hilo de envío cierra la conexión expulsada
+        bloqueo.countDown();
+        esperar(() -> lento.completado);
+        assertTrue(lento.envios.size() <= 2);
+    }
+
+    @Test
+    void losLatidosLleganAConexionesInactivas() throws Exception {
+        eventosTareas = crear(8, Duration.ofMillis(20), 10, 1);
+        EmisorDePrueba emisor = new EmisorDePrueba(null);
+        eventosTareas.registrar(1L, emisor);
+
+        esperar(() -> emisor.envios.size() >= 3);
+    }
+
+    @Test
+    void unaConexionCaidaSeQuitaAlFallarElEnvio() throws Exception {
+        eventosTareas = crear(8, Duration.ofMillis(20), 10, 1);
+        EmisorDePrueba caido = new EmisorDePrueba(null);
+        caido.fallar = true;
+        eventosTareas.registrar(1L, caido);
+
+        esperar(() -> eventosTareas.getSuscriptoresActivos() == 0);
+        assertEquals(0, eventosTareas.getSuscriptoresExpulsados());
+    }
+
+    @Test
+    void rechazaConexionesPorEncimaDelLimite() {
+        eventosTareas = crear(8, Duration.ofHours(1), 2, 1);
+        eventosTareas.registrar(1L, new EmisorDePrueba(null));
+        eventosTareas.registrar(2L, new EmisorDePrueba(null));
+
+        assertThrows(ServicioSaturadoException.class, () -> eventosTareas.registrar(3L, new EmisorDePrueba(null)));
+        assertEquals(2, eventosTareas.getSuscriptoresActivos());
+    }
+
+    @Test
+    void cierraLaConexionMasAntiguaDelUsuarioAlSuperarSuLimite() throws Exception {
+        eventosTareas = crear(8, Duration.ofHours(1), 10, 2, 1, Duration.ofSeconds(5));
+        EmisorDePrueba primera = new EmisorDePrueba(null);
+        EmisorDePrueba segunda = new EmisorDePrueba(null);
+        EmisorDePrueba tercera = new EmisorDePrueba(null);
+        EmisorDePrueba ajena = new EmisorDePrueba(null);
+        eventosTareas.registrar(2L, ajena);
+        eventosTareas.registrar(1L, primera);
+        eventosTareas.registrar(1L, segunda);
+        eventosTareas.registrar(1L, tercera);
+
+        esperar(() -> primera.completado);
+        assertEquals(3, eventosTareas.getSuscriptoresActivos());
+        assertFalse(segunda.completado);
+        assertFalse(ajena.completado);
+    }
+
+    // Más conexiones atascadas que hilos: cada envío atascado se sustituye por un hilo nuevo
+    @Test
+    void losEnviosAtascadosNoDetienenLaEntregaAlResto() throws Exception {
+        eventosTareas = crear(8, Duration.ofHours(1), 10, 5, 1, Duration.ofMillis(100));
+        CountDownLatch bloqueo = new CountDownLatch(1);
+        for (long usuario = 1; usuario <= 3; usuario++) {
+            // Se bloquean ya en el latido inicial
+            eventosTareas.registrar(usuario, new EmisorDePrueba(bloqueo));
+        }
+        EmisorDePrueba sano = new EmisorDePrueba(null);
+        eventosTareas.registrar(9L, sano);
+        eventosTareas.publicar(9L, () -> evento(1));
+
+        esperar(() -> sano.texto().contains("event:completada"));
+        esperar(() -> eventosTareas.getEnviosAtascados() == 3);
+        assertEquals(3, eventosTareas.getSuscriptoresExpulsados());
+        assertEquals(1, eventosTareas.getSuscriptoresActivos());
+
+        // Al terminar los envíos atascados el pool vuelve a su tamaño
+        bloqueo.countDown();
+        ThreadPoolExecutor envios = (ThreadPoolExecutor) ReflectionTestUtils.getField(eventosTareas, "envios");
+        esperar(() -> envios.getCorePoolSize() == 1 && envios.getMaximumPoolSize() == 1);
+    }
+
+    // Sustituye a la conexión HTTP: guarda lo enviado y, opcionalmente, se bloquea en el primer envío
+    // como un socket con el buffer TCP lleno
+    static class EmisorDePrueba extends SseEmitter {
+
+        final List<Set<DataWithMediaType>> envios = new CopyOnWriteArrayList<>();
+        private final CountDownLatch bloqueo;
+        volatile boolean fallar;
+        volatile boolean completado;
+
+        EmisorDePrueba(CountDownLatch bloqueo) {
+            this.bloqueo = bloqueo;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> datos) throws IOException {
+            if (fallar) {
+                throw new IOException("Conexión cerrada por el cliente");
+            }
+            envios.add(datos);
+            if (bloqueo != null) {
+                try {
+                    bloqueo.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completado = true;
+        }
+
+        String texto() {
+            StringBuilder texto = new StringBuilder();
+            envios.forEach(datos -> datos.forEach(parte -> texto.append(parte.getData())));
+            return texto.toString();
+        }
+    }
+}
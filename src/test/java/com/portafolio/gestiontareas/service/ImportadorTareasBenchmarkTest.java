@@ -0,0 +1,89 @@
+package com.portafolio.gestiontareas.service;
+
+import com.portafolio.gestiontareas.dto.ResultadoImportacionDTO;
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Filas/s de la importación en streaming frente a llamar a crearTarea fila a fila. Ejecutar con: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest
+class ImportadorTareasBenchmarkTest {
+
+    private static final int FILAS_IMPORTACION = 200_000;
+    private static final int FILAS_UNA_A_UNA = 5_000;
+
+    @Autowired
+    private ImportadorTareas importadorTareas;
+
+    @Autowired
+    private TareaService tareaService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @AfterEach
+    void tearDown() {
+        tareaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void filasPorSegundo() throws Exception {
+        Usuario usuario = usuarioRepository.save(new Usuario("importbench", "importbench@example.com", "secreto"));
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < FILAS_UNA_A_UNA; i++) {
+            Tarea tarea = new Tarea();
+            tarea.setTitulo("Tarea " + i);
+            tareaService.crearTarea(tarea, usuario.getId());
+        }
+        double unaAUna = FILAS_UNA_A_UNA / ((System.nanoTime() - inicio) / 1_000_000_000.0);
+
+        ResultadoImportacionDTO resultado = importadorTareas.importar(usuario.getId(), FormatoExportacion.CSV,
+                csvGenerado(FILAS_IMPORTACION), null);
+
+        assertEquals(FILAS_IMPORTACION, resultado.getImportadas());
+        System.out.printf("%n%-22s %10s %12s%n", "modo", "filas", "filas/s");
+        System.out.printf("%-22s %10d %12.0f%n", "crearTarea (1 a 1)", FILAS_UNA_A_UNA, unaAUna);
+        System.out.printf("%-22s %10d %12.0f%n", "importar CSV", resultado.getImportadas(), resultado.getFilasPorSegundo());
+    }
+
+    // El CSV se genera a medida que se lee: la prueba tampoco tiene el archivo completo en memoria
+    private InputStream csvGenerado(int filas) {
+        return new SequenceInputStream(new Enumeration<>() {
+            private int fila = -1;
+
+            @Override
+            public boolean hasMoreElements() {
+                return fila < filas;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                String linea = fila < 0
+                        ? "titulo,descripcion,completada,fechaVencimiento,prioridad\n"
+                        : "Tarea importada " + fila + ",\"Descripción, con coma\"," + (fila % 2 == 0) + ",2030-01-01,ALTA\n";
+                fila++;
+                return new ByteArrayInputStream(linea.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+    }
+}
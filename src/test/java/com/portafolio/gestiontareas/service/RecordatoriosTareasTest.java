@@ -0,0 +1,210 @@
+package com.portafolio.gestiontareas.service;
+
+import com.portafolio.gestiontareas.dto.RecordatorioDTO;
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.TareaEliminadaRepository;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sin hilo de recordatorios (recordatorios.habilitados=false en los tests): cada test carga y avanza la rueda
+// con su propio reloj. Se avisa un día antes a las 09:00
+@SpringBootTest
+class RecordatoriosTareasTest {
+
+    @TestConfiguration
+    static class Configuracion {
+        @Bean
+        GrabadorRecordatorios grabadorRecordatorios() {
+            return new GrabadorRecordatorios();
+        }
+    }
+
+    static class GrabadorRecordatorios implements NotificadorRecordatorios {
+        final List<RecordatorioDTO> recibidos = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void notificar(RecordatorioDTO recordatorio) {
+            recibidos.add(recordatorio);
+        }
+
+        List<String> titulos() {
+            return recibidos.stream().map(RecordatorioDTO::getTitulo).sorted().toList();
+        }
+    }
+
+    @Autowired
+    private RecordatoriosTareas recordatoriosTareas;
+
+    @Autowired
+    private GrabadorRecordatorios grabador;
+
+    @Autowired
+    private TareaService tareaService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private TareaEliminadaRepository tareaEliminadaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Usuario usuario;
+    private LocalDate hoy;
+    // Hoy a las 12:00: el aviso de lo que vence mañana (hoy a las 09:00) ya debería haber salido
+    private Instant mediodia;
+
+    @BeforeEach
+    void setUp() {
+        usuario = usuarioRepository.save(new Usuario("recordatorios", "recordatorios@example.com", "secreto"));
+        hoy = LocalDate.now();
+        mediodia = hoy.atTime(LocalTime.NOON).atZone(ZoneId.systemDefault()).toInstant();
+        grabador.recibidos.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tareaEliminadaRepository.deleteAllInBatch();
+        tareaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+        // Rueda vacía para el resto de tests del contexto
+        recordatoriosTareas.cargar(Instant.now());
+    }
+
+    @Test
+    void trasUnReinicioSoloSeRecuperaLoPendiente() {
+        crear("Perdido durante la parada", hoy.plusDays(1), false);
+        crear("Dentro de diez días", hoy.plusDays(10), false);
+        Tarea avisada = crear("Ya avisada", hoy.plusDays(1), false);
+        jdbcTemplate.update("UPDATE tareas SET recordatorio_enviado = fecha_vencimiento WHERE id = ?", avisada.getId());
+        crear("Completada", hoy.plusDays(1), true);
+        crear("Vencida ayer", hoy.minusDays(1), false);
+        crear("Sin fecha", null, false);
+
+        // Arranque: el aviso que debió salir a las 09:00 sale en el primer avance
+        assertEquals(2, recordatoriosTareas.cargar(mediodia));
+        assertEquals(1, recordatoriosTareas.avanzar(mediodia));
+        assertEquals(List.of("Perdido durante la parada"), grabador.titulos());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tareas WHERE recordatorio_enviado = fecha_vencimiento AND titulo = 'Perdido durante la parada'",
+                Integer.class));
+
+        // Segundo reinicio: lo ya enviado no se repite
+        grabador.recibidos.clear();
+        assertEquals(1, recordatoriosTareas.cargar(mediodia.plusSeconds(60)));
+        assertEquals(0, recordatoriosTareas.avanzar(mediodia.plusSeconds(60)));
+
+        // El otro sale el día antes de su vencimiento a las 09:00, no antes
+        Instant aviso = hoy.plusDays(9).atTime(9, 0).atZone(ZoneId.systemDefault()).toInstant();
+        assertEquals(0, recordatoriosTareas.avanzar(aviso.minusSeconds(1)));
+        assertEquals(1, recordatoriosTareas.avanzar(aviso.plusSeconds(1)));
+        assertEquals(List.of("Dentro de diez días"), grabador.titulos());
+        assertEquals(0, recordatoriosTareas.getProgramados());
+    }
+
+    @Test
+    void sigueLosCambiosDeTareaServiceSinRecargar() {
+        recordatoriosTareas.cargar(Instant.now());
+        Tarea tarea = new Tarea();
+        tarea.setTitulo("Declaración");
+        tarea.setFechaVencimiento(hoy.plusDays(5));
+        Long id = tareaService.crearTarea(tarea, usuario.getId()).getId();
+        assertEquals(1, recordatoriosTareas.getProgramados());
+
+        tareaService.marcarComoCompletada(id, usuario.getId());
+        assertEquals(0, recordatoriosTareas.getProgramados());
+        tareaService.marcarComoPendiente(id, usuario.getId());
+        assertEquals(1, recordatoriosTareas.getProgramados());
+
+        // Nueva fecha: el aviso se mueve con ella
+        Tarea cambios = tareaRepository.findById(id).orElseThrow();
+        cambios.setFechaVencimiento(hoy.plusDays(20));
+        tareaService.actualizarTarea(id, cambios, usuario.getId());
+        Instant avisoAntiguo = hoy.plusDays(4).atTime(9, 0).atZone(ZoneId.systemDefault()).toInstant();
+        assertEquals(0, recordatoriosTareas.avanzar(avisoAntiguo.plus(Duration.ofHours(1))));
+        assertEquals(1, recordatoriosTareas.getProgramados());
+
+        tareaService.eliminarTarea(id, usuario.getId());
+        assertEquals(0, recordatoriosTareas.getProgramados());
+    }
+
+    @Test
+    void noAvisaDeTareasBorradasPorOtraVia() {
+        crear("Borrada con el usuario", hoy.plusDays(3), false);
+        assertEquals(1, recordatoriosTareas.cargar(mediodia));
+
+        // El borrado en cascada del usuario no pasa por TareaService: la entrada sigue en la rueda
+        tareaRepository.deleteAllInBatch();
+        assertEquals(0, recordatoriosTareas.avanzar(mediodia.plus(Duration.ofDays(3))));
+        assertTrue(grabador.recibidos.isEmpty());
+    }
+
+    @Test
+    void losCambiosDuranteLaCargaLleganALaRuedaNueva() throws Exception {
+        int pendientes = 20_000;
+        List<Object[]> filas = new ArrayList<>(pendientes);
+        for (int i = 0; i < pendientes; i++) {
+            filas.add(new Object[]{"Pendiente " + i, hoy.plusDays(2 + i % 30), usuario.getId()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tareas (titulo, completada, fecha_creacion, fecha_vencimiento, prioridad, usuario_id) " +
+                "VALUES (?, FALSE, CURRENT_TIMESTAMP, ?, 'MEDIA', ?)", filas);
+        Long completada = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tareas", Long.class);
+
+        // La carga no bloquea las escrituras; lo que cambia mientras lee se repite sobre la rueda nueva
+        ExecutorService hilo = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> carga = hilo.submit(() -> recordatoriosTareas.cargar(mediodia));
+            tareaService.marcarComoCompletada(completada, usuario.getId());
+            Tarea nueva = new Tarea();
+            nueva.setTitulo("Creada durante la carga");
+            nueva.setFechaVencimiento(hoy.plusDays(5));
+            tareaService.crearTarea(nueva, usuario.getId());
+            carga.get(30, TimeUnit.SECONDS);
+        } finally {
+            hilo.shutdownNow();
+        }
+
+        assertEquals(pendientes, recordatoriosTareas.getProgramados());
+        Instant finDeMes = hoy.plusDays(40).atStartOfDay(ZoneId.systemDefault()).toInstant();
+        assertEquals(pendientes, recordatoriosTareas.avanzar(finDeMes));
+        assertFalse(grabador.titulos().contains("Pendiente 0"));
+        assertTrue(grabador.titulos().contains("Creada durante la carga"));
+    }
+
+    private Tarea crear(String titulo, LocalDate vencimiento, boolean completada) {
+        Tarea tarea = new Tarea();
+        tarea.setTitulo(titulo);
+        tarea.setFechaVencimiento(vencimiento);
+        tarea.setCompletada(completada);
+        tarea.setUsuario(usuario);
+        return tareaRepository.save(tarea);
+    }
+}
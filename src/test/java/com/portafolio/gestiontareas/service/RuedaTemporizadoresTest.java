@@ -0,0 +1,109 @@
+package com.portafolio.gestiontareas.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuedaTemporizadoresTest {
+
+    private static final long SEGUNDO = 1000;
+
+    @Test
+    void cadaTemporizadorVenceEnSuTickEnCualquierNivel() {
+        long inicio = 1_700_000_123_456L;
+        RuedaTemporizadores<String> rueda = new RuedaTemporizadores<>(SEGUNDO, inicio);
+        // Distancias justo antes y después del alcance de cada nivel (64^n ticks)
+        long[] distancias = {1, 63, 64, 65, 4095, 4096, 4097, 262_143, 262_144, 16_777_217, 1_073_741_825L, 5_000_000_000L};
+        for (int i = 0; i < distancias.length; i++) {
+            rueda.programar(i, inicio + distancias[i] * SEGUNDO, "t" + i);
+        }
+
+        for (int i = 0; i < distancias.length; i++) {
+            long vencimiento = inicio + distancias[i] * SEGUNDO;
+            assertTrue(rueda.avanzar(vencimiento - 1).isEmpty(), "Antes de tiempo: t" + i);
+            // Nunca antes de su instante y como mucho un tick después
+            List<RuedaTemporizadores.Vencido<String>> vencidos = rueda.avanzar(vencimiento + SEGUNDO);
+            assertEquals(1, vencidos.size(), "t" + i);
+            assertEquals(i, vencidos.get(0).id());
+            assertEquals("t" + i, vencidos.get(0).dato());
+        }
+        assertEquals(0, rueda.tamano());
+    }
+
+    @Test
+    void reprogramarSustituyeYCancelarQuita() {
+        RuedaTemporizadores<String> rueda = new RuedaTemporizadores<>(SEGUNDO, 0);
+        rueda.programar(1, 100 * SEGUNDO, "antes");
+        rueda.programar(2, 100 * SEGUNDO, "cancelada");
+        rueda.programar(1, 10_000 * SEGUNDO, "después");
+        assertTrue(rueda.cancelar(2));
+        assertFalse(rueda.cancelar(2));
+
+        assertTrue(rueda.avanzar(9_999 * SEGUNDO).isEmpty());
+        List<RuedaTemporizadores.Vencido<String>> vencidos = rueda.avanzar(10_000 * SEGUNDO);
+        assertEquals(List.of(new RuedaTemporizadores.Vencido<>(1L, "después")), vencidos);
+    }
+
+    @Test
+    void loProgramadoEnElPasadoSaleEnElSiguienteAvance() {
+        RuedaTemporizadores<String> rueda = new RuedaTemporizadores<>(SEGUNDO, 50 * SEGUNDO);
+        rueda.programar(1, 10 * SEGUNDO, "atrasada");
+        rueda.programar(2, 50 * SEGUNDO, "ahora");
+
+        assertEquals(2, rueda.avanzar(50 * SEGUNDO).size());
+        // Cancelar una atrasada antes del avance también la quita
+        rueda.programar(3, 10 * SEGUNDO, "cancelada");
+        rueda.cancelar(3);
+        assertTrue(rueda.avanzar(51 * SEGUNDO).isEmpty());
+    }
+
+    @Test
+    void unMillonDeTemporizadoresEnUnAno() {
+        int total = 1_000_000;
+        long anio = 365L * 24 * 3600 * SEGUNDO;
+        long paso = 3600 * SEGUNDO;
+        Random random = new Random(42);
+        RuedaTemporizadores<Long> rueda = new RuedaTemporizadores<>(SEGUNDO, 0);
+
+        long[] vencimientos = new long[total];
+        for (int id = 0; id < total; id++) {
+            vencimientos[id] = 1 + (long) (random.nextDouble() * anio);
+            rueda.programar(id, vencimientos[id], vencimientos[id]);
+        }
+        // Una de cada diez se completa y una de cada siete cambia de fecha
+        int canceladas = 0;
+        for (int id = 0; id < total; id += 10) {
+            rueda.cancelar(id);
+            vencimientos[id] = -1;
+            canceladas++;
+        }
+        for (int id = 1; id < total; id += 7) {
+            if (vencimientos[id] >= 0) {
+                vencimientos[id] = 1 + (long) (random.nextDouble() * anio);
+                rueda.programar(id, vencimientos[id], vencimientos[id]);
+            }
+        }
+        assertEquals(total - canceladas, rueda.tamano());
+
+        boolean[] disparadas = new boolean[total];
+        int contador = 0;
+        for (long ahora = paso; ahora <= anio + paso; ahora += paso) {
+            for (RuedaTemporizadores.Vencido<Long> vencido : rueda.avanzar(ahora)) {
+                int id = (int) vencido.id();
+                assertFalse(disparadas[id], "Disparada dos veces: " + id);
+                disparadas[id] = true;
+                long vencimiento = vencimientos[id];
+                assertEquals(vencimiento, vencido.dato().longValue());
+                // En el paso que contiene su instante, ni antes ni después (redondeado al tick)
+                assertTrue(vencimiento <= ahora && vencimiento > ahora - paso - SEGUNDO, "Fuera de su paso: " + id);
+                contador++;
+            }
+        }
+
+        assertEquals(total - canceladas, contador);
+        assertEquals(0, rueda.tamano());
+    }
+}
@@ -0,0 +1,109 @@
+package com.portafolio.gestiontareas.service;
+
+import com.portafolio.gestiontareas.dto.CursorPageDTO;
+import com.portafolio.gestiontareas.dto.TareaDTO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Compara la latencia de la página N con OFFSET frente a keyset. Ejecutar con: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TareaCursorBenchmarkTest {
+
+    private static final int TOTAL_TAREAS = 50_000;
+    private static final int TAMANO_PAGINA = 50;
+    private static final int REPETICIONES = 20;
+
+    @Autowired
+    private TareaService tareaService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long usuarioId;
+    private long primerIdTarea;
+
+    @BeforeAll
+    void sembrarDatos() {
+        jdbcTemplate.update("INSERT INTO usuarios (username, email, password, enabled, fecha_creacion) VALUES (?, ?, ?, ?, ?)",
+                "bench", "bench@example.com", "bench", true, Timestamp.valueOf(LocalDateTime.now()));
+        usuarioId = jdbcTemplate.queryForObject("SELECT id FROM usuarios WHERE username = 'bench'", Long.class);
+
+        LocalDateTime base = LocalDateTime.of(2020, 1, 1, 0, 0);
+        List<Object[]> filas = new ArrayList<>();
+        for (int i = 0; i < TOTAL_TAREAS; i++) {
+            filas.add(new Object[]{"Tarea " + i, false, Timestamp.valueOf(base.plusMinutes(i)), "MEDIA", usuarioId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tareas (titulo, completada, fecha_creacion, prioridad, usuario_id) VALUES (?, ?, ?, ?, ?)", filas);
+        primerIdTarea = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tareas WHERE usuario_id = ?", Long.class, usuarioId);
+    }
+
+    @Test
+    void latenciaDePaginaNPermanecePlanaConCursor() {
+        int[] paginas = {0, 10, 100, 500, (TOTAL_TAREAS / TAMANO_PAGINA) - 1};
+        double[] cursorMs = new double[paginas.length];
+
+        System.out.printf("%n%-8s %12s %12s%n", "pagina", "offset (ms)", "cursor (ms)");
+        for (int i = 0; i < paginas.length; i++) {
+            int pagina = paginas[i];
+            double offset = medir(() -> tareaService.obtenerTodasTareasPorUsuario(
+                    usuarioId, PageRequest.of(pagina, TAMANO_PAGINA, Sort.by("id"))).getContent());
+
+            String cursor = cursorParaPagina(pagina);
+            cursorMs[i] = medir(() -> {
+                CursorPageDTO<TareaDTO> resultado = tareaService.obtenerTareasPorCursor(
+                        usuarioId, cursor, TAMANO_PAGINA, TareaCursor.ORDEN_ID, false, true);
+                assertEquals(TAMANO_PAGINA, resultado.getContent().size());
+                return resultado.getContent();
+            });
+            System.out.printf("%-8d %12.3f %12.3f%n", pagina, offset, cursorMs[i]);
+        }
+
+        // La última página no debe costar mucho más que la primera (margen amplio para ruido del JIT/GC)
+        double ultima = cursorMs[cursorMs.length - 1];
+        assertTrue(ultima < Math.max(5.0, cursorMs[0] * 4),
+                "La página profunda con cursor no es plana: " + ultima + " ms");
+    }
+
+    private String cursorParaPagina(int pagina) {
+        if (pagina == 0) {
+            return "";
+        }
+        TareaDTO ultimaDeLaAnterior = new TareaDTO();
+        ultimaDeLaAnterior.setId(primerIdTarea + (long) pagina * TAMANO_PAGINA - 1);
+        return TareaCursor.desde(ultimaDeLaAnterior, TareaCursor.ORDEN_ID).codificar();
+    }
+
+    // Mediana en milisegundos tras un calentamiento
+    private double medir(Supplier<List<?>> consulta) {
+        for (int i = 0; i < 5; i++) {
+            consulta.get();
+        }
+        long[] tiempos = new long[REPETICIONES];
+        for (int i = 0; i < REPETICIONES; i++) {
+            long inicio = System.nanoTime();
+            consulta.get();
+            tiempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tiempos);
+        return tiempos[REPETICIONES / 2] / 1_000_000.0;
+    }
+}
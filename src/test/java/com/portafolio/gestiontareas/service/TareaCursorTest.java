@@ -0,0 +1,44 @@
+package com.portafolio.gestiontareas.service;
+
+import com.portafolio.gestiontareas.dto.TareaDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TareaCursorTest {
+
+    @Test
+    void codificaYDecodificaPorFechaCreacion() {
+        TareaDTO tarea = new TareaDTO();
+        tarea.setId(42L);
+        tarea.setFechaCreacion(LocalDateTime.of(2024, 5, 1, 10, 30, 15));
+
+        TareaCursor cursor = TareaCursor.decodificar(
+                TareaCursor.desde(tarea, TareaCursor.ORDEN_FECHA_CREACION).codificar());
+
+        assertEquals(TareaCursor.ORDEN_FECHA_CREACION, cursor.getOrden());
+        assertEquals(tarea.getFechaCreacion(), cursor.getFechaCreacion());
+        assertEquals(42L, cursor.getId());
+    }
+
+    @Test
+    void laFechaDeCreacionNulaSeCodificaVacia() {
+        TareaDTO tarea = new TareaDTO();
+        tarea.setId(7L);
+
+        TareaCursor cursor = TareaCursor.decodificar(
+                TareaCursor.desde(tarea, TareaCursor.ORDEN_FECHA_CREACION).codificar());
+
+        assertEquals(TareaCursor.ORDEN_FECHA_CREACION, cursor.getOrden());
+        assertNull(cursor.getFechaCreacion());
+        assertEquals(7L, cursor.getId());
+    }
+
+    @Test
+    void rechazaCursorManipulado() {
+        assertThrows(IllegalArgumentException.class, () -> TareaCursor.decodificar("no-es-un-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> TareaCursor.decodificar("%%%"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.portafolio.gestiontareas.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Mide el pico de heap al exportar historiales de distinto tamaño. Ejecutar con: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TareaExportacionBenchmarkTest {
+
+    private static final int[] TAMANOS = {10_000, 100_000};
+    private static final long MUESTREO_BYTES = 512 * 1024;
+
+    @Autowired
+    private TareaService tareaService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> usuarios = new ArrayList<>();
+
+    @BeforeAll
+    void sembrarDatos() {
+        String descripcion = "x".repeat(200);
+        for (int tamano : TAMANOS) {
+            String username = "export" + tamano;
+            jdbcTemplate.update("INSERT INTO usuarios (username, email, password, enabled, fecha_creacion) VALUES (?, ?, ?, ?, ?)",
+                    username, username + "@example.com", "bench", true, Timestamp.valueOf(LocalDateTime.now()));
+            Long usuarioId = jdbcTemplate.queryForObject("SELECT id FROM usuarios WHERE username = ?", Long.class, username);
+            usuarios.add(usuarioId);
+
+            List<Object[]> filas = new ArrayList<>();
+            for (int i = 0; i < tamano; i++) {
+                filas.add(new Object[]{"Tarea " + i, descripcion, false, Timestamp.valueOf(LocalDateTime.now()), "MEDIA", usuarioId});
+                if (filas.size() == 5_000) {
+                    insertar(filas);
+                }
+            }
+            insertar(filas);
+        }
+    }
+
+    @Test
+    void picoDeHeapNoCreceConElHistorial() throws Exception {
+        System.out.printf("%n%-10s %-8s %12s %14s%n", "filas", "formato", "tiempo (ms)", "heap vivo (MB)");
+        for (int i = 0; i < TAMANOS.length; i++) {
+            for (FormatoExportacion formato : FormatoExportacion.values()) {
+                medir(usuarios.get(i), TAMANOS[i], formato);
+            }
+        }
+    }
+
+    // El heap vivo se muestrea con un GC cada MUESTREO_BYTES escritos: mide lo que la exportación retiene,
+    // no la basura pendiente de recoger
+    private void medir(Long usuarioId, int filasEsperadas, FormatoExportacion formato) throws Exception {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long base = runtime.totalMemory() - runtime.freeMemory();
+        AtomicLong pico = new AtomicLong(base);
+        OutputStream salida = new OutputStream() {
+            private long escritos;
+
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                long antes = escritos / MUESTREO_BYTES;
+                escritos += len;
+                if (escritos / MUESTREO_BYTES != antes) {
+                    System.gc();
+                    pico.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+                }
+            }
+        };
+
+        long inicio = System.nanoTime();
+        long filas = tareaService.exportarTareas(usuarioId, formato, salida);
+        double ms = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        assertEquals(filasEsperadas, filas);
+        System.out.printf("%-10d %-8s %12.1f %14.1f%n", filas, formato, ms, (pico.get() - base) / (1024.0 * 1024.0));
+    }
+
+    private void insertar(List<Object[]> filas) {
+        jdbcTemplate.batchUpdate("INSERT INTO tareas (titulo, descripcion, completada, fecha_creacion, prioridad, usuario_id) VALUES (?, ?, ?, ?, ?, ?)", filas);
+        filas.clear();
+    }
+}
@@ -0,0 +1,154 @@
+package com.portafolio.gestiontareas.service;
+
+import com.portafolio.gestiontareas.dto.EstadisticasTareasDTO;
+import com.portafolio.gestiontareas.dto.FiltroTareasDTO;
+import com.portafolio.gestiontareas.dto.OperacionTareaDTO;
+import com.portafolio.gestiontareas.dto.ResultadoLoteDTO;
+import com.portafolio.gestiontareas.dto.TareaDTO;
+import com.portafolio.gestiontareas.entity.Categoria;
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.CategoriaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class TareaServiceTest {
+
+    @Autowired
+    private TareaService tareaService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    private Usuario usuario;
+    private Categoria trabajo;
+
+    @BeforeEach
+    void setUp() {
+        usuario = usuarioRepository.save(new Usuario("ana", "ana@example.com", "secreto"));
+        trabajo = categoriaRepository.save(new Categoria("Trabajo", "#ff0000"));
+    }
+
+    @Test
+    void estadisticasAgrupanPorEstadoPrioridadYCategoria() {
+        crear("Informe", false, Tarea.Prioridad.ALTA, trabajo, LocalDate.now().plusDays(1));
+        crear("Reunión", true, Tarea.Prioridad.ALTA, trabajo, LocalDate.now().plusDays(1));
+        crear("Compra", false, Tarea.Prioridad.BAJA, null, LocalDate.now().plusDays(30));
+        crear("Vencida", false, Tarea.Prioridad.MEDIA, null, LocalDate.now().minusDays(2));
+
+        EstadisticasTareasDTO estadisticas = tareaService.obtenerEstadisticas(usuario.getId());
+
+        assertEquals(4, estadisticas.getTotal());
+        assertEquals(3, estadisticas.getPendientes());
+        assertEquals(1, estadisticas.getCompletadas());
+        assertEquals(1, estadisticas.getProximasAVencer());
+        assertEquals(2L, estadisticas.getPorPrioridad().get(Tarea.Prioridad.ALTA));
+        assertEquals(1L, estadisticas.getPorPrioridad().get(Tarea.Prioridad.BAJA));
+        assertEquals(2, estadisticas.getPorCategoria().size());
+    }
+
+    @Test
+    void listadosUsanUnaSolaSentenciaConCategoriaYSinDescripcion() {
+        crear("Informe", false, Tarea.Prioridad.ALTA, trabajo, LocalDate.now().plusDays(1));
+        crear("Compra", true, Tarea.Prioridad.BAJA, null, null);
+        entityManager.flush();
+        entityManager.clear();
+        Long id = usuario.getId();
+
+        assertUnaSentencia(() -> tareaService.listarTareas(id, new FiltroTareasDTO(), 0, 100, true));
+        assertUnaSentencia(() -> tareaService.listarTareas(id, filtro(f -> f.setEstado(FiltroTareasDTO.Estado.PENDIENTE)), 0, 100, true));
+        assertUnaSentencia(() -> tareaService.listarTareas(id, filtro(f -> f.setPrioridad(Tarea.Prioridad.ALTA)), 0, 100, true));
+        assertUnaSentencia(() -> tareaService.listarTareas(id, filtro(f -> f.setTexto("inf")), 0, 100, true));
+        assertUnaSentencia(() -> tareaService.listarTareas(id, filtro(f -> f.setConVencimiento(true)), 0, 100, true));
+        assertUnaSentencia(() -> tareaService.listarTareas(id, filtro(f -> f.setCategoriaId(trabajo.getId())), 0, 100, true));
+        // Página incompleta: el total sale del contenido, sin COUNT
+        assertUnaSentencia(() -> tareaService.buscarTareas(id, new FiltroTareasDTO(), 0, 20, true).getContent());
+        assertUnaSentencia(() -> tareaService.obtenerTareasPorCursor(id, "", 10, "id", false, true).getContent());
+
+        FiltroTareasDTO pendientes = filtro(f -> f.setEstado(FiltroTareasDTO.Estado.PENDIENTE));
+        TareaDTO informe = tareaService.listarTareas(id, pendientes, 0, 100, true).get(0);
+        assertEquals("Trabajo", informe.getCategoriaNombre());
+        assertEquals("Detalle de Informe", informe.getDescripcion());
+        assertNull(tareaService.listarTareas(id, pendientes, 0, 100, false).get(0).getDescripcion());
+    }
+
+    @Test
+    void loteAplicaCadaOperacionEInformaLasFallidas() {
+        Tarea existente = crear("Existente", false, Tarea.Prioridad.MEDIA, null, null);
+        Tarea aBorrar = crear("A borrar", false, Tarea.Prioridad.MEDIA, null, null);
+
+        TareaDTO nueva = new TareaDTO();
+        nueva.setTitulo("Nueva");
+        nueva.setCategoriaId(trabajo.getId());
+        TareaDTO sinTitulo = new TareaDTO();
+
+        ResultadoLoteDTO resultado = tareaService.procesarLote(usuario.getId(), List.of(
+                new OperacionTareaDTO(OperacionTareaDTO.Tipo.CREAR, null, nueva),
+                new OperacionTareaDTO(OperacionTareaDTO.Tipo.CREAR, null, sinTitulo),
+                new OperacionTareaDTO(OperacionTareaDTO.Tipo.COMPLETAR, existente.getId(), null),
+                new OperacionTareaDTO(OperacionTareaDTO.Tipo.ELIMINAR, aBorrar.getId(), null),
+                new OperacionTareaDTO(OperacionTareaDTO.Tipo.COMPLETAR, -1L, null)));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(3, resultado.getExitosas());
+        assertEquals(2, resultado.getFallidas());
+        assertFalse(resultado.getResultados().get(1).isExito());
+        assertEquals("El título es obligatorio", resultado.getResultados().get(1).getError());
+        assertFalse(resultado.getResultados().get(4).isExito());
+
+        Long idNueva = resultado.getResultados().get(0).getId();
+        assertEquals("Trabajo", tareaService.obtenerTareaPorId(idNueva).orElseThrow().getCategoria().getNombre());
+        assertTrue(tareaService.obtenerTareaPorId(existente.getId()).orElseThrow().isCompletada());
+        assertTrue(tareaService.obtenerTareaPorId(aBorrar.getId()).isEmpty());
+    }
+
+    private static FiltroTareasDTO filtro(Consumer<FiltroTareasDTO> condiciones) {
+        FiltroTareasDTO filtro = new FiltroTareasDTO();
+        condiciones.accept(filtro);
+        return filtro;
+    }
+
+    private void assertUnaSentencia(Supplier<List<TareaDTO>> consulta) {
+        Statistics estadisticas = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+        assertFalse(consulta.get().isEmpty());
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+        assertEquals(0, estadisticas.getEntityLoadCount());
+    }
+
+    private Tarea crear(String titulo, boolean completada, Tarea.Prioridad prioridad,
+                        Categoria categoria, LocalDate vencimiento) {
+        Tarea tarea = new Tarea();
+        tarea.setTitulo(titulo);
+        tarea.setDescripcion("Detalle de " + titulo);
+        tarea.setCompletada(completada);
+        tarea.setPrioridad(prioridad);
+        tarea.setCategoria(categoria);
+        tarea.setFechaVencimiento(vencimiento);
+        return tareaService.crearTarea(tarea, usuario.getId());
+    }
+}
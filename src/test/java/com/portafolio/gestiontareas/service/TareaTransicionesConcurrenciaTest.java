@@ -0,0 +1,155 @@
+package com.portafolio.gestiontareas.service;
+
+import com.portafolio.gestiontareas.Exception.EntityNotFoundException;
+import com.portafolio.gestiontareas.dto.TareaDTO;
+import com.portafolio.gestiontareas.entity.Tarea;
+import com.portafolio.gestiontareas.entity.Usuario;
+import com.portafolio.gestiontareas.repository.TareaRepository;
+import com.portafolio.gestiontareas.repository.UsuarioRepository;
+import com.portafolio.gestiontareas.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TareaTransicionesConcurrenciaTest {
+
+    private static final int HILOS = 8;
+    private static final int OPERACIONES_POR_HILO = 50;
+
+    @Autowired
+    private TareaService tareaService;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Usuario usuario;
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        usuario = usuarioRepository.save(new Usuario("transiciones", "transiciones@example.com", "secreto"));
+        ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Tarea tarea = new Tarea();
+            tarea.setTitulo("Concurrente " + i);
+            tarea.setUsuario(usuario);
+            ids.add(tareaRepository.save(tarea).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        tareaRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    // Cada transición es un UPDATE que incrementa la versión: si alguna se perdiera, la versión final sería
+    // menor que el número de operaciones aplicadas a la tarea
+    @Test
+    void lasTransicionesConcurrentesNoSePierden() throws Exception {
+        AtomicInteger[] operaciones = {new AtomicInteger(), new AtomicInteger(), new AtomicInteger()};
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<?>> resultados = new ArrayList<>();
+        for (int h = 0; h < HILOS; h++) {
+            Random random = new Random(h);
+            resultados.add(hilos.submit(() -> {
+                salida.await();
+                for (int i = 0; i < OPERACIONES_POR_HILO; i++) {
+                    int tarea = random.nextInt(ids.size());
+                    Long id = ids.get(tarea);
+                    switch (random.nextInt(3)) {
+                        case 0 -> tareaService.marcarComoCompletada(id, usuario.getId());
+                        case 1 -> tareaService.marcarComoPendiente(id, usuario.getId());
+                        default -> tareaService.cambiarPrioridad(id, usuario.getId(),
+                                Tarea.Prioridad.values()[random.nextInt(Tarea.Prioridad.values().length)]);
+                    }
+                    operaciones[tarea].incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        salida.countDown();
+        for (Future<?> resultado : resultados) {
+            resultado.get(60, TimeUnit.SECONDS);
+        }
+        hilos.shutdown();
+
+        int total = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            Tarea tarea = tareaRepository.findById(ids.get(i)).orElseThrow();
+            assertEquals(operaciones[i].get(), tarea.getVersion(), "versión de la tarea " + i);
+            total += operaciones[i].get();
+        }
+        assertEquals(HILOS * OPERACIONES_POR_HILO, total);
+    }
+
+    @Test
+    void laTransicionDevuelveLaFilaActualizada() {
+        TareaDTO completada = tareaService.marcarComoCompletada(ids.get(0), usuario.getId());
+        assertTrue(completada.isCompletada());
+        assertEquals(1L, completada.getVersion());
+
+        TareaDTO urgente = tareaService.cambiarPrioridad(ids.get(0), usuario.getId(), Tarea.Prioridad.ALTA);
+        assertEquals(Tarea.Prioridad.ALTA, urgente.getPrioridad());
+        assertTrue(urgente.isCompletada());
+        assertEquals(2L, urgente.getVersion());
+
+        Usuario otro = usuarioRepository.save(new Usuario("ajeno", "ajeno@example.com", "secreto"));
+        assertThrows(EntityNotFoundException.class, () -> tareaService.marcarComoPendiente(ids.get(0), otro.getId()));
+    }
+
+    @Test
+    void laEdicionConVersionAntiguaFallaCon409() throws Exception {
+        Tarea leida = tareaRepository.findById(ids.get(0)).orElseThrow();
+        tareaService.marcarComoCompletada(ids.get(0), usuario.getId());
+
+        leida.setTitulo("Edición sobre una copia antigua");
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> tareaService.actualizarTarea(ids.get(0), leida, usuario.getId()));
+
+        mockMvc.perform(put("/api/tareas/{id}", ids.get(0))
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken(usuario))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"titulo\": \"Otra edición\", \"version\": 0}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/api/tareas/{id}", ids.get(0))
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken(usuario))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"titulo\": \"Edición al día\", \"version\": 1}"))
+                .andExpect(status().isOk());
+
+        assertEquals("Edición al día", tareaRepository.findById(ids.get(0)).orElseThrow().getTitulo());
+    }
+}